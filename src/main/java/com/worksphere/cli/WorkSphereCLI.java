@@ -17,6 +17,8 @@ import java.util.Scanner;
  * Command Line Interface for the WorkSphere
  */
 public class WorkSphereCLI {
+    private static final int PAGE_SIZE = 25;
+    
     private final Scanner scanner;
     private final TaskService taskService;
     private final UserService userService;
@@ -244,8 +246,7 @@ public class WorkSphereCLI {
      * View all tasks
      */
     private void viewAllTasks() throws SQLException {
-        List<Task> tasks = taskService.getAllTasks();
-        displayTasks(tasks, "ALL TASKS");
+        displayTaskPages(token -> taskService.getAllTasksPage(token, PAGE_SIZE), "ALL TASKS");
     }
     
     /**
@@ -270,8 +271,9 @@ public class WorkSphereCLI {
                 return;
         }
         
-        List<Task> tasks = taskService.getTasksByStatus(status);
-        displayTasks(tasks, "TASKS - " + status.getDisplayName().toUpperCase());
+        TaskStatus selectedStatus = status;
+        displayTaskPages(token -> taskService.getTasksByStatusPage(selectedStatus, token, PAGE_SIZE),
+            "TASKS - " + status.getDisplayName().toUpperCase());
     }
     
     /**
@@ -329,6 +331,42 @@ public class WorkSphereCLI {
             return;
         }
         
+        printTaskRows(tasks);
+        promptForTaskDetails();
+    }
+    
+    /**
+     * Display tasks one page at a time, loading the next page on request
+     */
+    private void displayTaskPages(PageLoader loader, String title) throws SQLException {
+        System.out.println("\n--- " + title + " ---");
+        
+        TaskPage page = loader.load(null);
+        if (page.getTasks().isEmpty()) {
+            System.out.println("No tasks found.");
+            return;
+        }
+        
+        while (true) {
+            printTaskRows(page.getTasks());
+            if (!page.hasMore()) {
+                break;
+            }
+            System.out.print("\nPress Enter for more tasks, or type q to stop: ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                break;
+            }
+            page = loader.load(page.getNextPageToken());
+        }
+        promptForTaskDetails();
+    }
+    
+    @FunctionalInterface
+    private interface PageLoader {
+        TaskPage load(String pageToken) throws SQLException;
+    }
+    
+    private void printTaskRows(List<Task> tasks) {
         System.out.printf("%-5s %-30s %-10s %-12s %-15s %-20s %-15s%n", 
             "ID", "Title", "Priority", "Status", "Due Date", "Assigned To", "Created By");
         System.out.println("-".repeat(107));
@@ -353,7 +391,9 @@ public class WorkSphereCLI {
                 truncateString(assignedTo, 20),
                 truncateString(createdBy, 15));
         }
-        
+    }
+    
+    private void promptForTaskDetails() {
         // Option to view task details
         System.out.print("\nEnter task ID to view details (or press Enter to continue): ");
         String taskIdStr = scanner.nextLine().trim();
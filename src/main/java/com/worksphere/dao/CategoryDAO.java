@@ -22,44 +22,58 @@ public class CategoryDAO {
         String sql = "INSERT INTO categories (name, description, color, created_at, updated_at) " +
                     "VALUES (?, ?, ?, ?, ?)";
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        return DatabaseConnection.executeWrite(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
-            LocalDateTime now = LocalDateTime.now();
-            stmt.setString(1, category.getName());
-            stmt.setString(2, category.getDescription());
-            stmt.setString(3, category.getColor());
-            stmt.setTimestamp(4, Timestamp.valueOf(now));
-            stmt.setTimestamp(5, Timestamp.valueOf(now));
+                LocalDateTime now = LocalDateTime.now();
+                stmt.setString(1, category.getName());
+                stmt.setString(2, category.getDescription());
+                stmt.setString(3, category.getColor());
+                stmt.setTimestamp(4, Timestamp.valueOf(now));
+                stmt.setTimestamp(5, Timestamp.valueOf(now));
             
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows == 0) {
-                throw new SQLException("Creating category failed, no rows affected.");
-            }
+                int affectedRows = stmt.executeUpdate();
+                if (affectedRows == 0) {
+                    throw new SQLException("Creating category failed, no rows affected.");
+                }
             
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    int id = generatedKeys.getInt(1);
-                    category.setId(id);
-                    category.setCreatedAt(now);
-                    category.setUpdatedAt(now);
-                    return id;
-                } else {
-                    throw new SQLException("Creating category failed, no ID obtained.");
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        int id = generatedKeys.getInt(1);
+                        category.setId(id);
+                        category.setCreatedAt(now);
+                        category.setUpdatedAt(now);
+                        CategoryRegistry.invalidate();
+                        return id;
+                    } else {
+                        throw new SQLException("Creating category failed, no ID obtained.");
+                    }
                 }
             }
-        }
+        });
     }
     
     /**
-     * Get category by ID
+     * Get category by ID from the shared CategoryRegistry snapshot
      * @param id Category ID
-     * @return Category object or null if not found
+     * @return shared, read-only Category object or null if not found
      */
     public Category getCategoryById(int id) throws SQLException {
+        Category category = CategoryRegistry.current().get(id);
+        if (category == null) {
+            // Created outside this process since the snapshot was taken?
+            category = loadCategoryById(id);
+            if (category != null) {
+                CategoryRegistry.invalidate();
+            }
+        }
+        return category;
+    }
+    
+    private Category loadCategoryById(int id) throws SQLException {
         String sql = "SELECT * FROM categories WHERE id = ?";
         
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, id);
@@ -75,14 +89,21 @@ public class CategoryDAO {
     }
     
     /**
-     * Get all categories
-     * @return List of all categories
+     * Get all categories from the shared CategoryRegistry snapshot
+     * @return Unmodifiable list of all categories, ordered by name
      */
     public List<Category> getAllCategories() throws SQLException {
+        return CategoryRegistry.current().getAll();
+    }
+    
+    /**
+     * Read every category from the database, for CategoryRegistry
+     */
+    List<Category> loadAllCategories() throws SQLException {
         String sql = "SELECT * FROM categories ORDER BY name";
         List<Category> categories = new ArrayList<>();
         
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -102,18 +123,22 @@ public class CategoryDAO {
     public boolean updateCategory(Category category) throws SQLException {
         String sql = "UPDATE categories SET name = ?, description = ?, color = ?, updated_at = ? WHERE id = ?";
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        return DatabaseConnection.executeWrite(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setString(1, category.getName());
-            stmt.setString(2, category.getDescription());
-            stmt.setString(3, category.getColor());
-            stmt.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
-            stmt.setInt(5, category.getId());
+                stmt.setString(1, category.getName());
+                stmt.setString(2, category.getDescription());
+                stmt.setString(3, category.getColor());
+                stmt.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                stmt.setInt(5, category.getId());
             
-            int affectedRows = stmt.executeUpdate();
-            return affectedRows > 0;
-        }
+                int affectedRows = stmt.executeUpdate();
+                CategoryRegistry.invalidate();
+                // Task rows carry the category name and color
+                TaskDAO.fireAllTasksWritten();
+                return affectedRows > 0;
+            }
+        });
     }
     
     /**
@@ -123,10 +148,10 @@ public class CategoryDAO {
      */
     public boolean deleteCategory(int id) throws SQLException {
         // First, update all tasks using this category to have no category
-        String updateTasksSql = "UPDATE tasks SET category_id = NULL WHERE category_id = ?";
+        String updateTasksSql = "UPDATE tasks SET category_id = NULL, updated_at = CURRENT_TIMESTAMP WHERE category_id = ?";
         String deleteCategorySql = "DELETE FROM categories WHERE id = ?";
         
-        try (Connection conn = DatabaseConnection.getConnection()) {
+        return DatabaseConnection.executeWrite(conn -> {
             conn.setAutoCommit(false);
             
             try {
@@ -142,6 +167,8 @@ public class CategoryDAO {
                     int affectedRows = deleteStmt.executeUpdate();
                     
                     conn.commit();
+                    CategoryRegistry.invalidate();
+                    TaskDAO.fireAllTasksWritten();
                     return affectedRows > 0;
                 }
             } catch (SQLException e) {
@@ -150,7 +177,7 @@ public class CategoryDAO {
             } finally {
                 conn.setAutoCommit(true);
             }
-        }
+        });
     }
     
     /**
@@ -164,7 +191,7 @@ public class CategoryDAO {
         
         List<Category> categories = new ArrayList<>();
         
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -177,13 +204,14 @@ public class CategoryDAO {
     }
     
     /**
-     * Get task count for each category
+     * Get task count, completed count and time spent for each category in one aggregate query
      * @return List of categories with task counts
      */
     public List<CategoryTaskCount> getCategoryTaskCounts() throws SQLException {
         String sql = "SELECT c.*, " +
                     "COUNT(t.id) as task_count, " +
-                    "COUNT(CASE WHEN t.status = 'COMPLETED' THEN 1 END) as completed_count " +
+                    "COUNT(CASE WHEN t.status = 'COMPLETED' THEN 1 END) as completed_count, " +
+                    "COALESCE(SUM(t.actual_minutes), 0) as total_minutes " +
                     "FROM categories c " +
                     "LEFT JOIN tasks t ON c.id = t.category_id " +
                     "GROUP BY c.id, c.name, c.description, c.color, c.created_at, c.updated_at " +
@@ -191,7 +219,7 @@ public class CategoryDAO {
         
         List<CategoryTaskCount> results = new ArrayList<>();
         
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -199,7 +227,8 @@ public class CategoryDAO {
                 Category category = mapResultSetToCategory(rs);
                 int taskCount = rs.getInt("task_count");
                 int completedCount = rs.getInt("completed_count");
-                results.add(new CategoryTaskCount(category, taskCount, completedCount));
+                int totalMinutes = rs.getInt("total_minutes");
+                results.add(new CategoryTaskCount(category, taskCount, completedCount, totalMinutes));
             }
         }
         
@@ -227,17 +256,24 @@ public class CategoryDAO {
         private final Category category;
         private final int taskCount;
         private final int completedCount;
+        private final int totalMinutes;
         
         public CategoryTaskCount(Category category, int taskCount, int completedCount) {
+            this(category, taskCount, completedCount, 0);
+        }
+        
+        public CategoryTaskCount(Category category, int taskCount, int completedCount, int totalMinutes) {
             this.category = category;
             this.taskCount = taskCount;
             this.completedCount = completedCount;
+            this.totalMinutes = totalMinutes;
         }
         
         public Category getCategory() { return category; }
         public int getTaskCount() { return taskCount; }
         public int getCompletedCount() { return completedCount; }
         public int getActiveCount() { return taskCount - completedCount; }
+        public int getTotalMinutes() { return totalMinutes; }
         public double getCompletionRate() { 
             return taskCount > 0 ? (double) completedCount / taskCount : 0.0; 
         }
@@ -0,0 +1,49 @@
+package com.worksphere.dao;
+
+import com.worksphere.model.CategorySnapshot;
+
+import java.sql.SQLException;
+
+/**
+ * Application-wide, immutable view of the categories table.
+ *
+ * The snapshot is loaded on first use and replaced as a whole: CategoryDAO
+ * invalidates it after every committed write, and the next caller loads a
+ * new version. Readers holding the old snapshot keep a consistent view.
+ */
+public final class CategoryRegistry {
+
+    private static final Object lock = new Object();
+    private static volatile CategorySnapshot current;
+    private static long lastVersion = 0;
+
+    private CategoryRegistry() {
+    }
+
+    /**
+     * @return the current snapshot, loading it if a write invalidated the previous one
+     * @throws SQLException if the categories cannot be loaded
+     */
+    public static CategorySnapshot current() throws SQLException {
+        CategorySnapshot snapshot = current;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (lock) {
+            // Loading under the lock means an invalidation cannot be lost to a slower load
+            if (current == null) {
+                current = new CategorySnapshot(++lastVersion, new CategoryDAO().loadAllCategories());
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Drop the current snapshot; the next call to current() reloads it
+     */
+    public static void invalidate() {
+        synchronized (lock) {
+            current = null;
+        }
+    }
+}
@@ -1,22 +1,50 @@
 package com.worksphere.dao;
 
+import com.worksphere.model.Category;
+import com.worksphere.model.CategorySnapshot;
 import com.worksphere.model.Priority;
 import com.worksphere.model.Task;
+import com.worksphere.model.TaskChangeSet;
+import com.worksphere.model.TaskFilterCriteria;
+import com.worksphere.model.TaskPage;
+import com.worksphere.model.TaskSortField;
 import com.worksphere.model.TaskStatus;
+import com.worksphere.model.TaskSummary;
+import com.worksphere.model.TrendGranularity;
 import com.worksphere.util.DatabaseConnection;
+import com.worksphere.util.SqliteTimestamps;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Data Access Object for Task entity
  */
 public class TaskDAO {
     
+    // Shared by every TaskDAO instance so caches see writes from any of them
+    private static final List<TaskWriteListener> writeListeners = new CopyOnWriteArrayList<>();
+    
     private static final String INSERT_TASK = 
         "INSERT INTO tasks (title, description, priority, status, due_date, assigned_to, created_by, " +
         "estimated_minutes, category_id, recurrence_rule, parent_task_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
@@ -47,6 +75,69 @@ public class TaskDAO {
         "LEFT JOIN categories c ON t.category_id = c.id " +
         "ORDER BY t.created_at DESC";
     
+    private static final String SELECT_TASKS_WITH_DETAILS = 
+        "SELECT t.id, t.title, t.description, t.priority, t.status, t.due_date, " +
+        "t.assigned_to, t.created_by, t.created_at, t.updated_at, t.completed_at, " +
+        "t.estimated_minutes, t.actual_minutes, t.category_id, t.recurrence_rule, " +
+        "t.parent_task_id, t.last_worked_at, " +
+        "u1.username as assigned_username, u2.username as created_username, " +
+        "c.name as category_name, c.color as category_color " +
+        "FROM tasks t " +
+        "LEFT JOIN users u1 ON t.assigned_to = u1.id " +
+        "LEFT JOIN users u2 ON t.created_by = u2.id " +
+        "LEFT JOIN categories c ON t.category_id = c.id";
+    
+    // Column weights for bm25(): title, description, tags, category
+    private static final String SEARCH_TASKS =
+        SELECT_TASKS_WITH_DETAILS + " JOIN task_search ON task_search.rowid = t.id" +
+        " WHERE task_search MATCH ? ORDER BY bm25(task_search, 10.0, 1.0, 5.0, 3.0), t.created_at DESC";
+    
+    // Projection for TaskSummary: display columns only, no category join and no tags
+    private static final String SELECT_TASK_SUMMARIES =
+        "SELECT t.id, t.title, t.status, t.priority, t.due_date, t.assigned_to, t.created_by, t.created_at, " +
+        "t.updated_at, u.full_name as assigned_full_name " +
+        "FROM tasks t " +
+        "LEFT JOIN users u ON t.assigned_to = u.id";
+    
+    private static final String SELECT_ALL_TASK_SUMMARIES =
+        SELECT_TASK_SUMMARIES + " ORDER BY t.created_at DESC, t.id DESC";
+    
+    private static final String SELECT_TASK_SUMMARIES_FOR_USER =
+        SELECT_TASK_SUMMARIES + " WHERE t.assigned_to = ? OR t.created_by = ? ORDER BY t.created_at DESC";
+    
+    private static final String SEARCH_TASK_SUMMARIES =
+        SELECT_TASK_SUMMARIES + " JOIN task_search ON task_search.rowid = t.id" +
+        " WHERE task_search MATCH ? ORDER BY bm25(task_search, 10.0, 1.0, 5.0, 3.0), t.created_at DESC";
+    
+    // Change feed: updated_at >= watermark, so changes in the watermark's own second are re-delivered
+    private static final String SELECT_CHANGED_TASKS =
+        SELECT_TASKS_WITH_DETAILS + " WHERE t.updated_at >= ? ORDER BY t.updated_at, t.id";
+    
+    private static final String SELECT_CHANGED_TASK_SUMMARIES =
+        SELECT_TASK_SUMMARIES + " WHERE t.updated_at >= ? ORDER BY t.updated_at, t.id";
+    
+    private static final String SELECT_TOMBSTONES_SINCE =
+        "SELECT task_id, deleted_at FROM task_tombstones WHERE deleted_at >= ?";
+    
+    // Never behind the prune horizon, so a fresh full load is not told to reload
+    private static final String SELECT_CHANGE_WATERMARK =
+        "SELECT MAX(COALESCE((SELECT MAX(updated_at) FROM tasks), ''), " +
+        "COALESCE((SELECT MAX(deleted_at) FROM task_tombstones), ''), " +
+        "COALESCE((SELECT pruned_through FROM task_tombstone_horizon), ''))";
+    
+    private static final String SELECT_TOMBSTONE_HORIZON =
+        "SELECT pruned_through FROM task_tombstone_horizon";
+    
+    private static final String SELECT_PRUNABLE_TOMBSTONES =
+        "SELECT MAX(deleted_at) FROM task_tombstones WHERE deleted_at < datetime('now', ?)";
+    
+    private static final String UPDATE_TOMBSTONE_HORIZON =
+        "INSERT INTO task_tombstone_horizon (id, pruned_through) VALUES (1, ?) " +
+        "ON CONFLICT(id) DO UPDATE SET pruned_through = MAX(pruned_through, excluded.pruned_through)";
+    
+    private static final String DELETE_PRUNED_TOMBSTONES =
+        "DELETE FROM task_tombstones WHERE deleted_at <= ?";
+    
     private static final String SELECT_TASKS_BY_STATUS = 
         "SELECT t.id, t.title, t.description, t.priority, t.status, t.due_date, " +
         "t.assigned_to, t.created_by, t.created_at, t.updated_at, t.completed_at, " +
@@ -75,7 +166,7 @@ public class TaskDAO {
     
     private static final String SELECT_TASKS_BY_ASSIGNED_USER = 
         "SELECT t.id, t.title, t.description, t.priority, t.status, t.due_date, " +
-        "t.assigned_to, t.created_by, t.created_at, t.updated_at, " +
+        "t.assigned_to, t.created_by, t.created_at, t.updated_at, t.completed_at, t.last_worked_at, " +
         "u1.username as assigned_username, u2.username as created_username " +
         "FROM tasks t " +
         "LEFT JOIN users u1 ON t.assigned_to = u1.id " +
@@ -84,7 +175,7 @@ public class TaskDAO {
     
     private static final String SELECT_TASKS_BY_CREATOR = 
         "SELECT t.id, t.title, t.description, t.priority, t.status, t.due_date, " +
-        "t.assigned_to, t.created_by, t.created_at, t.updated_at, " +
+        "t.assigned_to, t.created_by, t.created_at, t.updated_at, t.completed_at, t.last_worked_at, " +
         "u1.username as assigned_username, u2.username as created_username " +
         "FROM tasks t " +
         "LEFT JOIN users u1 ON t.assigned_to = u1.id " +
@@ -93,7 +184,7 @@ public class TaskDAO {
     
     private static final String SELECT_TASKS_FOR_USER = 
         "SELECT t.id, t.title, t.description, t.priority, t.status, t.due_date, " +
-        "t.assigned_to, t.created_by, t.created_at, t.updated_at, " +
+        "t.assigned_to, t.created_by, t.created_at, t.updated_at, t.completed_at, t.last_worked_at, " +
         "u1.username as assigned_username, u2.username as created_username " +
         "FROM tasks t " +
         "LEFT JOIN users u1 ON t.assigned_to = u1.id " +
@@ -102,7 +193,7 @@ public class TaskDAO {
     
     private static final String SELECT_TASKS_BY_PRIORITY = 
         "SELECT t.id, t.title, t.description, t.priority, t.status, t.due_date, " +
-        "t.assigned_to, t.created_by, t.created_at, t.updated_at, " +
+        "t.assigned_to, t.created_by, t.created_at, t.updated_at, t.completed_at, t.last_worked_at, " +
         "u1.username as assigned_username, u2.username as created_username " +
         "FROM tasks t " +
         "LEFT JOIN users u1 ON t.assigned_to = u1.id " +
@@ -111,7 +202,7 @@ public class TaskDAO {
     
     private static final String SELECT_OVERDUE_TASKS = 
         "SELECT t.id, t.title, t.description, t.priority, t.status, t.due_date, " +
-        "t.assigned_to, t.created_by, t.created_at, t.updated_at, " +
+        "t.assigned_to, t.created_by, t.created_at, t.updated_at, t.completed_at, t.last_worked_at, " +
         "u1.username as assigned_username, u2.username as created_username " +
         "FROM tasks t " +
         "LEFT JOIN users u1 ON t.assigned_to = u1.id " +
@@ -119,14 +210,38 @@ public class TaskDAO {
         "WHERE t.due_date < date('now') AND t.status != 'COMPLETED' ORDER BY t.due_date ASC";
     
     private static final String UPDATE_TASK_STATUS = 
-        "UPDATE tasks SET status = ? WHERE id = ?";
+        "UPDATE tasks SET status = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
     
     private static final String DELETE_TASK = 
         "DELETE FROM tasks WHERE id = ?";
     
+    // Bulk statements; updateByIds appends the "WHERE id IN (...)" clause
+    private static final String BULK_UPDATE_STATUS =
+        "UPDATE tasks SET status = ?, " +
+        "completed_at = CASE WHEN ? = 'COMPLETED' AND status != 'COMPLETED' THEN CURRENT_TIMESTAMP ELSE completed_at END, " +
+        "updated_at = CURRENT_TIMESTAMP";
+    
+    private static final String BULK_ASSIGN =
+        "UPDATE tasks SET assigned_to = ?, updated_at = CURRENT_TIMESTAMP";
+    
+    private static final String BULK_SET_CATEGORY =
+        "UPDATE tasks SET category_id = ?, updated_at = CURRENT_TIMESTAMP";
+    
+    private static final String BULK_DELETE =
+        "DELETE FROM tasks";
+    
     private static final String COUNT_TASKS_BY_STATUS = 
         "SELECT COUNT(*) FROM tasks WHERE status = ?";
     
+    // Largest id IN list bound in one statement (SQLite's default host parameter limit is 999)
+    static final int MAX_IN_LIST_PARAMETERS = 900;
+    
+    // Rows mapped (and tags loaded) at a time by streamAll
+    private static final int STREAM_CHUNK_SIZE = 500;
+    
+    // Rows queued per executeBatch() call by createTasks
+    private static final int INSERT_BATCH_SIZE = 1000;
+    
     /**
      * Create a new task
      * @param task Task to create
@@ -154,67 +269,134 @@ public class TaskDAO {
         System.out.println("  ⏰ Timestamp: " + java.time.LocalDateTime.now());
         System.out.println("🚨 END TASK CREATION DEBUG");
         
-        try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement statement = connection.prepareStatement(INSERT_TASK)) {
+        return DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_TASK)) {
             
-            statement.setString(1, task.getTitle());
-            statement.setString(2, task.getDescription());
-            statement.setString(3, task.getPriority().name());
-            statement.setString(4, task.getStatus().name());
+                bindInsertParameters(statement, task);
             
-            if (task.getDueDate() != null) {
-                statement.setDate(5, Date.valueOf(task.getDueDate()));
-            } else {
-                statement.setNull(5, Types.DATE);
-            }
-            
-            if (task.getAssignedTo() != null) {
-                statement.setInt(6, task.getAssignedTo());
-            } else {
-                statement.setNull(6, Types.INTEGER);
-            }
-            
-            statement.setInt(7, task.getCreatedBy());
-            statement.setInt(8, task.getEstimatedMinutes());
-            
-            if (task.getCategoryId() > 0) {
-                statement.setInt(9, task.getCategoryId());
-            } else {
-                statement.setNull(9, Types.INTEGER);
-            }
-            
-            statement.setString(10, task.getRecurrenceRule());
+                System.out.println("🔥 EXECUTING INSERT STATEMENT NOW!");
+                int affectedRows = statement.executeUpdate();
+                System.out.println("💾 INSERT COMPLETED - Affected rows: " + affectedRows);
+                if (affectedRows == 0) {
+                    throw new SQLException("Creating task failed, no rows affected.");
+                }
             
-            if (task.getParentTaskId() != null) {
-                statement.setInt(11, task.getParentTaskId());
-            } else {
-                statement.setNull(11, Types.INTEGER);
-            }
+                // Get the generated ID using SQLite's last_insert_rowid() function
+                try (PreparedStatement idStatement = connection.prepareStatement("SELECT last_insert_rowid()");
+                     ResultSet resultSet = idStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        int taskId = resultSet.getInt(1);
+                        task.setId(taskId);
+                    
+                        // Insert tags if any
+                        if (task.getTags() != null && !task.getTags().isEmpty()) {
+                            insertTaskTags(connection, taskId, task.getTags());
+                        }
+                    } else {
+                        throw new SQLException("Creating task failed, no ID obtained.");
+                    }
+                }
             
-            System.out.println("🔥 EXECUTING INSERT STATEMENT NOW!");
-            int affectedRows = statement.executeUpdate();
-            System.out.println("💾 INSERT COMPLETED - Affected rows: " + affectedRows);
-            if (affectedRows == 0) {
-                throw new SQLException("Creating task failed, no rows affected.");
+                fireTasksWritten(List.of(task.getId()));
+                return task;
             }
-            
-            // Get the generated ID using SQLite's last_insert_rowid() function
-            try (PreparedStatement idStatement = connection.prepareStatement("SELECT last_insert_rowid()");
-                 ResultSet resultSet = idStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    int taskId = resultSet.getInt(1);
-                    task.setId(taskId);
-                    
-                    // Insert tags if any
-                    if (task.getTags() != null && !task.getTags().isEmpty()) {
-                        insertTaskTags(connection, taskId, task.getTags());
+        });
+    }
+    
+    /**
+     * Create many tasks in one transaction using JDBC batches. Tags for all
+     * tasks are inserted as a single batch as well, and either every task is
+     * stored or none is.
+     * @param tasks Tasks to create; each one gets its generated ID set
+     * @return the generated IDs, in the same order as the tasks
+     * @throws SQLException if database operation fails
+     */
+    public List<Integer> createTasks(List<Task> tasks) throws SQLException {
+        if (tasks.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<Integer> ids = DatabaseConnection.executeWrite(connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_TASK)) {
+                
+                for (int i = 0; i < tasks.size(); i++) {
+                    bindInsertParameters(statement, tasks.get(i));
+                    statement.addBatch();
+                    if ((i + 1) % INSERT_BATCH_SIZE == 0 || i == tasks.size() - 1) {
+                        statement.executeBatch();
                     }
-                } else {
-                    throw new SQLException("Creating task failed, no ID obtained.");
                 }
+                
+                // The transaction holds the write lock and tasks.id is AUTOINCREMENT,
+                // so the batch was assigned consecutive IDs ending at last_insert_rowid()
+                long lastId;
+                try (PreparedStatement idStatement = connection.prepareStatement("SELECT last_insert_rowid()");
+                     ResultSet resultSet = idStatement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        throw new SQLException("Creating tasks failed, no ID obtained.");
+                    }
+                    lastId = resultSet.getLong(1);
+                }
+                
+                List<Integer> generatedIds = new ArrayList<>(tasks.size());
+                long firstId = lastId - tasks.size() + 1;
+                for (int i = 0; i < tasks.size(); i++) {
+                    int taskId = (int) (firstId + i);
+                    tasks.get(i).setId(taskId);
+                    generatedIds.add(taskId);
+                }
+                
+                insertTagsForTasks(connection, tasks);
+                connection.commit();
+                fireTasksWritten(generatedIds);
+                return generatedIds;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
             }
-            
-            return task;
+        });
+        
+        System.out.println("💾 Bulk inserted " + ids.size() + " tasks");
+        return ids;
+    }
+    
+    private static void bindInsertParameters(PreparedStatement statement, Task task) throws SQLException {
+        statement.setString(1, task.getTitle());
+        statement.setString(2, task.getDescription());
+        statement.setString(3, task.getPriority().name());
+        statement.setString(4, task.getStatus().name());
+        
+        if (task.getDueDate() != null) {
+            statement.setDate(5, Date.valueOf(task.getDueDate()));
+        } else {
+            statement.setNull(5, Types.DATE);
+        }
+        
+        if (task.getAssignedTo() != null) {
+            statement.setInt(6, task.getAssignedTo());
+        } else {
+            statement.setNull(6, Types.INTEGER);
+        }
+        
+        statement.setInt(7, task.getCreatedBy());
+        statement.setInt(8, task.getEstimatedMinutes());
+        
+        if (task.getCategoryId() > 0) {
+            statement.setInt(9, task.getCategoryId());
+        } else {
+            statement.setNull(9, Types.INTEGER);
+        }
+        
+        statement.setString(10, task.getRecurrenceRule());
+        
+        if (task.getParentTaskId() != null) {
+            statement.setInt(11, task.getParentTaskId());
+        } else {
+            statement.setNull(11, Types.INTEGER);
         }
     }
     
@@ -225,14 +407,17 @@ public class TaskDAO {
      * @throws SQLException if database operation fails
      */
     public Optional<Task> findById(int id) throws SQLException {
-        try (Connection connection = DatabaseConnection.getConnection();
+        CategorySnapshot categories = CategoryRegistry.current();
+        try (Connection connection = DatabaseConnection.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_TASK_BY_ID)) {
             
             statement.setInt(1, id);
             
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
-                    return Optional.of(mapResultSetToTask(resultSet));
+                    Task task = mapResultSetToTask(resultSet, categories);
+                    task.setTags(loadTaskTags(connection, task.getId()));
+                    return Optional.of(task);
                 }
             }
         }
@@ -245,20 +430,114 @@ public class TaskDAO {
      * @throws SQLException if database operation fails
      */
     public List<Task> findAll() throws SQLException {
-        List<Task> tasks = new ArrayList<>();
+        CategorySnapshot categories = CategoryRegistry.current();
+        List<Task> tasks;
         
-        try (Connection connection = DatabaseConnection.getConnection();
+        try (Connection connection = DatabaseConnection.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_ALL_TASKS);
              ResultSet resultSet = statement.executeQuery()) {
             
-            while (resultSet.next()) {
-                tasks.add(mapResultSetToTask(resultSet));
-            }
+            tasks = mapTasks(connection, resultSet, categories);
         }
         
         return tasks;
     }
     
+    /**
+     * Stream all tasks, newest first, without holding the whole table in memory.
+     * Rows are mapped lazily in chunks, each chunk loading its tags with one
+     * query, over a single connection and statement that stay open until the
+     * stream is closed - always close it, e.g. with try-with-resources.
+     * Read errors while consuming the stream surface as UncheckedSQLException.
+     * @return lazily populated stream of tasks
+     * @throws SQLException if the query cannot be started
+     */
+    public Stream<Task> streamAll() throws SQLException {
+        CategorySnapshot categories = CategoryRegistry.current();
+        Connection connection = DatabaseConnection.getReadConnection();
+        try {
+            PreparedStatement statement = connection.prepareStatement(SELECT_ALL_TASKS);
+            statement.setFetchSize(STREAM_CHUNK_SIZE);
+            ResultSet resultSet = statement.executeQuery();
+            
+            return StreamSupport.stream(new TaskCursor(connection, resultSet, categories), false)
+                .onClose(() -> {
+                    try {
+                        resultSet.close();
+                        statement.close();
+                        connection.close();
+                    } catch (SQLException e) {
+                        throw new UncheckedSQLException(e);
+                    }
+                });
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Apply an action to every task, newest first, in constant memory
+     * @param action Action to run for each task
+     * @throws SQLException if database operation fails
+     */
+    public void forEachTask(Consumer<? super Task> action) throws SQLException {
+        try (Stream<Task> tasks = streamAll()) {
+            tasks.forEach(action);
+        } catch (UncheckedSQLException e) {
+            throw e.getCause();
+        }
+    }
+    
+    /**
+     * Cursor behind streamAll. The chunk list is reused between chunks.
+     */
+    private final class TaskCursor extends Spliterators.AbstractSpliterator<Task> {
+        private final Connection connection;
+        private final ResultSet resultSet;
+        private final CategorySnapshot categories;
+        private final List<Task> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        private int position;
+        private boolean exhausted;
+        
+        TaskCursor(Connection connection, ResultSet resultSet, CategorySnapshot categories) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.connection = connection;
+            this.resultSet = resultSet;
+            this.categories = categories;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super Task> action) {
+            if (position == chunk.size() && !readChunk()) {
+                return false;
+            }
+            action.accept(chunk.get(position++));
+            return true;
+        }
+        
+        private boolean readChunk() {
+            chunk.clear();
+            position = 0;
+            if (exhausted) {
+                return false;
+            }
+            try {
+                while (chunk.size() < STREAM_CHUNK_SIZE) {
+                    if (!resultSet.next()) {
+                        exhausted = true;
+                        break;
+                    }
+                    chunk.add(mapResultSetToTask(resultSet, categories));
+                }
+                loadTagsForTasks(connection, chunk);
+            } catch (SQLException e) {
+                throw new UncheckedSQLException(e);
+            }
+            return !chunk.isEmpty();
+        }
+    }
+    
     /**
      * Find tasks by status
      * @param status Task status
@@ -266,17 +545,16 @@ public class TaskDAO {
      * @throws SQLException if database operation fails
      */
     public List<Task> findByStatus(TaskStatus status) throws SQLException {
-        List<Task> tasks = new ArrayList<>();
+        CategorySnapshot categories = CategoryRegistry.current();
+        List<Task> tasks;
         
-        try (Connection connection = DatabaseConnection.getConnection();
+        try (Connection connection = DatabaseConnection.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_TASKS_BY_STATUS)) {
             
             statement.setString(1, status.name());
             
             try (ResultSet resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    tasks.add(mapResultSetToTask(resultSet));
-                }
+                tasks = mapTasks(connection, resultSet, categories);
             }
         }
         
@@ -290,17 +568,16 @@ public class TaskDAO {
      * @throws SQLException if database operation fails
      */
     public List<Task> findByAssignedUser(int userId) throws SQLException {
-        List<Task> tasks = new ArrayList<>();
+        CategorySnapshot categories = CategoryRegistry.current();
+        List<Task> tasks;
         
-        try (Connection connection = DatabaseConnection.getConnection();
+        try (Connection connection = DatabaseConnection.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_TASKS_BY_ASSIGNED_USER)) {
             
             statement.setInt(1, userId);
             
             try (ResultSet resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    tasks.add(mapResultSetToTask(resultSet));
-                }
+                tasks = mapTasks(connection, resultSet, categories);
             }
         }
         
@@ -314,17 +591,16 @@ public class TaskDAO {
      * @throws SQLException if database operation fails
      */
     public List<Task> findByCreator(int userId) throws SQLException {
-        List<Task> tasks = new ArrayList<>();
+        CategorySnapshot categories = CategoryRegistry.current();
+        List<Task> tasks;
         
-        try (Connection connection = DatabaseConnection.getConnection();
+        try (Connection connection = DatabaseConnection.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_TASKS_BY_CREATOR)) {
             
             statement.setInt(1, userId);
             
             try (ResultSet resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    tasks.add(mapResultSetToTask(resultSet));
-                }
+                tasks = mapTasks(connection, resultSet, categories);
             }
         }
         
@@ -339,18 +615,17 @@ public class TaskDAO {
      * @throws SQLException if database operation fails
      */
     public List<Task> findTasksForUser(int userId) throws SQLException {
-        List<Task> tasks = new ArrayList<>();
+        CategorySnapshot categories = CategoryRegistry.current();
+        List<Task> tasks;
         
-        try (Connection connection = DatabaseConnection.getConnection();
+        try (Connection connection = DatabaseConnection.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_TASKS_FOR_USER)) {
             
             statement.setInt(1, userId);
             statement.setInt(2, userId);
             
             try (ResultSet resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    tasks.add(mapResultSetToTask(resultSet));
-                }
+                tasks = mapTasks(connection, resultSet, categories);
             }
         }
         
@@ -364,17 +639,16 @@ public class TaskDAO {
      * @throws SQLException if database operation fails
      */
     public List<Task> findByPriority(Priority priority) throws SQLException {
-        List<Task> tasks = new ArrayList<>();
+        CategorySnapshot categories = CategoryRegistry.current();
+        List<Task> tasks;
         
-        try (Connection connection = DatabaseConnection.getConnection();
+        try (Connection connection = DatabaseConnection.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_TASKS_BY_PRIORITY)) {
             
             statement.setString(1, priority.name());
             
             try (ResultSet resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    tasks.add(mapResultSetToTask(resultSet));
-                }
+                tasks = mapTasks(connection, resultSet, categories);
             }
         }
         
@@ -387,166 +661,958 @@ public class TaskDAO {
      * @throws SQLException if database operation fails
      */
     public List<Task> findOverdueTasks() throws SQLException {
-        List<Task> tasks = new ArrayList<>();
+        CategorySnapshot categories = CategoryRegistry.current();
+        List<Task> tasks;
         
-        try (Connection connection = DatabaseConnection.getConnection();
+        try (Connection connection = DatabaseConnection.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_OVERDUE_TASKS);
              ResultSet resultSet = statement.executeQuery()) {
             
-            while (resultSet.next()) {
-                tasks.add(mapResultSetToTask(resultSet));
-            }
+            tasks = mapTasks(connection, resultSet, categories);
         }
         
         return tasks;
     }
     
     /**
-     * Update task
-     * @param task Task to update
-     * @return true if update was successful, false otherwise
+     * Get one page of all tasks, newest first
+     * @param pageToken Token from the previous page, or null for the first page
+     * @param pageSize Maximum number of tasks to return
+     * @return the page and the token for the next one
      * @throws SQLException if database operation fails
      */
-    public boolean updateTask(Task task) throws SQLException {
-        try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement statement = connection.prepareStatement(UPDATE_TASK)) {
-            
-            statement.setString(1, task.getTitle());
-            statement.setString(2, task.getDescription());
-            statement.setString(3, task.getPriority().name());
-            statement.setString(4, task.getStatus().name());
-            
-            if (task.getDueDate() != null) {
-                statement.setDate(5, Date.valueOf(task.getDueDate()));
-            } else {
-                statement.setNull(5, Types.DATE);
-            }
+    public TaskPage findAllPage(String pageToken, int pageSize) throws SQLException {
+        return findPage(null, new ArrayList<>(), pageToken, pageSize);
+    }
+    
+    /**
+     * Get one page of tasks with a status, newest first
+     * @param status Task status
+     * @param pageToken Token from the previous page, or null for the first page
+     * @param pageSize Maximum number of tasks to return
+     * @return the page and the token for the next one
+     * @throws SQLException if database operation fails
+     */
+    public TaskPage findByStatusPage(TaskStatus status, String pageToken, int pageSize) throws SQLException {
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(status.name());
+        return findPage("t.status = ?", parameters, pageToken, pageSize);
+    }
+    
+    /**
+     * Get one page of tasks assigned to or created by a user, newest first
+     * @param userId User ID
+     * @param pageToken Token from the previous page, or null for the first page
+     * @param pageSize Maximum number of tasks to return
+     * @return the page and the token for the next one
+     * @throws SQLException if database operation fails
+     */
+    public TaskPage findTasksForUserPage(int userId, String pageToken, int pageSize) throws SQLException {
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(userId);
+        parameters.add(userId);
+        return findPage("(t.assigned_to = ? OR t.created_by = ?)", parameters, pageToken, pageSize);
+    }
+    
+    /**
+     * Keyset pagination on (created_at, id): each page continues strictly after
+     * the last row of the previous one, so no rows are skipped with OFFSET and
+     * the order stays stable while tasks are added or removed. A missing
+     * created_at counts as '' so those rows are paged last instead of dropped;
+     * idx_tasks_page_key indexes the same expression.
+     */
+    private TaskPage findPage(String condition, List<Object> parameters, String pageToken, int pageSize)
+            throws SQLException {
+        List<String> conditions = new ArrayList<>();
+        if (condition != null) {
+            conditions.add(condition);
+        }
+        if (pageToken != null) {
+            String[] position = decodePageToken(pageToken);
+            // Same as (key, id) < (?, ?), written so the key bound is an index range
+            conditions.add(PAGE_KEY + " <= ? AND (" + PAGE_KEY + " < ? OR t.id < ?)");
+            parameters.add(position[0]);
+            parameters.add(position[0]);
+            parameters.add(Integer.parseInt(position[1]));
+        }
+        
+        StringBuilder sql = new StringBuilder(SELECT_TASKS_WITH_DETAILS);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        // One extra row tells whether another page follows
+        sql.append(" ORDER BY ").append(PAGE_KEY).append(" DESC, t.id DESC LIMIT ?");
+        parameters.add(pageSize + 1);
+        
+        CategorySnapshot categories = CategoryRegistry.current();
+        List<Task> tasks = new ArrayList<>();
+        String nextPageToken = null;
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
             
-            if (task.getAssignedTo() != null) {
-                statement.setInt(6, task.getAssignedTo());
-            } else {
-                statement.setNull(6, Types.INTEGER);
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
             }
-            
-            statement.setInt(7, task.getEstimatedMinutes());
-            
-            if (task.getCategoryId() > 0) {
-                statement.setInt(8, task.getCategoryId());
-            } else {
-                statement.setNull(8, Types.INTEGER);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                String lastCreatedAt = null;
+                while (resultSet.next()) {
+                    if (tasks.size() == pageSize) {
+                        nextPageToken = encodePageToken(lastCreatedAt, tasks.get(tasks.size() - 1).getId());
+                        break;
+                    }
+                    // Keep the stored text so the next page compares against the exact key
+                    String createdAt = resultSet.getString("created_at");
+                    lastCreatedAt = createdAt != null ? createdAt : "";
+                    tasks.add(mapResultSetToTask(resultSet, categories));
+                }
             }
-            
-            statement.setString(9, task.getRecurrenceRule());
-            statement.setInt(10, task.getId());
-            
-            boolean result = statement.executeUpdate() > 0;
-            
-            // Update tags
-            if (result) {
-                updateTaskTags(task.getId(), task.getTags());
+            loadTagsForTasks(connection, tasks);
+        }
+        return new TaskPage(tasks, nextPageToken);
+    }
+    
+    private static final String PAGE_KEY = "COALESCE(t.created_at, '')";
+    
+    private static String encodePageToken(String createdAt, int id) {
+        String position = id + "|" + createdAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String[] decodePageToken(String pageToken) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            if (separator > 0) {
+                Integer.parseInt(position.substring(0, separator));
+                return new String[] {position.substring(separator + 1), position.substring(0, separator)};
             }
-            
-            return result;
+        } catch (IllegalArgumentException e) {
+            // Reported below
         }
+        throw new IllegalArgumentException("Invalid page token: " + pageToken);
     }
     
     /**
-     * Update task status
-     * @param taskId Task ID
-     * @param status New status
-     * @return true if update was successful, false otherwise
+     * Find tasks matching filter criteria. The criteria are compiled into a
+     * parameterized WHERE clause so the idx_tasks_* indexes can be used.
+     * @param criteria Filter criteria; empty fields do not restrict the result
+     * @return list of matching tasks, newest first
      * @throws SQLException if database operation fails
      */
-    public boolean updateTaskStatus(int taskId, TaskStatus status) throws SQLException {
-        try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement statement = connection.prepareStatement(UPDATE_TASK_STATUS)) {
-            
-            statement.setString(1, status.name());
-            statement.setInt(2, taskId);
+    public List<Task> findByCriteria(TaskFilterCriteria criteria) throws SQLException {
+        CategorySnapshot categories = CategoryRegistry.current();
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        addCriteriaConditions(criteria, conditions, parameters);
+        
+        StringBuilder sql = new StringBuilder(SELECT_TASKS_WITH_DETAILS);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY t.created_at DESC");
+        
+        List<Task> tasks;
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
             
-            return statement.executeUpdate() > 0;
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                tasks = mapTasks(connection, resultSet, categories);
+            }
         }
+        return tasks;
     }
     
     /**
-     * Delete task by ID
-     * @param id Task ID
-     * @return true if deletion was successful, false otherwise
+     * Find the ids of the tasks matching filter criteria in display order.
+     * Only ids are read, so ordering half a million tasks costs one index or
+     * sort pass and no row mapping; the rows themselves are loaded a window
+     * at a time with findByIds.
+     * @param criteria Filter criteria; empty fields do not restrict the result
+     * @param visibleToUserId Only tasks assigned to or created by this user, or null for all tasks
+     * @param sortField Order of the result; ties are broken by task id in the same direction
+     * @param ascending true for ascending order
+     * @return matching task ids in order
      * @throws SQLException if database operation fails
      */
-    public boolean deleteTask(int id) throws SQLException {
-        try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement statement = connection.prepareStatement(DELETE_TASK)) {
+    public int[] findIdsByCriteria(TaskFilterCriteria criteria, Integer visibleToUserId,
+                                   TaskSortField sortField, boolean ascending) throws SQLException {
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        if (visibleToUserId != null) {
+            conditions.add("(t.assigned_to = ? OR t.created_by = ?)");
+            parameters.add(visibleToUserId);
+            parameters.add(visibleToUserId);
+        }
+        addCriteriaConditions(criteria, conditions, parameters);
+        
+        // Join only what the order needs; the conditions reference tasks alone
+        StringBuilder sql = new StringBuilder("SELECT t.id FROM tasks t");
+        if (sortField == TaskSortField.ASSIGNEE) {
+            sql.append(" LEFT JOIN users u1 ON t.assigned_to = u1.id");
+        } else if (sortField == TaskSortField.CATEGORY) {
+            sql.append(" LEFT JOIN categories c ON t.category_id = c.id");
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        String direction = ascending ? " ASC" : " DESC";
+        sql.append(" ORDER BY ").append(sortExpression(sortField)).append(direction);
+        if (sortField != TaskSortField.ID) {
+            sql.append(", t.id").append(direction);
+        }
+        
+        int[] ids = new int[256];
+        int count = 0;
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
             
-            statement.setInt(1, id);
-            return statement.executeUpdate() > 0;
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                    }
+                    ids[count++] = resultSet.getInt(1);
+                }
+            }
         }
+        return Arrays.copyOf(ids, count);
     }
     
     /**
-     * Get count of tasks by status
-     * @param status Task status
-     * @return number of tasks with the specified status
+     * Find tasks by id, with details and tags
+     * @param ids Task ids
+     * @return the tasks that exist, in no particular order
      * @throws SQLException if database operation fails
      */
-    public int getTaskCountByStatus(TaskStatus status) throws SQLException {
-        try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement statement = connection.prepareStatement(COUNT_TASKS_BY_STATUS)) {
-            
-            statement.setString(1, status.name());
-            
-            try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    return resultSet.getInt(1);
+    public List<Task> findByIds(Collection<Integer> ids) throws SQLException {
+        CategorySnapshot categories = CategoryRegistry.current();
+        List<Integer> idList = new ArrayList<>(ids);
+        List<Task> tasks = new ArrayList<>(idList.size());
+        if (idList.isEmpty()) {
+            return tasks;
+        }
+        
+        try (Connection connection = DatabaseConnection.getReadConnection()) {
+            for (int start = 0; start < idList.size(); start += MAX_IN_LIST_PARAMETERS) {
+                List<Integer> chunk = idList.subList(start, Math.min(idList.size(), start + MAX_IN_LIST_PARAMETERS));
+                String sql = SELECT_TASKS_WITH_DETAILS + " WHERE t.id IN (" + placeholders(chunk.size()) + ")";
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        statement.setInt(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        tasks.addAll(mapTasks(connection, resultSet, categories));
+                    }
                 }
             }
         }
-        return 0;
+        return tasks;
+    }
+    
+    private static String sortExpression(TaskSortField sortField) {
+        switch (sortField) {
+            case ID:
+                return "t.id";
+            case TITLE:
+                return "t.title COLLATE NOCASE";
+            case PRIORITY:
+                return rankExpression("t.priority", Priority.values());
+            case STATUS:
+                return rankExpression("t.status", TaskStatus.values());
+            case CATEGORY:
+                return "c.name COLLATE NOCASE";
+            case DUE_DATE:
+                // Millisecond and 'YYYY-MM-DD' due dates compared as one local date
+                return "CASE WHEN typeof(t.due_date) = 'integer' " +
+                       "THEN date(t.due_date / 1000, 'unixepoch', 'localtime') ELSE t.due_date END";
+            case ESTIMATED_MINUTES:
+                return "t.estimated_minutes";
+            case ACTUAL_MINUTES:
+                return "t.actual_minutes";
+            case ASSIGNEE:
+                return "u1.username COLLATE NOCASE";
+            case CREATED_AT:
+            default:
+                return "t.created_at";
+        }
     }
     
     /**
-     * Map ResultSet to Task object
-     * @param resultSet ResultSet
-     * @return Task object
-     * @throws SQLException if mapping fails
+     * Order enum columns by declaration order (LOW before URGENT) instead of by name
      */
-    private Task mapResultSetToTask(ResultSet resultSet) throws SQLException {
-        Task task = new Task();
+    private static String rankExpression(String column, Enum<?>[] values) {
+        StringBuilder expression = new StringBuilder("CASE ").append(column);
+        for (Enum<?> value : values) {
+            expression.append(" WHEN '").append(value.name()).append("' THEN ").append(value.ordinal());
+        }
+        return expression.append(" END").toString();
+    }
+    
+    /**
+     * Compile filter criteria into WHERE conditions on the tasks table
+     * (alias t) so the idx_tasks_* indexes can be used
+     */
+    private static void addCriteriaConditions(TaskFilterCriteria criteria, List<String> conditions,
+                                              List<Object> parameters) {
+        if (criteria.getStatuses() != null && !criteria.getStatuses().isEmpty()) {
+            conditions.add("t.status IN (" + placeholders(criteria.getStatuses().size()) + ")");
+            criteria.getStatuses().forEach(status -> parameters.add(status.name()));
+        }
         
-        task.setId(resultSet.getInt("id"));
-        task.setTitle(resultSet.getString("title"));
-        task.setDescription(resultSet.getString("description"));
-        task.setPriority(Priority.valueOf(resultSet.getString("priority")));
-        task.setStatus(TaskStatus.valueOf(resultSet.getString("status")));
+        if (criteria.getPriorities() != null && !criteria.getPriorities().isEmpty()) {
+            conditions.add("t.priority IN (" + placeholders(criteria.getPriorities().size()) + ")");
+            criteria.getPriorities().forEach(priority -> parameters.add(priority.name()));
+        }
         
-        // Handle due_date more safely for SQLite
-        try {
-            Date dueDate = resultSet.getDate("due_date");
-            if (dueDate != null) {
-                task.setDueDate(dueDate.toLocalDate());
-            }
-        } catch (SQLException e) {
-            // Try parsing as string if getDate fails
-            try {
-                String dueDateStr = resultSet.getString("due_date");
-                if (dueDateStr != null && !dueDateStr.trim().isEmpty()) {
-                    task.setDueDate(LocalDate.parse(dueDateStr));
-                }
-            } catch (Exception ex) {
-                // Skip due date if all parsing methods fail
-                task.setDueDate(null);
+        if (criteria.getCategoryIds() != null && !criteria.getCategoryIds().isEmpty()) {
+            String condition = "t.category_id IN (" + placeholders(criteria.getCategoryIds().size()) + ")";
+            // Category id 0 stands for "no category" on the model
+            if (criteria.getCategoryIds().contains(0)) {
+                condition = "(" + condition + " OR t.category_id IS NULL)";
             }
+            conditions.add(condition);
+            parameters.addAll(criteria.getCategoryIds());
         }
         
-        // Handle assigned_to safely
-        try {
-            int assignedTo = resultSet.getInt("assigned_to");
-            if (!resultSet.wasNull()) {
-                task.setAssignedTo(assignedTo);
-            }
-        } catch (SQLException e) {
-            // Skip assigned_to if parsing fails
-            task.setAssignedTo(null);
+        if (criteria.getAssigneeIds() != null && !criteria.getAssigneeIds().isEmpty()) {
+            conditions.add("t.assigned_to IN (" + placeholders(criteria.getAssigneeIds().size()) + ")");
+            parameters.addAll(criteria.getAssigneeIds());
+        }
+        
+        // Tasks without a due date are not excluded by the date range
+        if (criteria.getStartDate() != null || criteria.getEndDate() != null) {
+            conditions.add("(t.due_date IS NULL OR " +
+                dueDateRange(criteria.getStartDate(), criteria.getEndDate(), false, parameters) + ")");
+        }
+        
+        if (criteria.isOverdueOnly()) {
+            conditions.add("t.status != 'COMPLETED' AND " + dueDateRange(null, LocalDate.now(), true, parameters));
+        }
+        
+        String matchQuery = criteria.getSearchText() != null ? toFullTextQuery(criteria.getSearchText()) : null;
+        if (matchQuery != null) {
+            conditions.add("t.id IN (SELECT rowid FROM task_search WHERE task_search MATCH ?)");
+            parameters.add(matchQuery);
+        }
+        
+        if (criteria.getTags() != null && !criteria.getTags().isEmpty()) {
+            conditions.add("t.id IN (SELECT task_id FROM task_tags WHERE lower(tag_name) IN (" +
+                placeholders(criteria.getTags().size()) + "))");
+            criteria.getTags().forEach(tag -> parameters.add(tag.trim().toLowerCase()));
+        }
+    }
+    
+    /**
+     * Build an index-friendly due_date range condition.
+     * Due dates written through JDBC are stored as epoch milliseconds while
+     * seeded rows hold 'YYYY-MM-DD' text; SQLite orders every integer before
+     * every text value, so each storage form gets its own bounded range.
+     */
+    private static String dueDateRange(LocalDate start, LocalDate end, boolean endExclusive, List<Object> parameters) {
+        String upper = endExclusive ? " < ?" : " <= ?";
+        
+        String millisRange;
+        String textRange;
+        if (start != null && end != null) {
+            millisRange = "t.due_date >= ? AND t.due_date" + upper;
+            textRange = "t.due_date >= ? AND t.due_date" + upper;
+            parameters.add(Date.valueOf(start).getTime());
+            parameters.add(Date.valueOf(end).getTime());
+            parameters.add(start.toString());
+            parameters.add(end.toString());
+        } else if (start != null) {
+            millisRange = "t.due_date BETWEEN ? AND " + Long.MAX_VALUE;
+            textRange = "t.due_date >= ?";
+            parameters.add(Date.valueOf(start).getTime());
+            parameters.add(start.toString());
+        } else {
+            millisRange = "t.due_date" + upper;
+            textRange = "t.due_date >= '' AND t.due_date" + upper;
+            parameters.add(Date.valueOf(end).getTime());
+            parameters.add(end.toString());
+        }
+        return "((" + millisRange + ") OR (" + textRange + "))";
+    }
+    
+    private static String placeholders(int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(i == 0 ? "?" : ", ?");
+        }
+        return builder.toString();
+    }
+    
+    /**
+     * Full-text search over title, description, tags and category name using
+     * the task_search FTS5 index. Every word of the query is matched as a
+     * prefix, so "rev" finds "review" and "code-review".
+     * @param query Search text entered by the user
+     * @return matching tasks, best match first
+     * @throws SQLException if database operation fails
+     */
+    public List<Task> searchTasks(String query) throws SQLException {
+        CategorySnapshot categories = CategoryRegistry.current();
+        String matchQuery = toFullTextQuery(query);
+        if (matchQuery == null) {
+            return new ArrayList<>();
+        }
+        
+        List<Task> tasks;
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(SEARCH_TASKS)) {
+            
+            statement.setString(1, matchQuery);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                tasks = mapTasks(connection, resultSet, categories);
+            }
+        }
+        return tasks;
+    }
+    
+    /**
+     * Get a summary of every task, newest first. Only display columns are
+     * read and tags are not loaded.
+     * @return List of task summaries
+     * @throws SQLException if database operation fails
+     */
+    public List<TaskSummary> findAllSummaries() throws SQLException {
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_ALL_TASK_SUMMARIES);
+             ResultSet resultSet = statement.executeQuery()) {
+            
+            return mapTaskSummaries(resultSet);
+        }
+    }
+    
+    /**
+     * Get summaries of the tasks visible to a user (assigned to them OR created by them)
+     * @param userId User ID
+     * @return List of task summaries, newest first
+     * @throws SQLException if database operation fails
+     */
+    public List<TaskSummary> findSummariesForUser(int userId) throws SQLException {
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_TASK_SUMMARIES_FOR_USER)) {
+            
+            statement.setInt(1, userId);
+            statement.setInt(2, userId);
+            
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return mapTaskSummaries(resultSet);
+            }
+        }
+    }
+    
+    /**
+     * Full-text search returning summaries, ranked like searchTasks
+     * @param query Search text entered by the user
+     * @return matching task summaries, best match first
+     * @throws SQLException if database operation fails
+     */
+    public List<TaskSummary> searchTaskSummaries(String query) throws SQLException {
+        String matchQuery = toFullTextQuery(query);
+        if (matchQuery == null) {
+            return new ArrayList<>();
+        }
+        
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(SEARCH_TASK_SUMMARIES)) {
+            
+            statement.setString(1, matchQuery);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return mapTaskSummaries(resultSet);
+            }
+        }
+    }
+    
+    /**
+     * Watermark covering every change made so far. Take it before a full load
+     * and pass it to findUpdatedSince afterwards to pick up later changes.
+     * @return the current watermark
+     * @throws SQLException if database operation fails
+     */
+    public String currentWatermark() throws SQLException {
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_CHANGE_WATERMARK);
+             ResultSet resultSet = statement.executeQuery()) {
+            
+            return resultSet.next() ? resultSet.getString(1) : "";
+        }
+    }
+    
+    /**
+     * Tasks created, updated or deleted since a watermark
+     * @param watermark Watermark from currentWatermark() or a previous change set; null for all tasks
+     * @param visibleToUserId Only report tasks assigned to or created by this user, listing
+     *                        tasks that stopped being visible as removed; null for all tasks
+     * @return changed tasks (with tags), removed ids and the next watermark
+     * @throws SQLException if database operation fails
+     */
+    public TaskChangeSet<Task> findUpdatedSince(String watermark, Integer visibleToUserId) throws SQLException {
+        CategorySnapshot categories = CategoryRegistry.current();
+        return findChangesSince(SELECT_CHANGED_TASKS, watermark, visibleToUserId,
+                                resultSet -> mapResultSetToTask(resultSet, categories), this::loadTagsForTasks);
+    }
+    
+    /**
+     * Same as findUpdatedSince, returning TaskSummary projections
+     */
+    public TaskChangeSet<TaskSummary> findSummariesUpdatedSince(String watermark, Integer visibleToUserId)
+            throws SQLException {
+        return findChangesSince(SELECT_CHANGED_TASK_SUMMARIES, watermark, visibleToUserId,
+                                this::mapResultSetToTaskSummary, (connection, summaries) -> { });
+    }
+    
+    private interface RowMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
+    
+    private interface BatchLoader<T> {
+        void load(Connection connection, List<T> items) throws SQLException;
+    }
+    
+    private <T> TaskChangeSet<T> findChangesSince(String sql, String watermark, Integer visibleToUserId,
+                                                  RowMapper<T> mapper, BatchLoader<T> batchLoader)
+            throws SQLException {
+        String since = watermark != null ? watermark : "";
+        String next = since;
+        List<T> changed = new ArrayList<>();
+        Set<Integer> removedIds = new LinkedHashSet<>();
+        
+        try (Connection connection = DatabaseConnection.getReadConnection()) {
+            // Read tasks and tombstones from one snapshot so the watermark cannot skip a change
+            connection.setAutoCommit(false);
+            try {
+                if (watermark != null && isBeforeTombstoneHorizon(connection, since)) {
+                    return TaskChangeSet.reloadRequired(watermark);
+                }
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setString(1, since);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            String updatedAt = resultSet.getString("updated_at");
+                            if (updatedAt != null && updatedAt.compareTo(next) > 0) {
+                                next = updatedAt;
+                            }
+                            if (visibleToUserId == null || isVisibleTo(resultSet, visibleToUserId)) {
+                                changed.add(mapper.map(resultSet));
+                            } else {
+                                removedIds.add(resultSet.getInt("id"));
+                            }
+                        }
+                    }
+                }
+                batchLoader.load(connection, changed);
+                
+                if (watermark != null) {
+                    try (PreparedStatement statement = connection.prepareStatement(SELECT_TOMBSTONES_SINCE)) {
+                        statement.setString(1, since);
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            while (resultSet.next()) {
+                                removedIds.add(resultSet.getInt("task_id"));
+                                String deletedAt = resultSet.getString("deleted_at");
+                                if (deletedAt != null && deletedAt.compareTo(next) > 0) {
+                                    next = deletedAt;
+                                }
+                            }
+                        }
+                    }
+                }
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+        
+        return new TaskChangeSet<>(changed, removedIds, next);
+    }
+    
+    /**
+     * Deletions up to the prune horizon are gone, so a watermark before it
+     * cannot be brought up to date
+     */
+    private static boolean isBeforeTombstoneHorizon(Connection connection, String watermark) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_TOMBSTONE_HORIZON);
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() && watermark.compareTo(resultSet.getString(1)) < 0;
+        }
+    }
+    
+    private static boolean isVisibleTo(ResultSet resultSet, int userId) throws SQLException {
+        int assignedTo = resultSet.getInt("assigned_to");
+        boolean assigned = !resultSet.wasNull() && assignedTo == userId;
+        return assigned || resultSet.getInt("created_by") == userId;
+    }
+    
+    /**
+     * Turn free text into an FTS5 query: each word becomes a quoted prefix
+     * term, so user input can never be parsed as FTS5 syntax.
+     * @return the MATCH expression, or null if the text contains no words
+     */
+    static String toFullTextQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        for (String word : text.trim().split("\\s+")) {
+            if (word.codePoints().noneMatch(Character::isLetterOrDigit)) {
+                continue;
+            }
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append('"').append(word.replace("\"", "\"\"")).append("\"*");
+        }
+        return query.length() == 0 ? null : query.toString();
+    }
+    
+    /**
+     * Count tasks created per period
+     * @param startDate First day counted (inclusive)
+     * @param endDate Last day counted (inclusive)
+     * @param granularity Bucket size
+     * @return task count keyed by the first day of each non-empty bucket
+     * @throws SQLException if database operation fails
+     */
+    public Map<LocalDate, Integer> countCreatedByPeriod(LocalDate startDate, LocalDate endDate,
+                                                        TrendGranularity granularity) throws SQLException {
+        return countByPeriod("created_at", startDate, endDate, granularity);
+    }
+    
+    /**
+     * Count tasks completed per period
+     * @param startDate First day counted (inclusive)
+     * @param endDate Last day counted (inclusive)
+     * @param granularity Bucket size
+     * @return task count keyed by the first day of each non-empty bucket
+     * @throws SQLException if database operation fails
+     */
+    public Map<LocalDate, Integer> countCompletedByPeriod(LocalDate startDate, LocalDate endDate,
+                                                          TrendGranularity granularity) throws SQLException {
+        return countByPeriod("completed_at", startDate, endDate, granularity);
+    }
+    
+    /**
+     * Group a timestamp column into date buckets. Timestamps are stored as
+     * 'YYYY-MM-DD HH:MM:SS' text, so the range is a plain text comparison
+     * that can use the column's index.
+     */
+    private Map<LocalDate, Integer> countByPeriod(String column, LocalDate startDate, LocalDate endDate,
+                                                  TrendGranularity granularity) throws SQLException {
+        String bucket;
+        switch (granularity) {
+            case WEEKLY:
+                // Monday of the week: advance to Sunday, then back six days
+                bucket = "date(" + column + ", 'weekday 0', '-6 days')";
+                break;
+            case MONTHLY:
+                bucket = "date(" + column + ", 'start of month')";
+                break;
+            case DAILY:
+            default:
+                bucket = "date(" + column + ")";
+                break;
+        }
+        String sql = "SELECT " + bucket + " AS bucket, COUNT(*) AS task_count FROM tasks " +
+                     "WHERE " + column + " >= ? AND " + column + " < ? GROUP BY bucket";
+        
+        Map<LocalDate, Integer> counts = new HashMap<>();
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            
+            statement.setString(1, startDate.toString());
+            statement.setString(2, endDate.plusDays(1).toString());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String day = resultSet.getString("bucket");
+                    if (day != null) {
+                        counts.put(LocalDate.parse(day), resultSet.getInt("task_count"));
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+    
+    /**
+     * Update task
+     * @param task Task to update
+     * @return true if update was successful, false otherwise
+     * @throws SQLException if database operation fails
+     */
+    public boolean updateTask(Task task) throws SQLException {
+        return DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_TASK)) {
+            
+                statement.setString(1, task.getTitle());
+                statement.setString(2, task.getDescription());
+                statement.setString(3, task.getPriority().name());
+                statement.setString(4, task.getStatus().name());
+            
+                if (task.getDueDate() != null) {
+                    statement.setDate(5, Date.valueOf(task.getDueDate()));
+                } else {
+                    statement.setNull(5, Types.DATE);
+                }
+            
+                if (task.getAssignedTo() != null) {
+                    statement.setInt(6, task.getAssignedTo());
+                } else {
+                    statement.setNull(6, Types.INTEGER);
+                }
+            
+                statement.setInt(7, task.getEstimatedMinutes());
+            
+                if (task.getCategoryId() > 0) {
+                    statement.setInt(8, task.getCategoryId());
+                } else {
+                    statement.setNull(8, Types.INTEGER);
+                }
+            
+                statement.setString(9, task.getRecurrenceRule());
+                statement.setInt(10, task.getId());
+            
+                boolean result = statement.executeUpdate() > 0;
+            
+                // Update tags (this also notifies write listeners)
+                if (result) {
+                    updateTaskTags(task.getId(), task.getTags());
+                }
+            
+                return result;
+            }
+        });
+    }
+    
+    /**
+     * Update task status
+     * @param taskId Task ID
+     * @param status New status
+     * @return true if update was successful, false otherwise
+     * @throws SQLException if database operation fails
+     */
+    public boolean updateTaskStatus(int taskId, TaskStatus status) throws SQLException {
+        return DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_TASK_STATUS)) {
+            
+                statement.setString(1, status.name());
+                statement.setInt(2, taskId);
+            
+                boolean updated = statement.executeUpdate() > 0;
+                fireTasksWritten(List.of(taskId));
+                return updated;
+            }
+        });
+    }
+    
+    /**
+     * Delete task by ID
+     * @param id Task ID
+     * @return true if deletion was successful, false otherwise
+     * @throws SQLException if database operation fails
+     */
+    public boolean deleteTask(int id) throws SQLException {
+        return DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(DELETE_TASK)) {
+            
+                statement.setInt(1, id);
+                boolean deleted = statement.executeUpdate() > 0;
+                fireTasksWritten(List.of(id));
+                if (deleted) {
+                    pruneTombstones();
+                }
+                return deleted;
+            }
+        });
+    }
+    
+    /**
+     * Set the status of many tasks with set-based updates in one transaction.
+     * Tasks moving to COMPLETED get completed_at stamped.
+     * @param taskIds IDs of the tasks to update
+     * @param status New status
+     * @return number of tasks updated
+     * @throws SQLException if database operation fails; nothing is changed in that case
+     */
+    public int updateStatusForTasks(Collection<Integer> taskIds, TaskStatus status) throws SQLException {
+        return updateByIds(BULK_UPDATE_STATUS, List.of(status.name(), status.name()), taskIds);
+    }
+    
+    /**
+     * Assign many tasks to one user in one transaction
+     * @param taskIds IDs of the tasks to update
+     * @param userId User to assign, or null to unassign
+     * @return number of tasks updated
+     * @throws SQLException if database operation fails; nothing is changed in that case
+     */
+    public int assignTasks(Collection<Integer> taskIds, Integer userId) throws SQLException {
+        return updateByIds(BULK_ASSIGN, Collections.singletonList(userId), taskIds);
+    }
+    
+    /**
+     * Move many tasks to one category in one transaction
+     * @param taskIds IDs of the tasks to update
+     * @param categoryId Category to set, or null to clear it
+     * @return number of tasks updated
+     * @throws SQLException if database operation fails; nothing is changed in that case
+     */
+    public int setCategoryForTasks(Collection<Integer> taskIds, Integer categoryId) throws SQLException {
+        return updateByIds(BULK_SET_CATEGORY, Collections.singletonList(categoryId), taskIds);
+    }
+    
+    /**
+     * Delete many tasks in one transaction
+     * @param taskIds IDs of the tasks to delete
+     * @return number of tasks deleted
+     * @throws SQLException if database operation fails; nothing is deleted in that case
+     */
+    public int deleteTasks(Collection<Integer> taskIds) throws SQLException {
+        int deleted = updateByIds(BULK_DELETE, Collections.emptyList(), taskIds);
+        if (deleted > 0) {
+            pruneTombstones();
+        }
+        return deleted;
+    }
+    
+    /**
+     * Drop tombstones older than db.tombstoneRetentionDays. The newest one
+     * dropped becomes the prune horizon: change feeds with an older watermark
+     * are answered with a reload-required change set. Runs after deletes,
+     * the only writes that add tombstones.
+     * @return number of tombstones removed
+     * @throws SQLException if database operation fails
+     */
+    int pruneTombstones() throws SQLException {
+        String retention = "-" + DatabaseConnection.getIntProperty("db.tombstoneRetentionDays", 30) + " days";
+        return DatabaseConnection.executeWrite(connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                String prunedThrough;
+                try (PreparedStatement statement = connection.prepareStatement(SELECT_PRUNABLE_TOMBSTONES)) {
+                    statement.setString(1, retention);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        prunedThrough = resultSet.next() ? resultSet.getString(1) : null;
+                    }
+                }
+                if (prunedThrough == null) {
+                    connection.commit();
+                    return 0;
+                }
+                
+                try (PreparedStatement statement = connection.prepareStatement(UPDATE_TOMBSTONE_HORIZON)) {
+                    statement.setString(1, prunedThrough);
+                    statement.executeUpdate();
+                }
+                int pruned;
+                try (PreparedStatement statement = connection.prepareStatement(DELETE_PRUNED_TOMBSTONES)) {
+                    statement.setString(1, prunedThrough);
+                    pruned = statement.executeUpdate();
+                }
+                connection.commit();
+                return pruned;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+    
+    /**
+     * Run "statement ... WHERE id IN (...)" over a set of ids, split into
+     * chunks that fit SQLite's parameter limit, all in a single transaction
+     */
+    private int updateByIds(String statementPrefix, List<Object> leadingParameters,
+                            Collection<Integer> taskIds) throws SQLException {
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(taskIds));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        return DatabaseConnection.executeWrite(connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                int rows = 0;
+                for (int from = 0; from < ids.size(); from += MAX_IN_LIST_PARAMETERS) {
+                    List<Integer> chunk = ids.subList(from, Math.min(from + MAX_IN_LIST_PARAMETERS, ids.size()));
+                    String sql = statementPrefix + " WHERE id IN (" + placeholders(chunk.size()) + ")";
+                    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        int index = 1;
+                        for (Object parameter : leadingParameters) {
+                            statement.setObject(index++, parameter);
+                        }
+                        for (Integer id : chunk) {
+                            statement.setInt(index++, id);
+                        }
+                        rows += statement.executeUpdate();
+                    }
+                }
+                connection.commit();
+                fireTasksWritten(ids);
+                return rows;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+    
+    /**
+     * Get count of tasks by status
+     * @param status Task status
+     * @return number of tasks with the specified status
+     * @throws SQLException if database operation fails
+     */
+    public int getTaskCountByStatus(TaskStatus status) throws SQLException {
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(COUNT_TASKS_BY_STATUS)) {
+            
+            statement.setString(1, status.name());
+            
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return resultSet.getInt(1);
+                }
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Map ResultSet to Task object
+     * @param resultSet ResultSet
+     * @return Task object
+     * @throws SQLException if mapping fails
+     */
+    private Task mapResultSetToTask(ResultSet resultSet, CategorySnapshot categories) throws SQLException {
+        Task task = new Task();
+        
+        task.setId(resultSet.getInt("id"));
+        task.setTitle(resultSet.getString("title"));
+        task.setDescription(resultSet.getString("description"));
+        task.setPriority(Priority.valueOf(resultSet.getString("priority")));
+        task.setStatus(TaskStatus.valueOf(resultSet.getString("status")));
+        task.setDueDate(readDueDate(resultSet));
+        
+        // Handle assigned_to safely
+        try {
+            int assignedTo = resultSet.getInt("assigned_to");
+            if (!resultSet.wasNull()) {
+                task.setAssignedTo(assignedTo);
+            }
+        } catch (SQLException e) {
+            // Skip assigned_to if parsing fails
+            task.setAssignedTo(null);
         }
         
         // Handle created_by safely  
@@ -574,15 +1640,10 @@ public class TaskDAO {
             int categoryId = resultSet.getInt("category_id");
             if (!resultSet.wasNull()) {
                 task.setCategoryId(categoryId);
-                // Create category object for display
                 String categoryName = resultSet.getString("category_name");
-                String categoryColor = resultSet.getString("category_color");
                 if (categoryName != null) {
-                    com.worksphere.model.Category category = new com.worksphere.model.Category();
-                    category.setId(categoryId);
-                    category.setName(categoryName);
-                    category.setColor(categoryColor);
-                    task.setCategory(category);
+                    task.setCategory(resolveCategory(categories, categoryId, categoryName,
+                                                     resultSet.getString("category_color")));
                 }
             }
         } catch (SQLException e) {
@@ -604,161 +1665,125 @@ public class TaskDAO {
             task.setParentTaskId(null);
         }
         
-        // Handle timestamps more safely for SQLite with comprehensive parsing
-        try {
-            // Try multiple approaches to get the timestamp
-            LocalDateTime createdDateTime = null;
-            
-            // Method 1: Try getTimestamp first
-            try {
-                Timestamp createdTimestamp = resultSet.getTimestamp("created_at");
-                if (createdTimestamp != null) {
-                    createdDateTime = createdTimestamp.toLocalDateTime();
-                }
-            } catch (SQLException e) {
-                // Method 1 failed, try other methods
-            }
-            
-            // Method 2: Try getString and parse manually if Method 1 failed
-            if (createdDateTime == null) {
-                String createdAtStr = resultSet.getString("created_at");
-                if (createdAtStr != null && !createdAtStr.trim().isEmpty()) {
-                    createdDateTime = parseTimestampString(createdAtStr);
-                }
-            }
-            
-            // Set the result or use current time as fallback
-            task.setCreatedAt(createdDateTime != null ? createdDateTime : LocalDateTime.now());
-            
-        } catch (Exception e) {
-            // Ultimate fallback
-            task.setCreatedAt(LocalDateTime.now());
-        }
-        
-        try {
-            // Try multiple approaches to get the timestamp
-            LocalDateTime updatedDateTime = null;
-            
-            // Method 1: Try getTimestamp first
-            try {
-                Timestamp updatedTimestamp = resultSet.getTimestamp("updated_at");
-                if (updatedTimestamp != null) {
-                    updatedDateTime = updatedTimestamp.toLocalDateTime();
-                }
-            } catch (SQLException e) {
-                // Method 1 failed, try other methods
-            }
-            
-            // Method 2: Try getString and parse manually if Method 1 failed
-            if (updatedDateTime == null) {
-                String updatedAtStr = resultSet.getString("updated_at");
-                if (updatedAtStr != null && !updatedAtStr.trim().isEmpty()) {
-                    updatedDateTime = parseTimestampString(updatedAtStr);
-                }
-            }
-            
-            // Set the result or use current time as fallback
-            task.setUpdatedAt(updatedDateTime != null ? updatedDateTime : LocalDateTime.now());
-            
-        } catch (Exception e) {
-            // Ultimate fallback
-            task.setUpdatedAt(LocalDateTime.now());
-        }
-        
-        // Handle completed_at timestamp
-        try {
-            Timestamp completedTimestamp = resultSet.getTimestamp("completed_at");
-            if (completedTimestamp != null) {
-                task.setCompletedAt(completedTimestamp.toLocalDateTime());
-            }
-        } catch (SQLException e) {
-            // Try string parsing
-            try {
-                String completedAtStr = resultSet.getString("completed_at");
-                if (completedAtStr != null && !completedAtStr.trim().isEmpty()) {
-                    task.setCompletedAt(parseTimestampString(completedAtStr));
-                }
-            } catch (Exception ex) {
-                task.setCompletedAt(null);
-            }
-        }
-        
-        // Handle last_worked_at timestamp
-        try {
-            Timestamp lastWorkedTimestamp = resultSet.getTimestamp("last_worked_at");
-            if (lastWorkedTimestamp != null) {
-                task.setLastWorkedAt(lastWorkedTimestamp.toLocalDateTime());
-            }
-        } catch (SQLException e) {
-            // Try string parsing
-            try {
-                String lastWorkedAtStr = resultSet.getString("last_worked_at");
-                if (lastWorkedAtStr != null && !lastWorkedAtStr.trim().isEmpty()) {
-                    task.setLastWorkedAt(parseTimestampString(lastWorkedAtStr));
-                }
-            } catch (Exception ex) {
-                task.setLastWorkedAt(null);
-            }
-        }
+        // Timestamps are CURRENT_TIMESTAMP text; created/updated default to now when missing
+        LocalDateTime createdAt = SqliteTimestamps.read(resultSet, "created_at");
+        task.setCreatedAt(createdAt != null ? createdAt : LocalDateTime.now());
+        LocalDateTime updatedAt = SqliteTimestamps.read(resultSet, "updated_at");
+        task.setUpdatedAt(updatedAt != null ? updatedAt : LocalDateTime.now());
+        task.setCompletedAt(SqliteTimestamps.read(resultSet, "completed_at"));
+        task.setLastWorkedAt(SqliteTimestamps.read(resultSet, "last_worked_at"));
         
         // Set usernames for display
         task.setAssignedToUsername(resultSet.getString("assigned_username"));
         task.setCreatedByUsername(resultSet.getString("created_username"));
         
-        // Load tags for this task
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            task.setTags(loadTaskTags(conn, task.getId()));
-        } catch (SQLException e) {
-            // If loading tags fails, set empty list
-            task.setTags(new ArrayList<>());
-        }
-        
+        // Tags are attached by the caller (see mapTasks / loadTagsForTasks)
         return task;
     }
     
     /**
-     * Helper method to parse timestamp strings in various formats
+     * Share the registry's Category for a task row. Finders take the snapshot
+     * once, before their query opens a connection, since loading it may need
+     * a connection of its own. If the joined name or color disagrees (the
+     * snapshot is older than the row), the row's own values win; the registry
+     * is reloaded by the writers and the change watcher, never from here.
      */
-    private LocalDateTime parseTimestampString(String timestampStr) {
-        if (timestampStr == null || timestampStr.trim().isEmpty()) {
-            return null;
+    private static Category resolveCategory(CategorySnapshot categories, int categoryId, String name, String color) {
+        Category category = categories.get(categoryId);
+        if (category != null && name.equals(category.getName()) && Objects.equals(color, category.getColor())) {
+            return category;
         }
-        
-        String cleanStr = timestampStr.trim();
-        
+        category = new Category();
+        category.setId(categoryId);
+        category.setName(name);
+        category.setColor(color);
+        return category;
+    }
+    
+    /**
+     * Map every row of a ResultSet to a Task and attach tags for the whole batch
+     * with a single query on the same connection
+     * @param connection Connection the ResultSet belongs to
+     * @param resultSet ResultSet positioned before the first row
+     * @param categories Category snapshot taken before the query ran
+     * @return List of mapped tasks, in ResultSet order
+     * @throws SQLException if mapping fails
+     */
+    private List<Task> mapTasks(Connection connection, ResultSet resultSet, CategorySnapshot categories)
+            throws SQLException {
+        List<Task> tasks = new ArrayList<>();
+        while (resultSet.next()) {
+            tasks.add(mapResultSetToTask(resultSet, categories));
+        }
+        loadTagsForTasks(connection, tasks);
+        return tasks;
+    }
+    
+    /**
+     * Map every row of a summary projection ResultSet to a TaskSummary
+     */
+    private List<TaskSummary> mapTaskSummaries(ResultSet resultSet) throws SQLException {
+        List<TaskSummary> summaries = new ArrayList<>();
+        while (resultSet.next()) {
+            summaries.add(mapResultSetToTaskSummary(resultSet));
+        }
+        return summaries;
+    }
+    
+    private TaskSummary mapResultSetToTaskSummary(ResultSet resultSet) throws SQLException {
+        int assignedTo = resultSet.getInt("assigned_to");
+        Integer assignedToId = resultSet.wasNull() ? null : assignedTo;
+        return new TaskSummary(
+            resultSet.getInt("id"),
+            resultSet.getString("title"),
+            TaskStatus.valueOf(resultSet.getString("status")),
+            Priority.valueOf(resultSet.getString("priority")),
+            readDueDate(resultSet),
+            assignedToId,
+            resultSet.getString("assigned_full_name"),
+            resultSet.getInt("created_by"),
+            SqliteTimestamps.read(resultSet, "created_at"),
+            SqliteTimestamps.read(resultSet, "updated_at"));
+    }
+    
+    /**
+     * Read due_date, which SQLite may hold as epoch millis (JDBC setDate) or as text.
+     * The stored type is checked first because getDate throws on plain
+     * "YYYY-MM-DD" text, and an exception per row dominates list loading.
+     * @return the due date, or null if unset or unparseable
+     */
+    private static LocalDate readDueDate(ResultSet resultSet) {
         try {
-            // Format 1: "YYYY-MM-DD HH:MM:SS" (SQLite default)
-            if (cleanStr.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}")) {
-                return LocalDateTime.parse(cleanStr.replace(" ", "T"));
+            Object value = resultSet.getObject("due_date");
+            if (value == null) {
+                return null;
             }
-            
-            // Format 2: "YYYY-MM-DD HH:MM:SS.SSS" (with milliseconds)
-            if (cleanStr.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d{3}")) {
-                return LocalDateTime.parse(cleanStr.replace(" ", "T"));
-            }
-            
-            // Format 3: ISO format "YYYY-MM-DDTHH:MM:SS"
-            if (cleanStr.matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}")) {
-                return LocalDateTime.parse(cleanStr);
+            if (value instanceof Long || value instanceof Integer) {
+                return new Date(((Number) value).longValue()).toLocalDate();
             }
-            
-            // Format 4: Try direct Timestamp.valueOf parsing
-            try {
-                Timestamp ts = Timestamp.valueOf(cleanStr);
-                return ts.toLocalDateTime();
-            } catch (Exception e) {
-                // Continue to next method
-            }
-            
-            // Format 5: Try parsing without time part, use start of day
-            if (cleanStr.matches("\\d{4}-\\d{2}-\\d{2}")) {
-                return LocalDate.parse(cleanStr).atStartOfDay();
+            if (value instanceof String && ((String) value).length() == 10) {
+                return LocalDate.parse((String) value);
             }
-            
         } catch (Exception e) {
-            // All parsing methods failed
+            // Fall through to the JDBC conversion below
         }
         
+        try {
+            Date dueDate = resultSet.getDate("due_date");
+            if (dueDate != null) {
+                return dueDate.toLocalDate();
+            }
+        } catch (SQLException e) {
+            // Try parsing as string if getDate fails
+            try {
+                String dueDateStr = resultSet.getString("due_date");
+                if (dueDateStr != null && !dueDateStr.trim().isEmpty()) {
+                    return LocalDate.parse(dueDateStr);
+                }
+            } catch (Exception ex) {
+                // Skip due date if all parsing methods fail
+            }
+        }
         return null;
     }
     
@@ -779,6 +1804,32 @@ public class TaskDAO {
         }
     }
     
+    /**
+     * Insert the tags of many tasks as one batch; tasks must already have IDs
+     */
+    private void insertTagsForTasks(Connection connection, List<Task> tasks) throws SQLException {
+        String sql = "INSERT OR IGNORE INTO task_tags (task_id, tag_name) VALUES (?, ?)";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int queued = 0;
+            for (Task task : tasks) {
+                if (task.getTags() == null) {
+                    continue;
+                }
+                for (String tag : task.getTags()) {
+                    if (tag != null && !tag.trim().isEmpty()) {
+                        stmt.setInt(1, task.getId());
+                        stmt.setString(2, tag.trim());
+                        stmt.addBatch();
+                        if (++queued % INSERT_BATCH_SIZE == 0) {
+                            stmt.executeBatch();
+                        }
+                    }
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+    
     /**
      * Load tags for a task
      */
@@ -796,11 +1847,58 @@ public class TaskDAO {
         return tags;
     }
     
+    /**
+     * Load tags for a batch of tasks in one query and stitch them in memory.
+     * Small batches use an IN list; larger ones scan task_tags once and keep
+     * only the rows belonging to the batch, which stays under SQLite's host
+     * parameter limit without falling back to one query per task.
+     */
+    private void loadTagsForTasks(Connection connection, List<Task> tasks) throws SQLException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        
+        Map<Integer, Task> tasksById = new HashMap<>(tasks.size() * 2);
+        for (Task task : tasks) {
+            tasksById.put(task.getId(), task);
+        }
+        
+        String sql;
+        if (tasksById.size() <= MAX_IN_LIST_PARAMETERS) {
+            StringBuilder placeholders = new StringBuilder();
+            for (int i = 0; i < tasksById.size(); i++) {
+                placeholders.append(i == 0 ? "?" : ", ?");
+            }
+            sql = "SELECT task_id, tag_name FROM task_tags WHERE task_id IN (" + placeholders + ") " +
+                  "ORDER BY task_id, tag_name";
+        } else {
+            sql = "SELECT task_id, tag_name FROM task_tags ORDER BY task_id, tag_name";
+        }
+        
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            if (tasksById.size() <= MAX_IN_LIST_PARAMETERS) {
+                int index = 1;
+                for (Integer taskId : tasksById.keySet()) {
+                    stmt.setInt(index++, taskId);
+                }
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Task task = tasksById.get(rs.getInt(1));
+                    if (task != null) {
+                        task.getTags().add(rs.getString(2));
+                    }
+                }
+            }
+        }
+    }
+    
     /**
      * Update tags for a task
      */
     public void updateTaskTags(int taskId, List<String> tags) throws SQLException {
-        try (Connection connection = DatabaseConnection.getConnection()) {
+        DatabaseConnection.executeWrite(connection -> {
             // Delete existing tags
             String deleteSql = "DELETE FROM task_tags WHERE task_id = ?";
             try (PreparedStatement deleteStmt = connection.prepareStatement(deleteSql)) {
@@ -812,13 +1910,23 @@ public class TaskDAO {
             if (tags != null && !tags.isEmpty()) {
                 insertTaskTags(connection, taskId, tags);
             }
-        }
+            
+            // Tags are part of the task as seen by findUpdatedSince
+            try (PreparedStatement touchStmt = connection.prepareStatement(
+                     "UPDATE tasks SET updated_at = CURRENT_TIMESTAMP WHERE id = ?")) {
+                touchStmt.setInt(1, taskId);
+                touchStmt.executeUpdate();
+            }
+            fireTasksWritten(List.of(taskId));
+            return null;
+        });
     }
     
     /**
      * Find tasks by category
      */
     public List<Task> findByCategory(int categoryId) throws SQLException {
+        CategorySnapshot categories = CategoryRegistry.current();
         String sql = "SELECT t.id, t.title, t.description, t.priority, t.status, t.due_date, " +
                     "t.assigned_to, t.created_by, t.created_at, t.updated_at, t.completed_at, " +
                     "t.estimated_minutes, t.actual_minutes, t.category_id, t.recurrence_rule, " +
@@ -831,15 +1939,13 @@ public class TaskDAO {
                     "LEFT JOIN categories c ON t.category_id = c.id " +
                     "WHERE t.category_id = ? ORDER BY t.created_at DESC";
         
-        List<Task> tasks = new ArrayList<>();
-        try (Connection connection = DatabaseConnection.getConnection();
+        List<Task> tasks;
+        try (Connection connection = DatabaseConnection.getReadConnection();
              PreparedStatement stmt = connection.prepareStatement(sql)) {
             
             stmt.setInt(1, categoryId);
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    tasks.add(mapResultSetToTask(rs));
-                }
+                tasks = mapTasks(connection, rs, categories);
             }
         }
         return tasks;
@@ -849,6 +1955,7 @@ public class TaskDAO {
      * Find tasks by tag
      */
     public List<Task> findByTag(String tag) throws SQLException {
+        CategorySnapshot categories = CategoryRegistry.current();
         String sql = "SELECT DISTINCT t.id, t.title, t.description, t.priority, t.status, t.due_date, " +
                     "t.assigned_to, t.created_by, t.created_at, t.updated_at, t.completed_at, " +
                     "t.estimated_minutes, t.actual_minutes, t.category_id, t.recurrence_rule, " +
@@ -862,15 +1969,13 @@ public class TaskDAO {
                     "INNER JOIN task_tags tt ON t.id = tt.task_id " +
                     "WHERE tt.tag_name = ? ORDER BY t.created_at DESC";
         
-        List<Task> tasks = new ArrayList<>();
-        try (Connection connection = DatabaseConnection.getConnection();
+        List<Task> tasks;
+        try (Connection connection = DatabaseConnection.getReadConnection();
              PreparedStatement stmt = connection.prepareStatement(sql)) {
             
             stmt.setString(1, tag);
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    tasks.add(mapResultSetToTask(rs));
-                }
+                tasks = mapTasks(connection, rs, categories);
             }
         }
         return tasks;
@@ -880,25 +1985,119 @@ public class TaskDAO {
      * Update task time worked
      */
     public boolean updateTaskTime(int taskId, int actualMinutes) throws SQLException {
-        try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement stmt = connection.prepareStatement(UPDATE_TASK_TIME)) {
+        return DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement stmt = connection.prepareStatement(UPDATE_TASK_TIME)) {
             
-            stmt.setInt(1, actualMinutes);
-            stmt.setInt(2, taskId);
+                stmt.setInt(1, actualMinutes);
+                stmt.setInt(2, taskId);
             
-            return stmt.executeUpdate() > 0;
+                boolean updated = stmt.executeUpdate() > 0;
+                fireTasksWritten(List.of(taskId));
+                return updated;
+            }
+        });
+    }
+    
+    /**
+     * Apply coalesced updates from a TaskWriteQueue in a single transaction
+     * @param updates Pending updates, at most one per task
+     * @return number of rows written
+     * @throws SQLException if the batch fails; nothing is committed in that case
+     */
+    int applyGroupedUpdates(List<TaskWriteQueue.PendingUpdate> updates) throws SQLException {
+        return DatabaseConnection.executeWrite(connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement timeStmt = connection.prepareStatement(UPDATE_TASK_TIME);
+                 PreparedStatement completionStmt = connection.prepareStatement(UPDATE_TASK_COMPLETION);
+                 PreparedStatement statusStmt = connection.prepareStatement(UPDATE_TASK_STATUS)) {
+                
+                for (TaskWriteQueue.PendingUpdate update : updates) {
+                    if (update.actualMinutes != null) {
+                        timeStmt.setInt(1, update.actualMinutes);
+                        timeStmt.setInt(2, update.taskId);
+                        timeStmt.addBatch();
+                    }
+                    if (update.completed) {
+                        completionStmt.setInt(1, update.taskId);
+                        completionStmt.addBatch();
+                    }
+                    if (update.status != null) {
+                        statusStmt.setString(1, update.status.name());
+                        statusStmt.setInt(2, update.taskId);
+                        statusStmt.addBatch();
+                    }
+                }
+                
+                // Completion before status so a later status change wins
+                int rows = sum(timeStmt.executeBatch()) + sum(completionStmt.executeBatch()) + sum(statusStmt.executeBatch());
+                connection.commit();
+                
+                List<Integer> taskIds = new ArrayList<>(updates.size());
+                for (TaskWriteQueue.PendingUpdate update : updates) {
+                    taskIds.add(update.taskId);
+                }
+                fireTasksWritten(taskIds);
+                return rows;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+    
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                total += count;
+            }
         }
+        return total;
     }
     
     /**
      * Mark task as completed
      */
     public boolean markTaskCompleted(int taskId) throws SQLException {
-        try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement stmt = connection.prepareStatement(UPDATE_TASK_COMPLETION)) {
+        return DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement stmt = connection.prepareStatement(UPDATE_TASK_COMPLETION)) {
             
-            stmt.setInt(1, taskId);
-            return stmt.executeUpdate() > 0;
+                stmt.setInt(1, taskId);
+                boolean updated = stmt.executeUpdate() > 0;
+                fireTasksWritten(List.of(taskId));
+                return updated;
+            }
+        });
+    }
+    
+    /**
+     * Register a listener told about every task write committed through any
+     * TaskDAO (and task rows rewritten by CategoryDAO/UserDAO)
+     * @param listener Listener to add
+     */
+    public static void addWriteListener(TaskWriteListener listener) {
+        writeListeners.add(listener);
+    }
+    
+    /**
+     * @param listener Listener to remove
+     */
+    public static void removeWriteListener(TaskWriteListener listener) {
+        writeListeners.remove(listener);
+    }
+    
+    static void fireTasksWritten(Collection<Integer> taskIds) {
+        for (TaskWriteListener listener : writeListeners) {
+            listener.tasksWritten(taskIds);
+        }
+    }
+    
+    static void fireAllTasksWritten() {
+        for (TaskWriteListener listener : writeListeners) {
+            listener.allTasksWritten();
         }
     }
 }
@@ -0,0 +1,23 @@
+package com.worksphere.dao;
+
+import java.util.Collection;
+
+/**
+ * Callback for committed writes to task rows, registered with
+ * TaskDAO.addWriteListener. Called on the thread that performed the write,
+ * so implementations must be quick and thread-safe.
+ */
+public interface TaskWriteListener {
+
+    /**
+     * Tasks were created, updated or deleted
+     * @param taskIds IDs of the affected tasks
+     */
+    void tasksWritten(Collection<Integer> taskIds);
+
+    /**
+     * A write may have changed any task, e.g. renaming a category or user
+     * that task rows display
+     */
+    void allTasksWritten();
+}
@@ -0,0 +1,210 @@
+package com.worksphere.dao;
+
+import com.worksphere.model.TaskStatus;
+import com.worksphere.util.DatabaseConnection;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous group-commit pipeline for high-frequency task updates
+ * (time logging, status changes, completion).
+ *
+ * Updates are coalesced per task - only the latest actual_minutes or status
+ * is written - and flushed in a single transaction every flush interval or
+ * as soon as maxBatchSize operations are pending. Each call returns a future
+ * that completes once its update has been committed.
+ */
+public class TaskWriteQueue implements AutoCloseable {
+
+    private static TaskWriteQueue shared;
+
+    private final TaskDAO taskDAO;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService flusher;
+
+    private final Object lock = new Object();
+    private Map<Integer, PendingUpdate> pending = new LinkedHashMap<>();
+    private int pendingOperations = 0;
+    private boolean flushScheduled = false;
+    private boolean closed = false;
+
+    // Metrics
+    private final AtomicLong submittedOperations = new AtomicLong();
+    private final AtomicLong committedBatches = new AtomicLong();
+    private final AtomicLong writtenRows = new AtomicLong();
+
+    /**
+     * Create a queue with its own flusher thread
+     * @param taskDAO DAO used to apply the batched updates
+     * @param flushIntervalMillis Maximum time an update waits before being committed
+     * @param maxBatchSize Number of pending operations that triggers an immediate flush
+     */
+    public TaskWriteQueue(TaskDAO taskDAO, long flushIntervalMillis, int maxBatchSize) {
+        if (flushIntervalMillis <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Flush interval and batch size must be positive");
+        }
+        this.taskDAO = taskDAO;
+        this.maxBatchSize = maxBatchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "worksphere-group-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushPending, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Check whether group commit is enabled (db.groupCommit.enabled)
+     */
+    public static boolean isEnabled() {
+        return DatabaseConnection.getBooleanProperty("db.groupCommit.enabled", false);
+    }
+
+    /**
+     * Get the application-wide queue, configured from db.groupCommit.* properties.
+     * Pending updates are flushed before the connection pool shuts down.
+     */
+    public static synchronized TaskWriteQueue getShared() {
+        if (shared == null) {
+            shared = new TaskWriteQueue(new TaskDAO(),
+                DatabaseConnection.getIntProperty("db.groupCommit.flushIntervalMs", 200),
+                DatabaseConnection.getIntProperty("db.groupCommit.maxBatchSize", 100));
+            DatabaseConnection.addShutdownTask(shared::close);
+        }
+        return shared;
+    }
+
+    /**
+     * Queue an update of the time worked on a task
+     * @return future completed when the update has been committed
+     */
+    public CompletableFuture<Void> updateTaskTime(int taskId, int actualMinutes) {
+        return enqueue(taskId, update -> update.actualMinutes = actualMinutes);
+    }
+
+    /**
+     * Queue a status change
+     * @return future completed when the update has been committed
+     */
+    public CompletableFuture<Void> updateTaskStatus(int taskId, TaskStatus status) {
+        return enqueue(taskId, update -> update.status = status);
+    }
+
+    /**
+     * Queue marking a task as completed
+     * @return future completed when the update has been committed
+     */
+    public CompletableFuture<Void> markTaskCompleted(int taskId) {
+        return enqueue(taskId, update -> {
+            // Completion sets the status itself; a later status change is applied after it
+            update.completed = true;
+            update.status = null;
+        });
+    }
+
+    /**
+     * Commit everything queued so far
+     * @return future completed when the flush has finished
+     */
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.runAsync(this::flushPending, flusher);
+    }
+
+    /**
+     * Flush pending updates and stop the flusher thread
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        flush().join();
+        flusher.shutdown();
+    }
+
+    public long getSubmittedOperations() { return submittedOperations.get(); }
+    public long getCommittedBatches() { return committedBatches.get(); }
+    public long getWrittenRows() { return writtenRows.get(); }
+
+    private CompletableFuture<Void> enqueue(int taskId, Consumer<PendingUpdate> change) {
+        CompletableFuture<Void> committed = new CompletableFuture<>();
+        boolean flushNow = false;
+
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Task write queue has been closed");
+            }
+            PendingUpdate update = pending.computeIfAbsent(taskId, PendingUpdate::new);
+            change.accept(update);
+            update.waiters.add(committed);
+            pendingOperations++;
+
+            if (pendingOperations >= maxBatchSize && !flushScheduled) {
+                flushScheduled = true;
+                flushNow = true;
+            }
+        }
+        submittedOperations.incrementAndGet();
+
+        if (flushNow) {
+            flusher.execute(this::flushPending);
+        }
+        return committed;
+    }
+
+    private void flushPending() {
+        Map<Integer, PendingUpdate> batch;
+        synchronized (lock) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+            pendingOperations = 0;
+        }
+
+        List<PendingUpdate> updates = new ArrayList<>(batch.values());
+        try {
+            int rows = taskDAO.applyGroupedUpdates(updates);
+            committedBatches.incrementAndGet();
+            writtenRows.addAndGet(rows);
+            for (PendingUpdate update : updates) {
+                update.waiters.forEach(waiter -> waiter.complete(null));
+            }
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("❌ Group commit of " + updates.size() + " task updates failed: " + e.getMessage());
+            for (PendingUpdate update : updates) {
+                update.waiters.forEach(waiter -> waiter.completeExceptionally(e));
+            }
+        }
+    }
+
+    /**
+     * Coalesced changes for one task
+     */
+    static final class PendingUpdate {
+        final int taskId;
+        Integer actualMinutes;
+        TaskStatus status;
+        boolean completed;
+        final List<CompletableFuture<Void>> waiters = new ArrayList<>();
+
+        PendingUpdate(int taskId) {
+            this.taskId = taskId;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.worksphere.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Wraps a SQLException thrown while a lazily evaluated result (such as
+ * TaskDAO.streamAll) is being consumed, where checked exceptions cannot
+ * be propagated.
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+    public UncheckedSQLException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
@@ -2,12 +2,14 @@ package com.worksphere.dao;
 
 import com.worksphere.model.User;
 import com.worksphere.util.DatabaseConnection;
+import com.worksphere.util.SqliteTimestamps;
 
 import java.sql.*;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -39,6 +41,13 @@ public class UserDAO {
     private static final String COUNT_USERS = 
         "SELECT COUNT(*) FROM users";
     
+    // Users by ID and by username, shared by every UserDAO. Any user write
+    // clears both maps; a load that raced with a write is not stored.
+    private static final Object cacheLock = new Object();
+    private static final Map<Integer, User> usersById = new HashMap<>();
+    private static final Map<String, User> usersByUsername = new HashMap<>();
+    private static long cacheGeneration = 0;
+    
     /**
      * Create a new user
      * @param user User to create
@@ -46,29 +55,31 @@ public class UserDAO {
      * @throws SQLException if database operation fails
      */
     public User createUser(User user) throws SQLException {
-        try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement statement = connection.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS)) {
+        return DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS)) {
             
-            statement.setString(1, user.getUsername());
-            statement.setString(2, user.getEmail());
-            statement.setString(3, user.getFullName());
-            statement.setBoolean(4, user.isAdmin());
+                statement.setString(1, user.getUsername());
+                statement.setString(2, user.getEmail());
+                statement.setString(3, user.getFullName());
+                statement.setBoolean(4, user.isAdmin());
             
-            int affectedRows = statement.executeUpdate();
-            if (affectedRows == 0) {
-                throw new SQLException("Creating user failed, no rows affected.");
-            }
+                int affectedRows = statement.executeUpdate();
+                if (affectedRows == 0) {
+                    throw new SQLException("Creating user failed, no rows affected.");
+                }
             
-            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    user.setId(generatedKeys.getInt(1));
-                } else {
-                    throw new SQLException("Creating user failed, no ID obtained.");
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        user.setId(generatedKeys.getInt(1));
+                    } else {
+                        throw new SQLException("Creating user failed, no ID obtained.");
+                    }
                 }
-            }
             
-            return user;
-        }
+                invalidateCache();
+                return user;
+            }
+        });
     }
     
     /**
@@ -78,7 +89,22 @@ public class UserDAO {
      * @throws SQLException if database operation fails
      */
     public Optional<User> findById(int id) throws SQLException {
-        try (Connection connection = DatabaseConnection.getConnection();
+        long generation;
+        synchronized (cacheLock) {
+            User cached = usersById.get(id);
+            if (cached != null) {
+                return Optional.of(copyOf(cached));
+            }
+            generation = cacheGeneration;
+        }
+        
+        Optional<User> user = loadById(id);
+        user.ifPresent(loaded -> cacheUser(loaded, generation));
+        return user;
+    }
+    
+    private Optional<User> loadById(int id) throws SQLException {
+        try (Connection connection = DatabaseConnection.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_USER_BY_ID)) {
             
             statement.setInt(1, id);
@@ -99,7 +125,22 @@ public class UserDAO {
      * @throws SQLException if database operation fails
      */
     public Optional<User> findByUsername(String username) throws SQLException {
-        try (Connection connection = DatabaseConnection.getConnection();
+        long generation;
+        synchronized (cacheLock) {
+            User cached = usersByUsername.get(username);
+            if (cached != null) {
+                return Optional.of(copyOf(cached));
+            }
+            generation = cacheGeneration;
+        }
+        
+        Optional<User> user = loadByUsername(username);
+        user.ifPresent(loaded -> cacheUser(loaded, generation));
+        return user;
+    }
+    
+    private Optional<User> loadByUsername(String username) throws SQLException {
+        try (Connection connection = DatabaseConnection.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_USER_BY_USERNAME)) {
             
             statement.setString(1, username);
@@ -120,7 +161,7 @@ public class UserDAO {
      * @throws SQLException if database operation fails
      */
     public Optional<User> findByEmail(String email) throws SQLException {
-        try (Connection connection = DatabaseConnection.getConnection();
+        try (Connection connection = DatabaseConnection.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_USER_BY_EMAIL)) {
             
             statement.setString(1, email);
@@ -142,7 +183,7 @@ public class UserDAO {
     public List<User> findAll() throws SQLException {
         List<User> users = new ArrayList<>();
         
-        try (Connection connection = DatabaseConnection.getConnection();
+        try (Connection connection = DatabaseConnection.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_ALL_USERS);
              ResultSet resultSet = statement.executeQuery()) {
             
@@ -161,17 +202,22 @@ public class UserDAO {
      * @throws SQLException if database operation fails
      */
     public boolean updateUser(User user) throws SQLException {
-        try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement statement = connection.prepareStatement(UPDATE_USER)) {
+        return DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_USER)) {
             
-            statement.setString(1, user.getUsername());
-            statement.setString(2, user.getEmail());
-            statement.setString(3, user.getFullName());
-            statement.setBoolean(4, user.isAdmin());
-            statement.setInt(5, user.getId());
+                statement.setString(1, user.getUsername());
+                statement.setString(2, user.getEmail());
+                statement.setString(3, user.getFullName());
+                statement.setBoolean(4, user.isAdmin());
+                statement.setInt(5, user.getId());
             
-            return statement.executeUpdate() > 0;
-        }
+                boolean updated = statement.executeUpdate() > 0;
+                invalidateCache();
+                // Task rows carry the assignee and creator usernames
+                TaskDAO.fireAllTasksWritten();
+                return updated;
+            }
+        });
     }
     
     /**
@@ -181,12 +227,16 @@ public class UserDAO {
      * @throws SQLException if database operation fails
      */
     public boolean deleteUser(int id) throws SQLException {
-        try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement statement = connection.prepareStatement(DELETE_USER)) {
+        return DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(DELETE_USER)) {
             
-            statement.setInt(1, id);
-            return statement.executeUpdate() > 0;
-        }
+                statement.setInt(1, id);
+                boolean deleted = statement.executeUpdate() > 0;
+                invalidateCache();
+                TaskDAO.fireAllTasksWritten();
+                return deleted;
+            }
+        });
     }
     
     /**
@@ -215,7 +265,7 @@ public class UserDAO {
      * @throws SQLException if database operation fails
      */
     public int getTotalUsers() throws SQLException {
-        try (Connection connection = DatabaseConnection.getConnection();
+        try (Connection connection = DatabaseConnection.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(COUNT_USERS);
              ResultSet resultSet = statement.executeQuery()) {
             
@@ -226,6 +276,34 @@ public class UserDAO {
         return 0;
     }
     
+    /**
+     * Drop every cached user. UserDAO writes call this themselves; call it
+     * after changing the users table by other means.
+     */
+    public static void invalidateCache() {
+        synchronized (cacheLock) {
+            cacheGeneration++;
+            usersById.clear();
+            usersByUsername.clear();
+        }
+    }
+    
+    private static void cacheUser(User user, long loadedAtGeneration) {
+        synchronized (cacheLock) {
+            if (loadedAtGeneration == cacheGeneration) {
+                User cached = copyOf(user);
+                usersById.put(cached.getId(), cached);
+                usersByUsername.put(cached.getUsername(), cached);
+            }
+        }
+    }
+    
+    // Callers may modify what they get (e.g. before updateUser), so the cache hands out copies
+    private static User copyOf(User user) {
+        return new User(user.getId(), user.getUsername(), user.getEmail(), user.getFullName(),
+                        user.isAdmin(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+    
     /**
      * Map ResultSet to User object
      * @param resultSet ResultSet
@@ -240,113 +318,12 @@ public class UserDAO {
         user.setFullName(resultSet.getString("full_name"));
         user.setAdmin(resultSet.getBoolean("is_admin"));
         
-        // Handle timestamps more safely for SQLite with comprehensive parsing
-        try {
-            // Try multiple approaches to get the timestamp
-            LocalDateTime createdDateTime = null;
-            
-            // Method 1: Try getTimestamp first
-            try {
-                Timestamp createdTimestamp = resultSet.getTimestamp("created_at");
-                if (createdTimestamp != null) {
-                    createdDateTime = createdTimestamp.toLocalDateTime();
-                }
-            } catch (SQLException e) {
-                // Method 1 failed, try other methods
-            }
-            
-            // Method 2: Try getString and parse manually if Method 1 failed
-            if (createdDateTime == null) {
-                String createdAtStr = resultSet.getString("created_at");
-                if (createdAtStr != null && !createdAtStr.trim().isEmpty()) {
-                    createdDateTime = parseTimestampString(createdAtStr);
-                }
-            }
-            
-            // Set the result or use current time as fallback
-            user.setCreatedAt(createdDateTime != null ? createdDateTime : LocalDateTime.now());
-            
-        } catch (Exception e) {
-            // Ultimate fallback
-            user.setCreatedAt(LocalDateTime.now());
-        }
-        
-        try {
-            // Try multiple approaches to get the timestamp
-            LocalDateTime updatedDateTime = null;
-            
-            // Method 1: Try getTimestamp first
-            try {
-                Timestamp updatedTimestamp = resultSet.getTimestamp("updated_at");
-                if (updatedTimestamp != null) {
-                    updatedDateTime = updatedTimestamp.toLocalDateTime();
-                }
-            } catch (SQLException e) {
-                // Method 1 failed, try other methods
-            }
-            
-            // Method 2: Try getString and parse manually if Method 1 failed
-            if (updatedDateTime == null) {
-                String updatedAtStr = resultSet.getString("updated_at");
-                if (updatedAtStr != null && !updatedAtStr.trim().isEmpty()) {
-                    updatedDateTime = parseTimestampString(updatedAtStr);
-                }
-            }
-            
-            // Set the result or use current time as fallback
-            user.setUpdatedAt(updatedDateTime != null ? updatedDateTime : LocalDateTime.now());
-            
-        } catch (Exception e) {
-            // Ultimate fallback
-            user.setUpdatedAt(LocalDateTime.now());
-        }
+        // Timestamps are CURRENT_TIMESTAMP text; default to now when missing
+        LocalDateTime createdAt = SqliteTimestamps.read(resultSet, "created_at");
+        user.setCreatedAt(createdAt != null ? createdAt : LocalDateTime.now());
+        LocalDateTime updatedAt = SqliteTimestamps.read(resultSet, "updated_at");
+        user.setUpdatedAt(updatedAt != null ? updatedAt : LocalDateTime.now());
         
         return user;
     }
-    
-    /**
-     * Helper method to parse timestamp strings in various formats
-     */
-    private LocalDateTime parseTimestampString(String timestampStr) {
-        if (timestampStr == null || timestampStr.trim().isEmpty()) {
-            return null;
-        }
-        
-        String cleanStr = timestampStr.trim();
-        
-        try {
-            // Format 1: "YYYY-MM-DD HH:MM:SS" (SQLite default)
-            if (cleanStr.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}")) {
-                return LocalDateTime.parse(cleanStr.replace(" ", "T"));
-            }
-            
-            // Format 2: "YYYY-MM-DD HH:MM:SS.SSS" (with milliseconds)
-            if (cleanStr.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d{3}")) {
-                return LocalDateTime.parse(cleanStr.replace(" ", "T"));
-            }
-            
-            // Format 3: ISO format "YYYY-MM-DDTHH:MM:SS"
-            if (cleanStr.matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}")) {
-                return LocalDateTime.parse(cleanStr);
-            }
-            
-            // Format 4: Try direct Timestamp.valueOf parsing
-            try {
-                Timestamp ts = Timestamp.valueOf(cleanStr);
-                return ts.toLocalDateTime();
-            } catch (Exception e) {
-                // Continue to next method
-            }
-            
-            // Format 5: Try parsing without time part, use start of day
-            if (cleanStr.matches("\\d{4}-\\d{2}-\\d{2}")) {
-                return LocalDate.parse(cleanStr).atStartOfDay();
-            }
-            
-        } catch (Exception e) {
-            // All parsing methods failed
-        }
-        
-        return null;
-    }
 }
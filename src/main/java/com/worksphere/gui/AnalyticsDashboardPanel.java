@@ -1,7 +1,10 @@
 package com.worksphere.gui;
 
+import com.worksphere.model.Priority;
+import com.worksphere.model.TrendGranularity;
 import com.worksphere.model.User;
 import com.worksphere.service.AnalyticsService;
+import com.worksphere.service.AnalyticsService.AnalyticsSnapshot;
 import com.worksphere.service.AnalyticsService.ProductivityMetrics;
 import com.worksphere.service.AnalyticsService.CompletionTrendData;
 import com.worksphere.service.AnalyticsService.CategoryPerformance;
@@ -20,7 +23,9 @@ import javax.swing.border.TitledBorder;
 import java.awt.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Analytics Dashboard Panel for displaying productivity metrics and charts
@@ -28,6 +33,7 @@ import java.util.List;
 public class AnalyticsDashboardPanel extends JPanel {
     
     private AnalyticsService analyticsService;
+    private BackgroundLoader loader;
     private User currentUser;
     
     // Date range controls
@@ -48,6 +54,7 @@ public class AnalyticsDashboardPanel extends JPanel {
     
     public AnalyticsDashboardPanel(User currentUser) {
         this.analyticsService = new AnalyticsService();
+        this.loader = new BackgroundLoader(this);
         this.currentUser = currentUser;
         
         initializeComponents();
@@ -99,6 +106,8 @@ public class AnalyticsDashboardPanel extends JPanel {
         topPanel.add(dateRangeCombo);
         topPanel.add(Box.createHorizontalStrut(10));
         topPanel.add(refreshButton);
+        topPanel.add(Box.createHorizontalStrut(10));
+        topPanel.add(loader.createProgressBar());
         
         // Metrics panel
         JPanel metricsPanel = createMetricsPanel();
@@ -196,6 +205,7 @@ public class AnalyticsDashboardPanel extends JPanel {
     
     private ChartPanel createPriorityDistributionChart() {
         DefaultPieDataset<String> dataset = new DefaultPieDataset<>();
+        dataset.setValue("Urgent", 0);
         dataset.setValue("High", 0);
         dataset.setValue("Medium", 0);
         dataset.setValue("Low", 0);
@@ -212,6 +222,7 @@ public class AnalyticsDashboardPanel extends JPanel {
         @SuppressWarnings("unchecked")
         PiePlot<String> plot = (PiePlot<String>) chart.getPlot();
         plot.setBackgroundPaint(Color.WHITE);
+        plot.setSectionPaint("Urgent", new Color(156, 39, 176));
         plot.setSectionPaint("High", new Color(244, 67, 54));
         plot.setSectionPaint("Medium", new Color(255, 152, 0));
         plot.setSectionPaint("Low", new Color(76, 175, 80));
@@ -242,26 +253,57 @@ public class AnalyticsDashboardPanel extends JPanel {
     }
     
     private void loadAnalytics() {
-        try {
-            LocalDate[] dateRange = getSelectedDateRange();
-            LocalDate startDate = dateRange[0];
-            LocalDate endDate = dateRange[1];
-            
-            // Load productivity metrics
-            ProductivityMetrics metrics = analyticsService.getProductivityMetrics(startDate, endDate);
-            updateMetricsDisplay(metrics);
-            
-            // Load and update charts
-            updateCompletionTrendChart(startDate, endDate);
-            updatePriorityDistributionChart(startDate, endDate);
-            updateCategoryPerformanceChart();
+        LocalDate[] dateRange = getSelectedDateRange();
+        LocalDate startDate = dateRange[0];
+        LocalDate endDate = dateRange[1];
+        
+        // Long ranges are bucketed so the chart stays readable
+        long days = ChronoUnit.DAYS.between(startDate, endDate);
+        TrendGranularity granularity = days > 180 ? TrendGranularity.MONTHLY :
+            days > 31 ? TrendGranularity.WEEKLY : TrendGranularity.DAILY;
+        
+        // Changing the range while a load runs supersedes it
+        loader.submit("analytics", "Loading analytics...", progress -> {
+            AnalyticsData data = new AnalyticsData();
+            // Productivity metrics and priority distribution come from one scan
+            data.snapshot = analyticsService.getAnalyticsSnapshot(startDate, endDate);
+            progress.report("Loading completion trend...");
+            try {
+                data.trend = analyticsService.getCompletionTrend(startDate, endDate, granularity);
+            } catch (Exception e) {
+                System.err.println("Error updating completion trend chart: " + e.getMessage());
+            }
+            progress.report("Loading category performance...");
+            try {
+                data.categories = analyticsService.getCategoryPerformance();
+            } catch (Exception e) {
+                System.err.println("Error updating category performance chart: " + e.getMessage());
+            }
+            return data;
+        }, data -> {
+            updateMetricsDisplay(data.snapshot.productivityMetrics);
             
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                "Error loading analytics: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
-        }
+            // Update charts; one that failed to load keeps its previous data
+            if (data.trend != null) {
+                updateCompletionTrendChart(granularity, data.trend);
+            }
+            updatePriorityDistributionChart(data.snapshot.priorityDistribution);
+            if (data.categories != null) {
+                updateCategoryPerformanceChart(data.categories);
+            }
+        }, e -> JOptionPane.showMessageDialog(this,
+            "Error loading analytics: " + e.getMessage(),
+            "Error",
+            JOptionPane.ERROR_MESSAGE));
+    }
+    
+    /**
+     * Everything one analytics refresh loads in the background
+     */
+    private static class AnalyticsData {
+        AnalyticsSnapshot snapshot;
+        List<CompletionTrendData> trend;
+        List<CategoryPerformance> categories;
     }
     
     private void updateMetricsDisplay(ProductivityMetrics metrics) {
@@ -272,12 +314,11 @@ public class AnalyticsDashboardPanel extends JPanel {
         efficiencyLabel.setText(String.format("%.1f%%", metrics.timeEfficiency * 100));
     }
     
-    private void updateCompletionTrendChart(LocalDate startDate, LocalDate endDate) {
+    private void updateCompletionTrendChart(TrendGranularity granularity, List<CompletionTrendData> trendData) {
         try {
-            List<CompletionTrendData> trendData = analyticsService.getCompletionTrend(startDate, endDate);
-            
             DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM/dd");
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(
+                granularity == TrendGranularity.MONTHLY ? "MMM yy" : "MM/dd");
             
             for (CompletionTrendData data : trendData) {
                 String dateStr = data.date.format(formatter);
@@ -287,22 +328,20 @@ public class AnalyticsDashboardPanel extends JPanel {
             // Update chart
             JFreeChart chart = completionTrendChart.getChart();
             chart.getCategoryPlot().setDataset(dataset);
+            completionTrendChart.setBorder(BorderFactory.createTitledBorder(
+                granularity.getDisplayName() + " Completions"));
             
         } catch (Exception e) {
             System.err.println("Error updating completion trend chart: " + e.getMessage());
         }
     }
     
-    private void updatePriorityDistributionChart(LocalDate startDate, LocalDate endDate) {
+    private void updatePriorityDistributionChart(Map<Priority, Integer> distribution) {
         try {
-            // Get task counts by priority (simplified implementation)
-            ProductivityMetrics metrics = analyticsService.getProductivityMetrics(startDate, endDate);
-            
             DefaultPieDataset<String> dataset = new DefaultPieDataset<>();
-            // This is a simplified version - you could extend AnalyticsService to get priority distribution
-            dataset.setValue("High", metrics.totalTasks * 0.3);
-            dataset.setValue("Medium", metrics.totalTasks * 0.5);
-            dataset.setValue("Low", metrics.totalTasks * 0.2);
+            for (Priority priority : new Priority[] {Priority.URGENT, Priority.HIGH, Priority.MEDIUM, Priority.LOW}) {
+                dataset.setValue(priority.getDisplayName(), distribution.getOrDefault(priority, 0));
+            }
             
             // Update chart
             JFreeChart chart = priorityDistributionChart.getChart();
@@ -315,10 +354,8 @@ public class AnalyticsDashboardPanel extends JPanel {
         }
     }
     
-    private void updateCategoryPerformanceChart() {
+    private void updateCategoryPerformanceChart(List<CategoryPerformance> categoryData) {
         try {
-            List<CategoryPerformance> categoryData = analyticsService.getCategoryPerformance();
-            
             DefaultCategoryDataset dataset = new DefaultCategoryDataset();
             
             for (CategoryPerformance category : categoryData) {
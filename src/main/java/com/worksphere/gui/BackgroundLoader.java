@@ -0,0 +1,208 @@
+package com.worksphere.gui;
+
+import com.worksphere.util.DatabaseConnection;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs a panel's database work on worker threads and hands the results back
+ * on the event dispatch thread, so a slow query never freezes the UI.
+ *
+ * Loads are keyed: submitting under a key supersedes the load still running
+ * under it, whose result is dropped. Superseded workers are cancelled but not
+ * interrupted, since interrupting a thread inside JDBC can close a pooled
+ * connection; long loads can check Progress.isCancelled to stop early.
+ * While any load runs, the owner shows a wait cursor and the attached
+ * progress bar, if any, shows the latest progress message.
+ *
+ * All methods except those of Progress must be called on the event dispatch
+ * thread.
+ */
+public class BackgroundLoader {
+
+    private static ExecutorService executor;
+    private static final AtomicInteger sequences = new AtomicInteger();
+
+    /**
+     * Database work to run off the event dispatch thread
+     */
+    public interface Load<T> {
+        T load(Progress progress) throws Exception;
+    }
+
+    /**
+     * Handle a running load uses to report what it is doing
+     */
+    public interface Progress {
+        void report(String message);
+
+        /**
+         * @return true if a newer load superseded this one and its result will be dropped
+         */
+        boolean isCancelled();
+    }
+
+    private final JComponent owner;
+    private final Map<String, Worker<?>> running = new HashMap<>();
+    private JProgressBar progressBar;
+
+    /**
+     * @param owner Component that shows the wait cursor, or null for loads
+     *              too frequent and short to announce
+     */
+    public BackgroundLoader(JComponent owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Worker threads shared by every loader, sized by gui.loaderThreads so
+     * background loads cannot take every connection in the read pool
+     */
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            AtomicInteger count = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(DatabaseConnection.getIntProperty("gui.loaderThreads", 2), r -> {
+                Thread thread = new Thread(r, "worksphere-loader-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Create the bar that shows this loader's progress; it is hidden while
+     * nothing is loading
+     */
+    public JProgressBar createProgressBar() {
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setStringPainted(true);
+        progressBar.setPreferredSize(new Dimension(160, 18));
+        progressBar.setVisible(!running.isEmpty());
+        return progressBar;
+    }
+
+    /**
+     * Run a load on a worker thread, superseding any load running under the same key
+     * @param key Name of the kind of load, e.g. "tasks"
+     * @param message Progress text shown until the load reports its own
+     * @param load Work to run off the event dispatch thread
+     * @param onSuccess Receives the result on the event dispatch thread
+     * @param onFailure Receives the exception on the event dispatch thread
+     */
+    public <T> void submit(String key, String message, Load<T> load,
+                           Consumer<? super T> onSuccess, Consumer<Exception> onFailure) {
+        Worker<?> previous = running.get(key);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        Worker<T> worker = new Worker<>(key, load, onSuccess, onFailure);
+        worker.message = message;
+        running.put(key, worker);
+        updateIndicator();
+        getExecutor().execute(worker);
+    }
+
+    /**
+     * Drop the result of the load running under a key, if any
+     */
+    public void cancel(String key) {
+        Worker<?> worker = running.remove(key);
+        if (worker != null) {
+            worker.cancel(false);
+            updateIndicator();
+        }
+    }
+
+    public boolean isLoading() {
+        return !running.isEmpty();
+    }
+
+    private void updateIndicator() {
+        boolean loading = !running.isEmpty();
+        if (owner != null) {
+            owner.setCursor(loading ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : null);
+        }
+        if (progressBar != null) {
+            progressBar.setVisible(loading);
+            if (loading) {
+                // Show the most recently started load
+                Worker<?> latest = null;
+                for (Worker<?> worker : running.values()) {
+                    if (latest == null || worker.sequence > latest.sequence) {
+                        latest = worker;
+                    }
+                }
+                progressBar.setString(latest.message);
+            }
+        }
+    }
+
+    private class Worker<T> extends SwingWorker<T, String> implements Progress {
+        private final String key;
+        private final Load<T> load;
+        private final Consumer<? super T> onSuccess;
+        private final Consumer<Exception> onFailure;
+        private final int sequence = sequences.incrementAndGet();
+        private String message;
+
+        Worker(String key, Load<T> load, Consumer<? super T> onSuccess, Consumer<Exception> onFailure) {
+            this.key = key;
+            this.load = load;
+            this.onSuccess = onSuccess;
+            this.onFailure = onFailure;
+        }
+
+        @Override
+        protected T doInBackground() throws Exception {
+            if (isCancelled()) {
+                return null;
+            }
+            return load.load(this);
+        }
+
+        @Override
+        public void report(String message) {
+            publish(message);
+        }
+
+        @Override
+        protected void process(List<String> messages) {
+            if (running.get(key) == this) {
+                message = messages.get(messages.size() - 1);
+                updateIndicator();
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (running.get(key) != this) {
+                // Superseded or cancelled; the result belongs to nobody
+                return;
+            }
+            running.remove(key);
+            updateIndicator();
+            try {
+                onSuccess.accept(get());
+            } catch (CancellationException e) {
+                // Cancelled before it started
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                onFailure.accept(cause instanceof Exception ? (Exception) cause : new RuntimeException(cause));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package com.worksphere.gui;
 
 import com.worksphere.model.Priority;
-import com.worksphere.model.Task;
+import com.worksphere.model.TaskChangeSet;
+import com.worksphere.model.TaskSnapshot;
 import com.worksphere.model.TaskStatus;
+import com.worksphere.model.TaskSummary;
 import com.worksphere.model.User;
 import com.worksphere.service.TaskService;
+import com.worksphere.service.TaskStore;
 import com.worksphere.service.UserService;
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -19,6 +23,8 @@ public class DashboardPanel extends JPanel {
     
     private TaskService taskService;
     private UserService userService;
+    private TaskStore taskStore;
+    private BackgroundLoader loader;
     private User currentUser;
     
     // References to stat cards for updates
@@ -38,12 +44,20 @@ public class DashboardPanel extends JPanel {
     
     private JPanel recentTasksContainer;
     
+    // Tasks behind the current figures and the store epoch they were read at
+    private List<TaskSummary> tasks = new ArrayList<>();
+    private long renderedEpoch = -1;
+    
     public DashboardPanel(TaskService taskService, UserService userService, User currentUser) {
         this.taskService = taskService;
         this.userService = userService;
+        this.taskStore = TaskStore.getShared();
+        this.loader = new BackgroundLoader(this);
         this.currentUser = currentUser;
         
         initializePanel();
+        // The store publishes on whichever thread refreshed it
+        taskStore.addListener((snapshot, changes) -> SwingUtilities.invokeLater(() -> snapshotChanged(snapshot, changes)));
         refresh();
     }
     
@@ -84,8 +98,13 @@ public class DashboardPanel extends JPanel {
         refreshButton.setBorder(BorderFactory.createEmptyBorder(8, 16, 8, 16));
         refreshButton.addActionListener(e -> refresh());
         
+        JPanel actions = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        actions.setOpaque(false);
+        actions.add(loader.createProgressBar());
+        actions.add(refreshButton);
+        
         header.add(titleLabel, BorderLayout.WEST);
-        header.add(refreshButton, BorderLayout.EAST);
+        header.add(actions, BorderLayout.EAST);
         
         return header;
     }
@@ -278,29 +297,67 @@ public class DashboardPanel extends JPanel {
     }
     
     public void refresh() {
-        try {
-            if (currentUser == null) {
-                // If no user is logged in yet, don't try to load data
-                return;
+        if (currentUser == null) {
+            // If no user is logged in yet, don't try to load data
+            return;
+        }
+        
+        // Publishing a new epoch re-renders through snapshotChanged
+        loader.submit("tasks", "Loading tasks...", progress -> taskStore.refresh(), snapshot -> {
+            if (snapshot.getEpoch() > renderedEpoch) {
+                snapshotChanged(snapshot, null);
             }
-            
-            List<Task> tasks = currentUser.isAdmin() ? 
-                taskService.getAllTasks() : 
-                taskService.getTasksForUser(currentUser.getId());
-                
-            updateStatCards(tasks);
-            updateCharts(tasks);
-            updateRecentTasks(tasks);
-            
-        } catch (Exception e) {
+        }, e -> {
+            renderedEpoch = -1;
             JOptionPane.showMessageDialog(this,
                 "Error refreshing dashboard: " + e.getMessage(),
                 "Error",
                 JOptionPane.ERROR_MESSAGE);
+        });
+    }
+    
+    private void snapshotChanged(TaskSnapshot snapshot, TaskChangeSet<TaskSummary> changes) {
+        if (currentUser == null || snapshot.getEpoch() <= renderedEpoch) {
+            return;
+        }
+        
+        if (changes != null && renderedEpoch == snapshot.getEpoch() - 1) {
+            applyTaskChanges(snapshot, changes);
+        } else {
+            tasks = new ArrayList<>(snapshot.getSummariesVisibleTo(currentUser));
+        }
+        renderedEpoch = snapshot.getEpoch();
+            
+        updateStatCards(tasks);
+        updateCharts(tasks);
+        updateRecentTasks(tasks);
+    }
+    
+    private void applyTaskChanges(TaskSnapshot snapshot, TaskChangeSet<TaskSummary> changes) {
+        for (TaskSummary task : changes.getChanged()) {
+            int index = tasks.indexOf(task);
+            if (!TaskSnapshot.isVisibleTo(task, currentUser)) {
+                // Reassigned away from this user
+                if (index >= 0) {
+                    tasks.remove(index);
+                }
+                continue;
+            }
+            if (index >= 0) {
+                tasks.set(index, task);
+                continue;
+            }
+            // Keep the newest-first order of a full load
+            int position = 0;
+            while (position < tasks.size() && tasks.get(position).getId() > task.getId()) {
+                position++;
+            }
+            tasks.add(position, task);
         }
+        tasks.removeIf(task -> changes.getRemovedIds().contains(task.getId()));
     }
     
-    private void updateStatCards(List<Task> tasks) {
+    private void updateStatCards(List<TaskSummary> tasks) {
         totalTasksValue.setText(String.valueOf(tasks.size()));
         
         long completed = tasks.stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).count();
@@ -320,7 +377,7 @@ public class DashboardPanel extends JPanel {
         overdueValue.setText(String.valueOf(overdue));
     }
     
-    private void updateCharts(List<Task> tasks) {
+    private void updateCharts(List<TaskSummary> tasks) {
         int total = tasks.size();
         if (total == 0) {
             todoProgress.setValue(0);
@@ -377,7 +434,7 @@ public class DashboardPanel extends JPanel {
         urgentPriorityProgress.setString(urgentPercent + "% (" + urgentCount + ")");
     }
     
-    private void updateRecentTasks(List<Task> tasks) {
+    private void updateRecentTasks(List<TaskSummary> tasks) {
         recentTasksContainer.removeAll();
         
         tasks.stream()
@@ -392,7 +449,7 @@ public class DashboardPanel extends JPanel {
         recentTasksContainer.repaint();
     }
     
-    private JPanel createTaskItem(Task task) {
+    private JPanel createTaskItem(TaskSummary task) {
         JPanel item = new JPanel(new BorderLayout());
         item.setBackground(new Color(248, 249, 250));
         item.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
@@ -426,6 +483,7 @@ public class DashboardPanel extends JPanel {
     
     public void setCurrentUser(User currentUser) {
         this.currentUser = currentUser;
+        this.renderedEpoch = -1;
         refresh(); // Refresh the dashboard with the new user
     }
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package com.worksphere.gui;
 
-import com.worksphere.model.Task;
+import com.worksphere.model.TaskChangeSet;
+import com.worksphere.model.TaskSnapshot;
 import com.worksphere.model.TaskStatus;
+import com.worksphere.model.TaskSummary;
 import com.worksphere.model.User;
 import com.worksphere.service.TaskService;
+import com.worksphere.service.TaskStore;
 import com.worksphere.service.UserService;
 
 import javax.swing.*;
@@ -11,8 +14,9 @@ import java.awt.*;
 import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.Transferable;
 import java.awt.datatransfer.UnsupportedFlavorException;
-import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Kanban Board Panel for drag-and-drop task management
@@ -21,6 +25,8 @@ public class KanbanBoardPanel extends JPanel {
     
     private TaskService taskService;
     private UserService userService;
+    private TaskStore taskStore;
+    private BackgroundLoader loader;
     private User currentUser;
     
     // Kanban columns
@@ -29,21 +35,31 @@ public class KanbanBoardPanel extends JPanel {
     private JPanel completedColumn;
     
     // Task lists for each column
-    private DefaultListModel<Task> todoModel;
-    private DefaultListModel<Task> inProgressModel;
-    private DefaultListModel<Task> completedModel;
+    private DefaultListModel<TaskSummary> todoModel;
+    private DefaultListModel<TaskSummary> inProgressModel;
+    private DefaultListModel<TaskSummary> completedModel;
     
-    private JList<Task> todoList;
-    private JList<Task> inProgressList;
-    private JList<Task> completedList;
+    private JList<TaskSummary> todoList;
+    private JList<TaskSummary> inProgressList;
+    private JList<TaskSummary> completedList;
+    
+    // Store epoch of the cards shown, for incremental refreshes
+    private long renderedEpoch = -1;
+    
+    // Beyond this many moved cards a column is refilled in one go instead of card by card
+    private static final int MAX_DIFF_EDITS = 500;
     
     public KanbanBoardPanel(TaskService taskService, UserService userService, User currentUser) {
         this.taskService = taskService;
         this.userService = userService;
+        this.taskStore = TaskStore.getShared();
+        this.loader = new BackgroundLoader(this);
         this.currentUser = currentUser;
         
         initializePanel();
         setupDragAndDrop();
+        // The store publishes on whichever thread refreshed it
+        taskStore.addListener((snapshot, changes) -> SwingUtilities.invokeLater(() -> snapshotChanged(snapshot, changes)));
         refresh();
     }
     
@@ -69,8 +85,13 @@ public class KanbanBoardPanel extends JPanel {
         refreshButton.setFocusPainted(false);
         refreshButton.addActionListener(e -> refresh());
         
+        JPanel actions = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        actions.setOpaque(false);
+        actions.add(loader.createProgressBar());
+        actions.add(refreshButton);
+        
         headerPanel.add(titleLabel, BorderLayout.WEST);
-        headerPanel.add(refreshButton, BorderLayout.EAST);
+        headerPanel.add(actions, BorderLayout.EAST);
         
         add(headerPanel, BorderLayout.NORTH);
         
@@ -129,8 +150,8 @@ public class KanbanBoardPanel extends JPanel {
         completedColumn.add(new JScrollPane(completedList), BorderLayout.CENTER);
     }
     
-    private JList<Task> createTaskList(DefaultListModel<Task> model) {
-        JList<Task> list = new JList<>(model);
+    private JList<TaskSummary> createTaskList(DefaultListModel<TaskSummary> model) {
+        JList<TaskSummary> list = new JList<>(model);
         list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         list.setCellRenderer(new TaskCardRenderer());
         list.setBackground(new Color(248, 249, 250));
@@ -146,8 +167,7 @@ public class KanbanBoardPanel extends JPanel {
                 if (evt.getClickCount() == 2) {
                     int index = list.locationToIndex(evt.getPoint());
                     if (index >= 0) {
-                        Task selectedTask = model.getElementAt(index);
-                        openTaskEditDialog(selectedTask);
+                        openTaskEditDialog(model.getElementAt(index));
                     }
                 }
             }
@@ -159,54 +179,173 @@ public class KanbanBoardPanel extends JPanel {
     
     public void setCurrentUser(User user) {
         this.currentUser = user;
+        this.renderedEpoch = -1;
         refresh();
     }
     
     public void refresh() {
-        SwingUtilities.invokeLater(() -> {
-            try {
-                // Clear all models
-                todoModel.clear();
-                inProgressModel.clear();
-                completedModel.clear();
-                
-                // Get tasks based on user role
-                List<Task> tasks;
-                if (currentUser != null && currentUser.isAdmin()) {
-                    tasks = taskService.getAllTasks();
-                } else if (currentUser != null) {
-                    tasks = taskService.getTasksForUser(currentUser.getId());
-                } else {
-                    tasks = List.of(); // Empty list if no user
+        // Publishing a new epoch redraws the cards through snapshotChanged
+        loader.submit("tasks", "Loading tasks...", progress -> taskStore.refresh(), snapshot -> {
+            if (snapshot.getEpoch() > renderedEpoch) {
+                snapshotChanged(snapshot, null);
+            }
+        }, e -> {
+            renderedEpoch = -1;
+            JOptionPane.showMessageDialog(this,
+                "Error loading tasks: " + e.getMessage(),
+                "Database Error",
+                JOptionPane.ERROR_MESSAGE);
+        });
+    }
+    
+    private void snapshotChanged(TaskSnapshot snapshot, TaskChangeSet<TaskSummary> changes) {
+        if (snapshot.getEpoch() <= renderedEpoch) {
+            return;
+        }
+        if (changes != null && currentUser != null && renderedEpoch == snapshot.getEpoch() - 1) {
+            applyTaskChanges(snapshot, changes);
+            renderedEpoch = snapshot.getEpoch();
+            return;
+        }
+        
+        // Get tasks based on user role
+        List<TaskSummary> tasks = currentUser != null ? snapshot.getSummariesVisibleTo(currentUser) : List.of();
+        
+        // Sort tasks into appropriate columns
+        List<TaskSummary> todoCards = new ArrayList<>();
+        List<TaskSummary> inProgressCards = new ArrayList<>();
+        List<TaskSummary> completedCards = new ArrayList<>();
+        for (TaskSummary task : tasks) {
+            switch (task.getStatus()) {
+                case TODO:
+                    todoCards.add(task);
+                    break;
+                case IN_PROGRESS:
+                    inProgressCards.add(task);
+                    break;
+                case COMPLETED:
+                    completedCards.add(task);
+                    break;
+            }
+        }
+        
+        // Patch the columns rather than clearing them, so selection and scroll position survive
+        patchColumn(todoModel, todoCards);
+        patchColumn(inProgressModel, inProgressCards);
+        patchColumn(completedModel, completedCards);
+        renderedEpoch = currentUser != null ? snapshot.getEpoch() : -1;
+        
+        // Update column headers with counts
+        updateColumnHeaders();
+    }
+    
+    /**
+     * Move, update, add and remove only the cards that changed in the new epoch
+     */
+    private void applyTaskChanges(TaskSnapshot snapshot, TaskChangeSet<TaskSummary> changes) {
+        for (TaskSummary task : changes.getChanged()) {
+            if (!TaskSnapshot.isVisibleTo(task, currentUser)) {
+                // Reassigned away from this user
+                removeCard(task.getId());
+                continue;
+            }
+            DefaultListModel<TaskSummary> target = getModelForStatus(task.getStatus());
+            int index = target.indexOf(task);
+            if (index >= 0) {
+                if (!isSameCard(target.get(index), task)) {
+                    target.set(index, task);
                 }
-                
-                // Sort tasks into appropriate columns
-                for (Task task : tasks) {
-                    switch (task.getStatus()) {
-                        case TODO:
-                            todoModel.addElement(task);
-                            break;
-                        case IN_PROGRESS:
-                            inProgressModel.addElement(task);
-                            break;
-                        case COMPLETED:
-                            completedModel.addElement(task);
-                            break;
-                    }
+                continue;
+            }
+            removeCard(task.getId());
+            // Keep the newest-first order of a full load
+            int position = 0;
+            while (position < target.getSize() && target.get(position).getId() > task.getId()) {
+                position++;
+            }
+            target.add(position, task);
+        }
+        for (int taskId : changes.getRemovedIds()) {
+            removeCard(taskId);
+        }
+        
+        updateColumnHeaders();
+    }
+    
+    /**
+     * Turn a column into the given cards with the fewest removals and
+     * insertions; cards that stayed are only repainted if the task changed
+     */
+    private void patchColumn(DefaultListModel<TaskSummary> model, List<TaskSummary> cards) {
+        int[] shownIds = new int[model.getSize()];
+        for (int i = 0; i < shownIds.length; i++) {
+            shownIds[i] = model.get(i).getId();
+        }
+        int[] cardIds = cards.stream().mapToInt(TaskSummary::getId).toArray();
+        
+        ListDiff diff = ListDiff.of(shownIds, cardIds);
+        if (diff.getEditCount() > MAX_DIFF_EDITS) {
+            model.clear();
+            model.addAll(cards);
+            return;
+        }
+        diff.apply(new ListDiff.Edits() {
+            @Override
+            public void remove(int index) {
+                model.remove(index);
+            }
+            
+            @Override
+            public void insert(int index) {
+                model.add(index, cards.get(index));
+            }
+            
+            @Override
+            public void keep(int index, int oldIndex) {
+                if (!isSameCard(model.get(index), cards.get(index))) {
+                    model.set(index, cards.get(index));
                 }
-                
-                // Update column headers with counts
-                updateColumnHeaders();
-                
-            } catch (SQLException e) {
-                JOptionPane.showMessageDialog(this,
-                    "Error loading tasks: " + e.getMessage(),
-                    "Database Error",
-                    JOptionPane.ERROR_MESSAGE);
             }
         });
     }
     
+    /**
+     * Same row version and same displayed values. updated_at only has second
+     * precision, and renaming a user does not touch it, so the fields the
+     * card shows are compared as well.
+     */
+    private static boolean isSameCard(TaskSummary shown, TaskSummary card) {
+        return shown == card
+            || (Objects.equals(shown.getUpdatedAt(), card.getUpdatedAt())
+                && Objects.equals(shown.getTitle(), card.getTitle())
+                && shown.getStatus() == card.getStatus()
+                && shown.getPriority() == card.getPriority()
+                && Objects.equals(shown.getDueDate(), card.getDueDate())
+                && Objects.equals(shown.getAssignedToName(), card.getAssignedToName()));
+    }
+    
+    private void removeCard(int taskId) {
+        for (DefaultListModel<TaskSummary> model : List.of(todoModel, inProgressModel, completedModel)) {
+            for (int i = 0; i < model.getSize(); i++) {
+                if (model.get(i).getId() == taskId) {
+                    model.remove(i);
+                    return;
+                }
+            }
+        }
+    }
+    
+    private DefaultListModel<TaskSummary> getModelForStatus(TaskStatus status) {
+        switch (status) {
+            case IN_PROGRESS:
+                return inProgressModel;
+            case COMPLETED:
+                return completedModel;
+            default:
+                return todoModel;
+        }
+    }
+    
     private void updateColumnHeaders() {
         ((JLabel) todoColumn.getComponent(0)).setText(
             String.format("📝 To-Do (%d)", todoModel.getSize()));
@@ -225,8 +364,8 @@ public class KanbanBoardPanel extends JPanel {
         public Component getListCellRendererComponent(JList<?> list, Object value,
                 int index, boolean isSelected, boolean cellHasFocus) {
             
-            if (value instanceof Task) {
-                Task task = (Task) value;
+            if (value instanceof TaskSummary) {
+                TaskSummary task = (TaskSummary) value;
                 
                 JPanel card = new JPanel();
                 card.setLayout(new BorderLayout());
@@ -256,7 +395,7 @@ public class KanbanBoardPanel extends JPanel {
                 // Assignee (if not current user)
                 if (task.getAssignedTo() != null && 
                     (currentUser == null || !task.getAssignedTo().equals(currentUser.getId()))) {
-                    JLabel assigneeLabel = new JLabel("👤 " + getAssigneeName(task.getAssignedTo()));
+                    JLabel assigneeLabel = new JLabel("👤 " + (task.getAssignedToName() != null ? task.getAssignedToName() : "Unknown"));
                     assigneeLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
                     assigneeLabel.setForeground(new Color(108, 117, 125));
                     
@@ -277,15 +416,6 @@ public class KanbanBoardPanel extends JPanel {
             
             return super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
         }
-        
-        private String getAssigneeName(Integer userId) {
-            try {
-                User user = userService.getUserById(userId);
-                return user != null ? user.getFullName() : "Unknown";
-            } catch (Exception e) {
-                return "Unknown";
-            }
-        }
     }
     
     /**
@@ -302,8 +432,8 @@ public class KanbanBoardPanel extends JPanel {
         protected Transferable createTransferable(JComponent c) {
             if (c instanceof JList<?>) {
                 @SuppressWarnings("unchecked")
-                JList<Task> list = (JList<Task>) c;
-                Task task = list.getSelectedValue();
+                JList<TaskSummary> list = (JList<TaskSummary>) c;
+                TaskSummary task = list.getSelectedValue();
                 if (task != null) {
                     return new TaskTransferable(task);
                 }
@@ -323,22 +453,24 @@ public class KanbanBoardPanel extends JPanel {
             }
             
             try {
-                Task task = (Task) support.getTransferable().getTransferData(TaskTransferable.TASK_FLAVOR);
+                TaskSummary task = (TaskSummary) support.getTransferable().getTransferData(TaskTransferable.TASK_FLAVOR);
                 Component component = support.getComponent();
                 if (component instanceof JList<?>) {
                     @SuppressWarnings("unchecked")
-                    JList<Task> targetList = (JList<Task>) component;
+                    JList<TaskSummary> targetList = (JList<TaskSummary>) component;
                 
                     // Determine new status based on target list
                     TaskStatus newStatus = getStatusForList(targetList);
                     
                     if (newStatus != null && !newStatus.equals(task.getStatus())) {
-                        // Update task status
-                        task.setStatus(newStatus);
-                        taskService.updateTask(task);
-                        
-                        // Refresh the board
-                        refresh();
+                        // Update task status, then refresh the board
+                        loader.submit("move-" + task.getId(), "Moving task...",
+                            progress -> taskService.updateTaskStatus(task.getId(), newStatus),
+                            updated -> refresh(),
+                            e -> JOptionPane.showMessageDialog(KanbanBoardPanel.this,
+                                "Error moving task: " + e.getMessage(),
+                                "Update Error",
+                                JOptionPane.ERROR_MESSAGE));
                         
                         return true;
                     }
@@ -354,7 +486,7 @@ public class KanbanBoardPanel extends JPanel {
             return false;
         }
         
-        private TaskStatus getStatusForList(JList<Task> list) {
+        private TaskStatus getStatusForList(JList<TaskSummary> list) {
             if (list == todoList) {
                 return TaskStatus.TODO;
             } else if (list == inProgressList) {
@@ -367,14 +499,14 @@ public class KanbanBoardPanel extends JPanel {
     }
     
     /**
-     * Transferable implementation for Task objects
+     * Transferable implementation for task summaries
      */
     private static class TaskTransferable implements Transferable {
         
-        public static final DataFlavor TASK_FLAVOR = new DataFlavor(Task.class, "Task");
-        private final Task task;
+        public static final DataFlavor TASK_FLAVOR = new DataFlavor(TaskSummary.class, "Task");
+        private final TaskSummary task;
         
-        public TaskTransferable(Task task) {
+        public TaskTransferable(TaskSummary task) {
             this.task = task;
         }
         
@@ -397,8 +529,14 @@ public class KanbanBoardPanel extends JPanel {
         }
     }
     
-    private void openTaskEditDialog(Task task) {
-        try {
+    private void openTaskEditDialog(TaskSummary summary) {
+        // The board only holds summaries; load the full task for editing
+        loader.submit("open", "Opening task...", progress -> taskService.getTaskById(summary.getId()), task -> {
+            if (task == null) {
+                refresh(); // Deleted elsewhere since the board was loaded
+                return;
+            }
+            
             TaskDialog dialog = new TaskDialog(
                 (JFrame) SwingUtilities.getWindowAncestor(this),
                 taskService,
@@ -410,11 +548,9 @@ public class KanbanBoardPanel extends JPanel {
             if (dialog.isTaskSaved()) {
                 refresh(); // Refresh the kanban board after editing
             }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                "Error opening task dialog: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        }, e -> JOptionPane.showMessageDialog(this,
+            "Error opening task dialog: " + e.getMessage(),
+            "Error",
+            JOptionPane.ERROR_MESSAGE));
     }
 }
\ No newline at end of file
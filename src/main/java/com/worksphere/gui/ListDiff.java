@@ -0,0 +1,148 @@
+package com.worksphere.gui;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Edit script that turns one ordered list of task ids into another, so a
+ * view can patch its model with precise remove, insert and update events
+ * instead of clearing it. Selection, scroll position and renderer state
+ * then survive a reload.
+ *
+ * Ids kept in place form the longest run whose relative order is unchanged;
+ * every other old id is removed and every other new id inserted, so a task
+ * that moved becomes one removal and one insertion.
+ */
+final class ListDiff {
+
+    /**
+     * Receives the edit script. Removals come first, highest index first, in
+     * old-list positions; insertions and kept entries follow in new-list
+     * order, at their final positions.
+     */
+    interface Edits {
+        void remove(int index);
+
+        void insert(int index);
+
+        /**
+         * The entry at index was in the old list at oldIndex; compare the two
+         * versions to decide whether it needs repainting
+         */
+        void keep(int index, int oldIndex);
+    }
+
+    private final boolean[] keptOld;
+    private final boolean[] keptNew;
+    private final int[] oldIndexOf;
+    private final int editCount;
+
+    private ListDiff(int[] oldIds, int[] newIds) {
+        keptOld = new boolean[oldIds.length];
+        keptNew = new boolean[newIds.length];
+        oldIndexOf = new int[newIds.length];
+
+        // A typical reload adds, edits or deletes a few tasks, so the common
+        // head and tail settle most of a long list without hashing it
+        int head = 0;
+        while (head < oldIds.length && head < newIds.length && oldIds[head] == newIds[head]) {
+            keep(head, head);
+            head++;
+        }
+        int tail = 0;
+        while (tail < oldIds.length - head && tail < newIds.length - head
+               && oldIds[oldIds.length - 1 - tail] == newIds[newIds.length - 1 - tail]) {
+            keep(oldIds.length - 1 - tail, newIds.length - 1 - tail);
+            tail++;
+        }
+        int kept = head + tail;
+
+        Map<Integer, Integer> newIndexById = new HashMap<>();
+        for (int i = head; i < newIds.length - tail; i++) {
+            newIndexById.put(newIds[i], i);
+        }
+
+        // New positions of the surviving old ids in between, in old order
+        int[] survivors = new int[oldIds.length - head - tail];
+        int[] survivorNewIndex = new int[survivors.length];
+        int count = 0;
+        for (int i = head; i < oldIds.length - tail; i++) {
+            Integer newIndex = newIndexById.get(oldIds[i]);
+            if (newIndex != null) {
+                survivors[count] = i;
+                survivorNewIndex[count] = newIndex;
+                count++;
+            }
+        }
+        for (int survivor : longestIncreasingRun(survivorNewIndex, count)) {
+            keep(survivors[survivor], survivorNewIndex[survivor]);
+            kept++;
+        }
+        editCount = (oldIds.length - kept) + (newIds.length - kept);
+    }
+
+    private void keep(int oldIndex, int newIndex) {
+        keptOld[oldIndex] = true;
+        keptNew[newIndex] = true;
+        oldIndexOf[newIndex] = oldIndex;
+    }
+
+    static ListDiff of(int[] oldIds, int[] newIds) {
+        return new ListDiff(oldIds, newIds);
+    }
+
+    /**
+     * @return number of removals plus insertions; kept entries are not counted
+     */
+    int getEditCount() {
+        return editCount;
+    }
+
+    void apply(Edits edits) {
+        for (int i = keptOld.length - 1; i >= 0; i--) {
+            if (!keptOld[i]) {
+                edits.remove(i);
+            }
+        }
+        for (int i = 0; i < keptNew.length; i++) {
+            if (keptNew[i]) {
+                edits.keep(i, oldIndexOf[i]);
+            } else {
+                edits.insert(i);
+            }
+        }
+    }
+
+    /**
+     * Positions of a longest strictly increasing subsequence of values[0..count),
+     * ascending (patience sorting, n log n)
+     */
+    private static int[] longestIncreasingRun(int[] values, int count) {
+        int[] tails = new int[count];
+        int[] previous = new int[count];
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[tails[middle]] < values[i]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        int[] run = new int[length];
+        for (int i = length - 1, at = length > 0 ? tails[length - 1] : -1; i >= 0; i--, at = previous[at]) {
+            run[i] = at;
+        }
+        return run;
+    }
+}
@@ -1,11 +1,13 @@
 package com.worksphere.gui;
 
 import com.worksphere.model.Task;
+import com.worksphere.model.TaskSummary;
 import com.worksphere.service.PomodoroService;
 import com.worksphere.service.PomodoroService.PomodoroEvent;
 import com.worksphere.service.PomodoroService.PomodoroListener;
 import com.worksphere.service.PomodoroService.PomodoroState;
 import com.worksphere.service.TaskService;
+import com.worksphere.service.TaskStore;
 import com.worksphere.service.SearchService;
 
 import javax.swing.*;
@@ -21,6 +23,8 @@ public class PomodoroTimerPanel extends JPanel implements PomodoroListener {
     
     private PomodoroService pomodoroService;
     private TaskService taskService;
+    private TaskStore taskStore;
+    private BackgroundLoader loader;
     private SearchService searchService;
     private Task currentTask;
     
@@ -37,7 +41,7 @@ public class PomodoroTimerPanel extends JPanel implements PomodoroListener {
     
     // Task selection components
     private JTextField taskSearchField;
-    private JComboBox<Task> taskComboBox;
+    private JComboBox<TaskSummary> taskComboBox;
     private JButton selectTaskButton;
     
     // Custom timer components
@@ -48,6 +52,8 @@ public class PomodoroTimerPanel extends JPanel implements PomodoroListener {
     public PomodoroTimerPanel() {
         this.pomodoroService = new PomodoroService();
         this.taskService = new TaskService();
+        this.taskStore = TaskStore.getShared();
+        this.loader = new BackgroundLoader(this);
         this.searchService = new SearchService();
         this.pomodoroService.addListener(this);
         
@@ -223,13 +229,26 @@ public class PomodoroTimerPanel extends JPanel implements PomodoroListener {
         });
         
         selectTaskButton.addActionListener(e -> {
-            Task selectedTask = (Task) taskComboBox.getSelectedItem();
-            setCurrentTask(selectedTask);
-            if (selectedTask != null) {
+            TaskSummary selectedSummary = (TaskSummary) taskComboBox.getSelectedItem();
+            if (selectedSummary == null) {
+                setCurrentTask(null);
+                return;
+            }
+            try {
+                // The picker only holds summaries; the session needs the full task
+                Task selectedTask = taskService.getTaskById(selectedSummary.getId());
+                setCurrentTask(selectedTask);
+                if (selectedTask != null) {
+                    JOptionPane.showMessageDialog(this, 
+                        "Task selected: " + selectedTask.getTitle(), 
+                        "Task Selected", 
+                        JOptionPane.INFORMATION_MESSAGE);
+                }
+            } catch (Exception ex) {
                 JOptionPane.showMessageDialog(this, 
-                    "Task selected: " + selectedTask.getTitle(), 
-                    "Task Selected", 
-                    JOptionPane.INFORMATION_MESSAGE);
+                    "Error loading task: " + ex.getMessage(), 
+                    "Error", 
+                    JOptionPane.ERROR_MESSAGE);
             }
         });
         
@@ -454,51 +473,34 @@ public class PomodoroTimerPanel extends JPanel implements PomodoroListener {
      * Load all tasks into the combo box
      */
     private void loadTasks() {
-        try {
-            List<Task> tasks = taskService.getAllTasks();
-            taskComboBox.removeAllItems();
-            taskComboBox.addItem(null); // "No task" option
-            for (Task task : tasks) {
-                taskComboBox.addItem(task);
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, 
+        loader.submit("tasks", "Loading tasks...", progress -> taskStore.getSnapshot().getSummaries(), this::showTasks,
+            e -> JOptionPane.showMessageDialog(this, 
                 "Error loading tasks: " + e.getMessage(), 
                 "Error", 
-                JOptionPane.ERROR_MESSAGE);
-        }
+                JOptionPane.ERROR_MESSAGE));
     }
     
     /**
-     * Search and filter tasks based on search text
+     * Search and filter tasks based on search text; each keystroke supersedes
+     * the search still running for the previous one
      */
     private void searchTasks(String searchText) {
-        try {
-            List<Task> filteredTasks;
-            
+        loader.submit("tasks", "Searching tasks...", progress -> {
             if (searchText == null || searchText.trim().isEmpty()) {
-                filteredTasks = taskService.getAllTasks();
-            } else {
-                // Simple text-based filtering
-                String query = searchText.trim().toLowerCase();
-                filteredTasks = taskService.getAllTasks().stream()
-                    .filter(task -> 
-                        task.getTitle().toLowerCase().contains(query) ||
-                        (task.getDescription() != null && task.getDescription().toLowerCase().contains(query))
-                    )
-                    .collect(java.util.stream.Collectors.toList());
-            }
-            
-            taskComboBox.removeAllItems();
-            taskComboBox.addItem(null); // "No task" option
-            for (Task task : filteredTasks) {
-                taskComboBox.addItem(task);
+                return taskStore.getSnapshot().getSummaries();
             }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, 
-                "Error searching tasks: " + e.getMessage(), 
-                "Error", 
-                JOptionPane.ERROR_MESSAGE);
+            return searchService.searchTaskSummaries(searchText);
+        }, this::showTasks, e -> JOptionPane.showMessageDialog(this, 
+            "Error searching tasks: " + e.getMessage(), 
+            "Error", 
+            JOptionPane.ERROR_MESSAGE));
+    }
+    
+    private void showTasks(List<TaskSummary> tasks) {
+        taskComboBox.removeAllItems();
+        taskComboBox.addItem(null); // "No task" option
+        for (TaskSummary task : tasks) {
+            taskComboBox.addItem(task);
         }
     }
     
@@ -516,8 +518,8 @@ public class PomodoroTimerPanel extends JPanel implements PomodoroListener {
                 setText("No task selected");
                 setForeground(Color.GRAY);
                 setFont(getFont().deriveFont(Font.ITALIC));
-            } else if (value instanceof Task) {
-                Task task = (Task) value;
+            } else if (value instanceof TaskSummary) {
+                TaskSummary task = (TaskSummary) value;
                 setText("ID " + task.getId() + ": " + task.getTitle());
                 setForeground(Color.BLACK);
                 setFont(getFont().deriveFont(Font.PLAIN));
@@ -5,19 +5,23 @@ import com.worksphere.model.Task;
 import com.worksphere.model.TaskStatus;
 import com.worksphere.model.User;
 import com.worksphere.model.Category;
+import com.worksphere.model.TaskFilterCriteria;
+import com.worksphere.model.TaskChangeSet;
+import com.worksphere.model.TaskSnapshot;
+import com.worksphere.model.TaskSortField;
+import com.worksphere.model.TaskSummary;
+import com.worksphere.service.ExportService;
 import com.worksphere.service.TaskService;
+import com.worksphere.service.TaskStore;
 import com.worksphere.service.UserService;
-import com.worksphere.service.SearchService;
 import com.worksphere.dao.CategoryDAO;
 
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableCellEditor;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableColumn;
-import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -25,8 +29,9 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -36,13 +41,14 @@ public class TaskListPanel extends JPanel {
     
     private TaskService taskService;
     private UserService userService;
-    private SearchService searchService;
+    private TaskStore taskStore;
+    private BackgroundLoader loader;
     private CategoryDAO categoryDAO;
     private User currentUser;
     private WorkSphereGUI mainFrame;
     
     private JTable taskTable;
-    private DefaultTableModel tableModel;
+    private TaskTableModel tableModel;
     private JComboBox<TaskStatus> statusFilter;
     private JComboBox<Priority> priorityFilter;
     private JComboBox<String> userFilter;
@@ -50,20 +56,40 @@ public class TaskListPanel extends JPanel {
     private JTextField tagFilter;
     private JTextField searchField;
     
+    private final Map<String, Integer> userIdsByName = new HashMap<>();
+    
+    // Store epoch the cached rows were last invalidated for
+    private long renderedEpoch = -1;
+    // True while this panel refreshes the store; it reloads the ids itself afterwards
+    private boolean refreshing;
+    private TaskFilterCriteria currentCriteria = new TaskFilterCriteria();
+    private TaskSortField sortField = TaskSortField.CREATED_AT;
+    private boolean sortAscending = false;
+    
     private static final String[] COLUMN_NAMES = {
         "ID", "Title", "Priority", "Status", "Category", "Tags", "Due Date", "Time Est.", "Time Used", "Assigned To", "Actions"
     };
     
+    // Database order behind each column header; null for columns that cannot be sorted
+    private static final TaskSortField[] SORT_FIELDS = {
+        TaskSortField.ID, TaskSortField.TITLE, TaskSortField.PRIORITY, TaskSortField.STATUS, TaskSortField.CATEGORY,
+        null, TaskSortField.DUE_DATE, TaskSortField.ESTIMATED_MINUTES, TaskSortField.ACTUAL_MINUTES,
+        TaskSortField.ASSIGNEE, null
+    };
+    
     public TaskListPanel(TaskService taskService, UserService userService, User currentUser, WorkSphereGUI mainFrame) {
         this.taskService = taskService;
         this.userService = userService;
-        this.searchService = new SearchService();
+        this.taskStore = TaskStore.getShared();
+        this.loader = new BackgroundLoader(this);
         this.categoryDAO = new CategoryDAO();
         this.currentUser = currentUser;
         this.mainFrame = mainFrame;
         
         initializePanel();
         setupLayout();
+        // The store publishes on whichever thread refreshed it
+        taskStore.addListener((snapshot, changes) -> SwingUtilities.invokeLater(() -> snapshotChanged(snapshot, changes)));
         loadTasks();
     }
     
@@ -234,6 +260,7 @@ public class TaskListPanel extends JPanel {
             List<User> users = userService.getAllUsers();
             for (User user : users) {
                 userFilter.addItem(user.getUsername());
+                userIdsByName.put(user.getUsername(), user.getId());
             }
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, 
@@ -244,15 +271,11 @@ public class TaskListPanel extends JPanel {
     }
     
     private void createTaskTable() {
-        tableModel = new DefaultTableModel(COLUMN_NAMES, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return column == 10; // Only Actions column is editable
-            }
-        };
+        // Rows are fetched a page at a time as they scroll into view; only Actions is editable
+        tableModel = new TaskTableModel(taskService, COLUMN_NAMES, this::toRow, 10);
         
         taskTable = new JTable(tableModel);
-        taskTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        taskTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         taskTable.setRowHeight(45); // Reduced since no text wrapping
         taskTable.setShowGrid(true);
         taskTable.setGridColor(new Color(230, 230, 230));
@@ -261,20 +284,14 @@ public class TaskListPanel extends JPanel {
         taskTable.setSelectionForeground(Color.BLACK);
         taskTable.setFont(new Font("Segoe UI", Font.PLAIN, 15)); // Increased font size
         
-        // Enable table sorting
-        taskTable.setAutoCreateRowSorter(true);
-        
-        // Fix ID column to use numeric sorting
-        TableRowSorter<DefaultTableModel> sorter = (TableRowSorter<DefaultTableModel>) taskTable.getRowSorter();
-        sorter.setComparator(0, new Comparator<Object>() {
+        // Sort in the database by clicking a column header; only loaded rows could be sorted in memory
+        taskTable.getTableHeader().setReorderingAllowed(false);
+        taskTable.getTableHeader().addMouseListener(new MouseAdapter() {
             @Override
-            public int compare(Object o1, Object o2) {
-                try {
-                    Integer id1 = Integer.parseInt(o1.toString());
-                    Integer id2 = Integer.parseInt(o2.toString());
-                    return id1.compareTo(id2);
-                } catch (NumberFormatException e) {
-                    return o1.toString().compareTo(o2.toString());
+            public void mouseClicked(MouseEvent e) {
+                int column = taskTable.columnAtPoint(e.getPoint());
+                if (column >= 0) {
+                    sortBy(taskTable.convertColumnIndexToModel(column));
                 }
             }
         });
@@ -361,15 +378,20 @@ public class TaskListPanel extends JPanel {
         editTaskBtn.addActionListener(e -> editSelectedTask());
         
         JButton deleteTaskBtn = createStyledButton("Delete", new Color(220, 53, 69), Color.WHITE);
-        deleteTaskBtn.setToolTipText("Delete selected task");
+        deleteTaskBtn.setToolTipText("Delete selected task(s)");
         deleteTaskBtn.addActionListener(e -> deleteSelectedTask());
         
+        JButton bulkActionsBtn = createStyledButton("Bulk Actions", new Color(23, 162, 184), Color.WHITE);
+        bulkActionsBtn.setToolTipText("Change status, assignee or category of all selected tasks");
+        JPopupMenu bulkMenu = createBulkActionsMenu();
+        bulkActionsBtn.addActionListener(e -> bulkMenu.show(bulkActionsBtn, 0, bulkActionsBtn.getHeight()));
+        
         JButton refreshBtn = createStyledButton("Refresh", new Color(108, 117, 125), Color.WHITE);
         refreshBtn.setToolTipText("Refresh task list");
         refreshBtn.addActionListener(e -> refresh());
         
         JButton exportBtn = createStyledButton("Export", new Color(111, 66, 193), Color.WHITE);
-        exportBtn.setToolTipText("Export task statistics");
+        exportBtn.setToolTipText("Export all tasks to CSV and show statistics");
         exportBtn.addActionListener(e -> exportTasks());
         
         // Add separator
@@ -380,10 +402,13 @@ public class TaskListPanel extends JPanel {
         buttonPanel.add(Box.createHorizontalStrut(5));
         buttonPanel.add(editTaskBtn);
         buttonPanel.add(deleteTaskBtn);
+        buttonPanel.add(bulkActionsBtn);
         buttonPanel.add(separator);
         buttonPanel.add(Box.createHorizontalStrut(5));
         buttonPanel.add(refreshBtn);
         buttonPanel.add(exportBtn);
+        buttonPanel.add(Box.createHorizontalStrut(5));
+        buttonPanel.add(loader.createProgressBar());
         
         return buttonPanel;
     }
@@ -427,7 +452,7 @@ public class TaskListPanel extends JPanel {
         }
         
         try {
-            int taskId = (Integer) tableModel.getValueAt(selectedRow, 0);
+            int taskId = tableModel.getTaskIdAt(selectedRow);
             Task task = taskService.getTaskById(taskId);
             
             if (task != null) {
@@ -452,6 +477,11 @@ public class TaskListPanel extends JPanel {
     }
     
     private void deleteSelectedTask() {
+        if (taskTable.getSelectedRowCount() > 1) {
+            deleteSelectedTasks();
+            return;
+        }
+        
         int selectedRow = taskTable.getSelectedRow();
         if (selectedRow == -1) {
             JOptionPane.showMessageDialog(this,
@@ -462,8 +492,8 @@ public class TaskListPanel extends JPanel {
         }
         
         try {
-            int taskId = (Integer) tableModel.getValueAt(selectedRow, 0);
-            String taskTitle = (String) tableModel.getValueAt(selectedRow, 1);
+            int taskId = tableModel.getTaskIdAt(selectedRow);
+            String taskTitle = getTaskTitle(selectedRow);
             
             int option = JOptionPane.showConfirmDialog(this,
                 "Are you sure you want to delete task:\n'" + taskTitle + "'?",
@@ -487,101 +517,315 @@ public class TaskListPanel extends JPanel {
         }
     }
     
+    private JPopupMenu createBulkActionsMenu() {
+        JPopupMenu menu = new JPopupMenu();
+        
+        for (TaskStatus status : TaskStatus.values()) {
+            JMenuItem item = new JMenuItem("Mark as " + status.getDisplayName());
+            item.addActionListener(e -> runBulkAction("updated", ids -> taskService.updateStatusForTasks(ids, status)));
+            menu.add(item);
+        }
+        menu.addSeparator();
+        
+        JMenuItem assignItem = new JMenuItem("Assign To...");
+        assignItem.addActionListener(e -> assignSelectedTasks());
+        menu.add(assignItem);
+        
+        JMenuItem categoryItem = new JMenuItem("Set Category...");
+        categoryItem.addActionListener(e -> categorizeSelectedTasks());
+        menu.add(categoryItem);
+        menu.addSeparator();
+        
+        JMenuItem deleteItem = new JMenuItem("Delete Selected");
+        deleteItem.addActionListener(e -> deleteSelectedTasks());
+        menu.add(deleteItem);
+        
+        return menu;
+    }
+    
+    /**
+     * IDs of all selected rows; ids are known even for rows not loaded yet
+     */
+    private List<Integer> getSelectedTaskIds() {
+        List<Integer> ids = new ArrayList<>();
+        for (int row : taskTable.getSelectedRows()) {
+            ids.add(tableModel.getTaskIdAt(row));
+        }
+        return ids;
+    }
+    
+    /**
+     * Title of a row, looked up if its page has not been loaded yet
+     */
+    private String getTaskTitle(int row) throws Exception {
+        Object[] values = tableModel.getLoadedRow(row);
+        if (values != null && values[1] != null) {
+            return (String) values[1];
+        }
+        Task task = taskService.getTaskById(tableModel.getTaskIdAt(row));
+        return task != null ? task.getTitle() : "N/A";
+    }
+    
+    private interface BulkAction {
+        int apply(List<Integer> taskIds) throws Exception;
+    }
+    
+    private boolean hasSelection() {
+        if (taskTable.getSelectedRowCount() > 0) {
+            return true;
+        }
+        JOptionPane.showMessageDialog(this,
+            "Please select one or more tasks.",
+            "No Task Selected",
+            JOptionPane.INFORMATION_MESSAGE);
+        return false;
+    }
+    
+    private void runBulkAction(String verb, BulkAction action) {
+        if (!hasSelection()) {
+            return;
+        }
+        
+        List<Integer> taskIds = getSelectedTaskIds();
+        loader.submit("bulk", "Updating " + taskIds.size() + " task(s)...", progress -> action.apply(taskIds), count -> {
+            refresh();
+            JOptionPane.showMessageDialog(this,
+                count + " task(s) " + verb + ".",
+                "Success",
+                JOptionPane.INFORMATION_MESSAGE);
+        }, e -> JOptionPane.showMessageDialog(this,
+            "Error updating tasks: " + e.getMessage(),
+            "Error",
+            JOptionPane.ERROR_MESSAGE));
+    }
+    
+    private void assignSelectedTasks() {
+        if (!hasSelection()) {
+            return;
+        }
+        
+        try {
+            List<User> users = userService.getAllUsers();
+            List<Object> choices = new ArrayList<>();
+            choices.add("Unassigned");
+            choices.addAll(users.stream().map(User::getUsername).collect(Collectors.toList()));
+            
+            Object choice = JOptionPane.showInputDialog(this,
+                "Assign " + taskTable.getSelectedRowCount() + " task(s) to:",
+                "Assign Tasks",
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                choices.toArray(),
+                choices.get(0));
+            if (choice == null) {
+                return;
+            }
+            
+            Integer userId = users.stream()
+                .filter(u -> u.getUsername().equals(choice))
+                .map(User::getId)
+                .findFirst()
+                .orElse(null);
+            runBulkAction("assigned", ids -> taskService.assignTasks(ids, userId));
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this,
+                "Error loading users: " + e.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    
+    private void categorizeSelectedTasks() {
+        if (!hasSelection()) {
+            return;
+        }
+        
+        try {
+            List<Category> categories = categoryDAO.getAllCategories();
+            List<Object> choices = new ArrayList<>();
+            choices.add("None");
+            choices.addAll(categories);
+            
+            Object choice = JOptionPane.showInputDialog(this,
+                "Set category of " + taskTable.getSelectedRowCount() + " task(s) to:",
+                "Set Category",
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                choices.toArray(),
+                choices.get(0));
+            if (choice == null) {
+                return;
+            }
+            
+            Integer categoryId = choice instanceof Category ? ((Category) choice).getId() : null;
+            runBulkAction("updated", ids -> taskService.setCategoryForTasks(ids, categoryId));
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this,
+                "Error loading categories: " + e.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    
+    private void deleteSelectedTasks() {
+        if (!hasSelection()) {
+            return;
+        }
+        
+        int option = JOptionPane.showConfirmDialog(this,
+            "Are you sure you want to delete " + taskTable.getSelectedRowCount() + " selected task(s)?",
+            "Confirm Delete",
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.WARNING_MESSAGE);
+        if (option == JOptionPane.YES_OPTION) {
+            runBulkAction("deleted", taskService::deleteTasks);
+        }
+    }
+    
     private void loadTasks() {
-        SwingUtilities.invokeLater(() -> {
-            try {
-                List<Task> tasks;
-                if (currentUser != null && currentUser.isAdmin()) {
-                    // Admin can see all tasks
-                    tasks = taskService.getAllTasks();
-                } else if (currentUser != null) {
-                    // Regular users can only see tasks assigned to them or created by them
-                    tasks = taskService.getTasksForUser(currentUser.getId());
-                } else {
-                    // No user logged in
-                    tasks = new ArrayList<>();
-                }
-                updateTableData(tasks != null ? tasks : new ArrayList<>());
-            } catch (Exception e) {
+        if (currentUser == null) {
+            // No user logged in
+            loader.cancel("refresh");
+            refreshing = false;
+            reloadTaskIds();
+            return;
+        }
+        
+        // Publishing a new epoch invalidates the changed rows through snapshotChanged
+        refreshing = true;
+        loader.submit("refresh", "Refreshing tasks...", progress -> taskStore.refresh(), snapshot -> {
+            refreshing = false;
+            // Rows are fetched after this point, so none can predate the snapshot
+            renderedEpoch = Math.max(renderedEpoch, snapshot.getEpoch());
+            reloadTaskIds();
+        }, e -> {
+            refreshing = false;
+            System.err.println("Error loading tasks: " + e.getMessage());
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(this,
+                "Error loading tasks. Please try refreshing.\nError: " + e.getMessage(),
+                "Loading Error",
+                JOptionPane.WARNING_MESSAGE);
+        });
+    }
+    
+    /**
+     * Read the ids of the tasks matching the current filters in the current
+     * order; their rows are fetched by the table model as they are shown
+     */
+    private void reloadTaskIds() {
+        if (currentUser == null) {
+            loader.cancel("tasks");
+            tableModel.setTaskIds(new int[0]);
+            return;
+        }
+        
+        TaskFilterCriteria criteria = currentCriteria;
+        // Admins see all tasks, other users those assigned to or created by them
+        Integer visibleTo = currentUser.isAdmin() ? null : currentUser.getId();
+        TaskSortField field = sortField;
+        boolean ascending = sortAscending;
+        // Filter and sort changes supersede the load still running
+        loader.submit("tasks", "Loading tasks...",
+            progress -> taskService.getTaskIds(criteria, visibleTo, field, ascending),
+            tableModel::setTaskIds, e -> {
                 System.err.println("Error loading tasks: " + e.getMessage());
-                e.printStackTrace();
                 JOptionPane.showMessageDialog(this,
                     "Error loading tasks. Please try refreshing.\nError: " + e.getMessage(),
                     "Loading Error",
                     JOptionPane.WARNING_MESSAGE);
                 // Load empty table as fallback
-                updateTableData(new ArrayList<>());
-            }
-        });
+                tableModel.setTaskIds(new int[0]);
+            });
     }
     
-    private void updateTableData(List<Task> tasks) {
-        try {
-            tableModel.setRowCount(0);
-            
-            if (tasks == null) {
-                return;
+    private void snapshotChanged(TaskSnapshot snapshot, TaskChangeSet<TaskSummary> changes) {
+        if (currentUser == null || snapshot.getEpoch() <= renderedEpoch) {
+            return;
+        }
+        if (changes != null && renderedEpoch == snapshot.getEpoch() - 1) {
+            List<Integer> changedIds = new ArrayList<>(changes.getRemovedIds());
+            for (TaskSummary task : changes.getChanged()) {
+                changedIds.add(task.getId());
             }
-            
-            for (Task task : tasks) {
-                if (task == null) continue; // Skip null tasks
-                
-                // Get category name
-                String categoryName = "None";
-                if (task.getCategoryId() > 0) {
-                    try {
-                        Category category = categoryDAO.getCategoryById(task.getCategoryId());
-                        if (category != null) {
-                            categoryName = category.getName();
-                        }
-                    } catch (Exception e) {
-                        categoryName = "Unknown";
-                    }
-                }
-                
-                // Format tags
-                String tagsStr = "";
-                if (task.getTags() != null && !task.getTags().isEmpty()) {
-                    tagsStr = String.join(", ", task.getTags());
+            tableModel.invalidate(changedIds);
+        } else {
+            tableModel.invalidateAll();
+        }
+        renderedEpoch = snapshot.getEpoch();
+        if (!refreshing) {
+            // Another panel refreshed the store; rows may have been added, removed or reordered
+            reloadTaskIds();
+        }
+    }
+    
+    private void sortBy(int column) {
+        TaskSortField field = SORT_FIELDS[column];
+        if (field == null) {
+            return;
+        }
+        sortAscending = field != sortField || !sortAscending;
+        sortField = field;
+        
+        for (int i = 0; i < COLUMN_NAMES.length; i++) {
+            String arrow = SORT_FIELDS[i] == sortField ? (sortAscending ? " \u25B2" : " \u25BC") : "";
+            taskTable.getColumnModel().getColumn(i).setHeaderValue(COLUMN_NAMES[i] + arrow);
+        }
+        taskTable.getTableHeader().repaint();
+        reloadTaskIds();
+    }
+    
+    private Object[] toRow(Task task) {
+        // Get category name
+        String categoryName = "None";
+        if (task.getCategoryId() > 0) {
+            try {
+                Category category = categoryDAO.getCategoryById(task.getCategoryId());
+                if (category != null) {
+                    categoryName = category.getName();
                 }
-                
-                // Format time estimates and usage
-                String timeEst = task.getEstimatedMinutes() > 0 ? task.getEstimatedMinutes() + "m" : "-";
-                String timeUsed = task.getActualMinutes() > 0 ? task.getActualMinutes() + "m" : "-";
-                
-                // Get assigned user name
-                String assignedToName = "Unassigned";
-                if (task.getAssignedTo() != null && task.getAssignedTo() > 0) {
-                    try {
-                        User assignedUser = userService.getUserById(task.getAssignedTo());
-                        if (assignedUser != null) {
-                            assignedToName = assignedUser.getUsername();
-                        }
-                    } catch (Exception e) {
-                        assignedToName = "Unknown";
-                    }
+            } catch (Exception e) {
+                categoryName = "Unknown";
+            }
+        }
+        
+        // Format tags
+        String tagsStr = "";
+        if (task.getTags() != null && !task.getTags().isEmpty()) {
+            tagsStr = String.join(", ", task.getTags());
+        }
+        
+        // Format time estimates and usage
+        String timeEst = task.getEstimatedMinutes() > 0 ? task.getEstimatedMinutes() + "m" : "-";
+        String timeUsed = task.getActualMinutes() > 0 ? task.getActualMinutes() + "m" : "-";
+        
+        // Get assigned user name
+        String assignedToName = "Unassigned";
+        if (task.getAssignedTo() != null && task.getAssignedTo() > 0) {
+            try {
+                User assignedUser = userService.getUserById(task.getAssignedTo());
+                if (assignedUser != null) {
+                    assignedToName = assignedUser.getUsername();
                 }
-                
-                Object[] row = {
-                    task.getId(),
-                    task.getTitle() != null ? task.getTitle() : "N/A",
-                    task.getPriority() != null ? task.getPriority() : "Unknown",
-                    task.getStatus() != null ? task.getStatus() : "Unknown",
-                    categoryName,
-                    tagsStr,
-                    task.getDueDate() != null ? 
-                        safeFormatDate(task.getDueDate()) : "",
-                    timeEst,
-                    timeUsed,
-                    assignedToName,
-                    "Actions" // Placeholder for action buttons
-                };
-                tableModel.addRow(row);
+            } catch (Exception e) {
+                assignedToName = "Unknown";
             }
-        } catch (Exception e) {
-            System.err.println("Error updating table data: " + e.getMessage());
-            e.printStackTrace();
         }
+        
+        return new Object[] {
+            task.getId(),
+            task.getTitle() != null ? task.getTitle() : "N/A",
+            task.getPriority() != null ? task.getPriority() : "Unknown",
+            task.getStatus() != null ? task.getStatus() : "Unknown",
+            categoryName,
+            tagsStr,
+            task.getDueDate() != null ? 
+                safeFormatDate(task.getDueDate()) : "",
+            timeEst,
+            timeUsed,
+            assignedToName,
+            "Actions" // Placeholder for action buttons
+        };
     }
     
     private String safeFormatDate(java.time.LocalDate date) {
@@ -609,73 +853,41 @@ public class TaskListPanel extends JPanel {
     }
     
     private void applyFilters() {
-        try {
-            TaskStatus selectedStatus = (TaskStatus) statusFilter.getSelectedItem();
-            Priority selectedPriority = (Priority) priorityFilter.getSelectedItem();
-            String selectedUser = (String) userFilter.getSelectedItem();
-            Category selectedCategory = (Category) categoryFilter.getSelectedItem();
-            String searchText = searchField.getText().trim();
-            String tagText = tagFilter.getText().trim();
-            
-            // Use SearchService for advanced filtering
-            SearchService.TaskFilterCriteria criteria = new SearchService.TaskFilterCriteria();
-            
-            if (selectedStatus != null) {
-                criteria.setStatuses(List.of(selectedStatus));
-            }
-            if (selectedPriority != null) {
-                criteria.setPriorities(List.of(selectedPriority));
-            }
-            if (selectedCategory != null) {
-                criteria.setCategoryIds(List.of(selectedCategory.getId()));
-            }
-            if (!searchText.isEmpty()) {
-                criteria.setSearchText(searchText);
-            }
-            
-            List<Task> filteredTasks;
-            if (!searchText.isEmpty()) {
-                // Use text search if search text is provided
-                filteredTasks = searchService.searchTasks(searchText);
-            } else {
-                // Get all tasks and filter
-                filteredTasks = taskService.getAllTasks();
-            }
-            
-            // Apply criteria filters
-            filteredTasks = searchService.filterTasks(criteria);
-            
-            // Apply user filter manually (since it's by username, not ID)
-            if (selectedUser != null && !selectedUser.equals("All Users")) {
-                filteredTasks = filteredTasks.stream()
-                    .filter(task -> task.getAssignedToUsername() != null && 
-                                   task.getAssignedToUsername().equals(selectedUser))
-                    .collect(Collectors.toList());
-            }
-            
-            // Apply tag filter manually 
-            if (!tagText.isEmpty()) {
-                String[] tags = tagText.split(",");
-                List<String> tagList = Arrays.stream(tags)
-                    .map(String::trim)
-                    .map(String::toLowerCase)
-                    .collect(Collectors.toList());
-                
-                filteredTasks = filteredTasks.stream()
-                    .filter(task -> task.getTags() != null && 
-                                   task.getTags().stream()
-                                       .anyMatch(tag -> tagList.contains(tag.toLowerCase())))
-                    .collect(Collectors.toList());
-            }
-                
-            updateTableData(filteredTasks);
-            
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                "Error applying filters: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
+        TaskStatus selectedStatus = (TaskStatus) statusFilter.getSelectedItem();
+        Priority selectedPriority = (Priority) priorityFilter.getSelectedItem();
+        String selectedUser = (String) userFilter.getSelectedItem();
+        Category selectedCategory = (Category) categoryFilter.getSelectedItem();
+        String searchText = searchField.getText().trim();
+        String tagText = tagFilter.getText().trim();
+        
+        // Every criterion, including assignee and tags, is evaluated in SQL
+        TaskFilterCriteria criteria = new TaskFilterCriteria();
+        
+        if (selectedStatus != null) {
+            criteria.setStatuses(List.of(selectedStatus));
+        }
+        if (selectedPriority != null) {
+            criteria.setPriorities(List.of(selectedPriority));
+        }
+        if (selectedCategory != null) {
+            criteria.setCategoryIds(List.of(selectedCategory.getId()));
         }
+        if (selectedUser != null && userIdsByName.containsKey(selectedUser)) {
+            criteria.setAssigneeIds(List.of(userIdsByName.get(selectedUser)));
+        }
+        if (!searchText.isEmpty()) {
+            criteria.setSearchText(searchText);
+        }
+        if (!tagText.isEmpty()) {
+            List<String> tagList = Arrays.stream(tagText.split(","))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .collect(Collectors.toList());
+            criteria.setTags(tagList);
+        }
+        
+        currentCriteria = criteria;
+        reloadTaskIds();
     }
     
     private void clearFilters() {
@@ -685,6 +897,7 @@ public class TaskListPanel extends JPanel {
         categoryFilter.setSelectedItem(null);
         tagFilter.setText("");
         searchField.setText("");
+        currentCriteria = new TaskFilterCriteria();
         loadTasks();
     }
     
@@ -704,7 +917,7 @@ public class TaskListPanel extends JPanel {
     
     private void editTask(int row) {
         try {
-            int taskId = (Integer) tableModel.getValueAt(row, 0);
+            int taskId = tableModel.getTaskIdAt(row);
             Task task = taskService.getTaskById(taskId);
             
             if (task != null) {
@@ -730,8 +943,8 @@ public class TaskListPanel extends JPanel {
     
     private void deleteTask(int row) {
         try {
-            int taskId = (Integer) tableModel.getValueAt(row, 0);
-            String taskTitle = (String) tableModel.getValueAt(row, 1);
+            int taskId = tableModel.getTaskIdAt(row);
+            String taskTitle = getTaskTitle(row);
             
             int option = JOptionPane.showConfirmDialog(this,
                 "Are you sure you want to delete task:\n'" + taskTitle + "'?",
@@ -757,7 +970,7 @@ public class TaskListPanel extends JPanel {
     
     private void showTaskInfo(int row) {
         try {
-            int taskId = (Integer) tableModel.getValueAt(row, 0);
+            int taskId = tableModel.getTaskIdAt(row);
             Task task = taskService.getTaskById(taskId);
             
             if (task == null) {
@@ -896,20 +1109,31 @@ public class TaskListPanel extends JPanel {
     }
     
     private void exportTasks() {
-        // Simple export to show task count and statistics
-        try {
-            List<Task> allTasks = taskService.getAllTasks();
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Export Tasks to CSV");
+        fileChooser.setSelectedFile(new java.io.File("tasks_export.csv"));
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        java.io.File file = fileChooser.getSelectedFile();
+        
+        // Rows are streamed from the database; the statistics come from the summaries already in the store
+        loader.submit("export", "Exporting tasks...", progress -> {
+            new ExportService().exportAllTasksToCSV(file.getAbsolutePath());
+            return taskStore.getSnapshot().getSummaries();
+        }, allTasks -> {
             long todoCount = allTasks.stream().filter(t -> t.getStatus() == TaskStatus.TODO).count();
             long inProgressCount = allTasks.stream().filter(t -> t.getStatus() == TaskStatus.IN_PROGRESS).count();
             long completedCount = allTasks.stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).count();
             
             String stats = String.format(
-                "Task Statistics\n\n" +
+                "Tasks exported to %s\n\n" +
                 "Total Tasks: %d\n" +
                 "📝 To-Do: %d\n" +
                 "In Progress: %d\n" +
                 "Completed: %d\n\n" +
                 "Completion Rate: %.1f%%",
+                file.getName(),
                 allTasks.size(),
                 todoCount,
                 inProgressCount,
@@ -918,28 +1142,20 @@ public class TaskListPanel extends JPanel {
             );
             
             JOptionPane.showMessageDialog(this, stats, "Task Export", JOptionPane.INFORMATION_MESSAGE);
-            
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                "Error exporting tasks: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        }, e -> JOptionPane.showMessageDialog(this,
+            "Error exporting tasks: " + e.getMessage(),
+            "Error",
+            JOptionPane.ERROR_MESSAGE));
     }
     
     public void refresh() {
-        if (searchField.getText().trim().isEmpty() && 
-            statusFilter.getSelectedItem() == null &&
-            priorityFilter.getSelectedItem() == null &&
-            userFilter.getSelectedItem().equals("All Users")) {
-            loadTasks();
-        } else {
-            applyFilters();
-        }
+        // Filters live in SQL, so a refresh keeps them
+        loadTasks();
     }
     
     public void setCurrentUser(User currentUser) {
         this.currentUser = currentUser;
+        this.renderedEpoch = -1;
         // Refresh tasks when user changes to apply role-based filtering
         loadTasks();
     }
@@ -0,0 +1,382 @@
+package com.worksphere.gui;
+
+import com.worksphere.model.Task;
+import com.worksphere.service.TaskService;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Table model over an ordered list of task ids that loads the rows
+ * themselves a page at a time, when the table first paints them.
+ *
+ * Only the ids of the whole result are held, sorted by the database; the
+ * converted rows live in a bounded LRU cache. Misses met while painting are
+ * collected and fetched together, with one page of read-ahead on each side,
+ * once the paint is over. A missing row shows its id and a placeholder
+ * until its page arrives. Queued pages the user has since scrolled far away
+ * from are skipped, so dragging the scroll bar across half a million rows
+ * only loads where it stops.
+ *
+ * A new id list is diffed against the old one and announced as row
+ * insertions and deletions, and invalidated or reloaded rows as updates of
+ * just those rows, so the table keeps its selection and scroll position.
+ *
+ * All methods must be called on the event dispatch thread.
+ */
+public class TaskTableModel extends AbstractTableModel {
+
+    public static final int PAGE_SIZE = 100;
+    public static final String LOADING = "Loading...";
+
+    private static final int CACHED_PAGES = 20;
+    // Queued pages further than this from the latest painted page are skipped
+    private static final int SKIP_DISTANCE = 3;
+    // Beyond this many inserted and deleted rows, e.g. after a re-sort, the table is redrawn as a whole
+    private static final int MAX_DIFF_EDITS = 1000;
+
+    private static final class CachedRow {
+        final Object[] values;
+        boolean stale;
+
+        CachedRow(Object[] values) {
+            this.values = values;
+        }
+    }
+
+    private final TaskService taskService;
+    private final String[] columnNames;
+    private final Function<Task, Object[]> rowMapper;
+    private final int editableColumn;
+    private final BackgroundLoader loader = new BackgroundLoader(null);
+
+    private int[] ids = new int[0];
+    private final Map<Integer, CachedRow> rows = new LinkedHashMap<Integer, CachedRow>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, CachedRow> eldest) {
+            return size() > CACHED_PAGES * PAGE_SIZE;
+        }
+    };
+    // Page number -> sequence of the load fetching it
+    private final Map<Integer, Integer> pendingPages = new HashMap<>();
+    private final Set<Integer> wantedPages = new TreeSet<>();
+    // Bumped whenever cached rows are invalidated, so pages read before that are not trusted
+    private long generation;
+    private volatile int focusPage;
+    private int loadSequence;
+
+    /**
+     * @param taskService Source of the rows
+     * @param columnNames Column headers
+     * @param rowMapper Converts a task to its row values; called on a worker thread
+     * @param editableColumn Column whose cells are editable, or -1 for none
+     */
+    public TaskTableModel(TaskService taskService, String[] columnNames,
+                          Function<Task, Object[]> rowMapper, int editableColumn) {
+        this.taskService = taskService;
+        this.columnNames = columnNames.clone();
+        this.rowMapper = rowMapper;
+        this.editableColumn = editableColumn;
+    }
+
+    /**
+     * Show a new ordered result; rows already cached for these ids are reused
+     * @param taskIds Task ids in display order
+     */
+    public void setTaskIds(int[] taskIds) {
+        int[] previous = ids;
+        ids = taskIds.clone();
+        // Pending pages were numbered against the old order
+        pendingPages.clear();
+        wantedPages.clear();
+        
+        ListDiff diff = previous.length > 0 ? ListDiff.of(previous, ids) : null;
+        if (diff == null || diff.getEditCount() > MAX_DIFF_EDITS) {
+            fireTableDataChanged();
+            return;
+        }
+        // JTable only shifts its selection and repaints on these events, so
+        // they can be fired after the model already holds the new order
+        RowEvents events = new RowEvents();
+        diff.apply(events);
+        events.flush();
+    }
+
+    /**
+     * Mark cached rows of changed tasks stale; they keep showing until their
+     * page has been reloaded
+     */
+    public void invalidate(Collection<Integer> taskIds) {
+        generation++;
+        Set<Integer> staleIds = new HashSet<>();
+        for (Integer id : taskIds) {
+            CachedRow row = rows.get(id);
+            if (row != null) {
+                row.stale = true;
+                staleIds.add(id);
+            }
+        }
+        pendingPages.clear();
+        
+        // Repaint just those rows; painting them requests their page again
+        for (int row = 0; row < ids.length && !staleIds.isEmpty(); row++) {
+            if (staleIds.remove(ids[row])) {
+                fireTableRowsUpdated(row, row);
+            }
+        }
+    }
+
+    /**
+     * Mark every cached row stale, e.g. after a full store reload
+     */
+    public void invalidateAll() {
+        generation++;
+        for (CachedRow row : rows.values()) {
+            row.stale = true;
+        }
+        pendingPages.clear();
+        fireRowsUpdated(0, ids.length - 1);
+    }
+
+    public int getTaskIdAt(int row) {
+        return ids[row];
+    }
+
+    /**
+     * @return the loaded values of a row, or null if its page has not arrived yet
+     */
+    public Object[] getLoadedRow(int row) {
+        CachedRow cached = rows.get(ids[row]);
+        return cached != null ? cached.values.clone() : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return ids.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return column == editableColumn;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int id = ids[row];
+        CachedRow cached = rows.get(id);
+        if (cached == null || cached.stale) {
+            want(row / PAGE_SIZE);
+        }
+        if (cached != null) {
+            return cached.values[column];
+        }
+        if (column == 0) {
+            return id;
+        }
+        return column == 1 ? LOADING : null;
+    }
+
+    private void want(int page) {
+        focusPage = page;
+        if (pendingPages.containsKey(page) || !wantedPages.add(page)) {
+            return;
+        }
+        if (wantedPages.size() == 1) {
+            // Fetch once the current paint has asked for everything it shows
+            SwingUtilities.invokeLater(this::fetchWanted);
+        }
+    }
+
+    private void fetchWanted() {
+        Set<Integer> pages = new TreeSet<>();
+        int lastPage = (ids.length - 1) / PAGE_SIZE;
+        for (int page : wantedPages) {
+            for (int near = Math.max(0, page - 1); near <= Math.min(lastPage, page + 1); near++) {
+                if (!pendingPages.containsKey(near) && (near == page || !isPageCached(near))) {
+                    pages.add(near);
+                }
+            }
+        }
+        wantedPages.clear();
+        if (pages.isEmpty()) {
+            return;
+        }
+        int sequence = ++loadSequence;
+        for (int page : pages) {
+            pendingPages.put(page, sequence);
+        }
+
+        Map<Integer, int[]> pageIds = new LinkedHashMap<>();
+        for (int page : pages) {
+            int from = page * PAGE_SIZE;
+            int to = Math.min(ids.length, from + PAGE_SIZE);
+            int[] chunk = new int[to - from];
+            System.arraycopy(ids, from, chunk, 0, chunk.length);
+            pageIds.put(page, chunk);
+        }
+        int[] order = ids;
+        long loadGeneration = generation;
+
+        // Unique keys: a new viewport must not drop the rows of one still on screen
+        loader.submit("rows-" + sequence, "Loading rows...", progress -> {
+            Map<Integer, Map<Integer, Object[]>> loaded = new HashMap<>();
+            for (Map.Entry<Integer, int[]> entry : pageIds.entrySet()) {
+                if (Math.abs(entry.getKey() - focusPage) > SKIP_DISTANCE) {
+                    // Scrolled away while queued
+                    continue;
+                }
+                loaded.put(entry.getKey(), loadRows(entry.getValue()));
+            }
+            return loaded;
+        }, loaded -> pagesLoaded(sequence, order, pageIds.keySet(), loaded, loadGeneration), e -> {
+            System.err.println("Error loading task rows: " + e.getMessage());
+            pendingPages.values().removeIf(owner -> owner == sequence);
+        });
+    }
+
+    private Map<Integer, Object[]> loadRows(int[] pageIds) throws Exception {
+        List<Integer> idList = new ArrayList<>(pageIds.length);
+        for (int id : pageIds) {
+            idList.add(id);
+        }
+        Map<Integer, Object[]> values = new HashMap<>();
+        for (Task task : taskService.getTasksByIds(idList)) {
+            values.put(task.getId(), rowMapper.apply(task));
+        }
+        for (int id : pageIds) {
+            // Deleted since the ids were read; cache a placeholder so it is not fetched again
+            values.computeIfAbsent(id, missing -> placeholderRow(missing));
+        }
+        return values;
+    }
+
+    private void pagesLoaded(int sequence, int[] order, Set<Integer> requested, Map<Integer, Map<Integer, Object[]>> loaded,
+                             long loadGeneration) {
+        pendingPages.values().removeIf(owner -> owner == sequence);
+        boolean sameOrder = order == ids;
+        Set<Integer> changedIds = new HashSet<>();
+        if (loadGeneration == generation) {
+            for (Map<Integer, Object[]> page : loaded.values()) {
+                for (Map.Entry<Integer, Object[]> entry : page.entrySet()) {
+                    CachedRow previous = rows.put(entry.getKey(), new CachedRow(entry.getValue()));
+                    if (previous == null || !Arrays.equals(previous.values, entry.getValue())) {
+                        changedIds.add(entry.getKey());
+                    }
+                }
+            }
+        }
+        if (!sameOrder) {
+            fireRowsUpdated(0, ids.length - 1);
+            return;
+        }
+        for (int page : requested) {
+            int from = page * PAGE_SIZE;
+            int to = Math.min(ids.length, from + PAGE_SIZE);
+            if (!loaded.containsKey(page) || loadGeneration != generation) {
+                // Skipped or outdated: repaint so a page still on screen asks again
+                fireRowsUpdated(from, to - 1);
+                continue;
+            }
+            for (int row = from; row < to; row++) {
+                if (changedIds.contains(ids[row])) {
+                    fireTableRowsUpdated(row, row);
+                }
+            }
+        }
+    }
+
+    private boolean isPageCached(int page) {
+        int from = page * PAGE_SIZE;
+        int to = Math.min(ids.length, from + PAGE_SIZE);
+        for (int row = from; row < to; row++) {
+            CachedRow cached = rows.get(ids[row]);
+            if (cached == null || cached.stale) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Object[] placeholderRow(int id) {
+        Object[] values = new Object[columnNames.length];
+        values[0] = id;
+        return values;
+    }
+
+    /**
+     * Fires an edit script as coalesced runs of deleted and inserted rows
+     */
+    private final class RowEvents implements ListDiff.Edits {
+        private int removedFirst = -1;
+        private int removedLast;
+        private int insertedFirst = -1;
+        private int insertedLast;
+
+        @Override
+        public void remove(int index) {
+            // Removals arrive highest index first
+            if (removedFirst >= 0 && index == removedFirst - 1) {
+                removedFirst = index;
+                return;
+            }
+            flush();
+            removedFirst = index;
+            removedLast = index;
+        }
+
+        @Override
+        public void insert(int index) {
+            if (insertedFirst >= 0 && index == insertedLast + 1) {
+                insertedLast = index;
+                return;
+            }
+            flush();
+            insertedFirst = index;
+            insertedLast = index;
+        }
+
+        @Override
+        public void keep(int index, int oldIndex) {
+            // Row contents are refreshed through invalidate, not by the id diff
+            flush();
+        }
+
+        void flush() {
+            if (removedFirst >= 0) {
+                fireTableRowsDeleted(removedFirst, removedLast);
+                removedFirst = -1;
+            }
+            if (insertedFirst >= 0) {
+                fireTableRowsInserted(insertedFirst, insertedLast);
+                insertedFirst = -1;
+            }
+        }
+    }
+
+    private void fireRowsUpdated(int first, int last) {
+        if (last >= first) {
+            fireTableRowsUpdated(first, last);
+        }
+    }
+}
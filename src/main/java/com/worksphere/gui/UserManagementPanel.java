@@ -15,6 +15,7 @@ import java.util.stream.Collectors;
 public class UserManagementPanel extends JPanel {
     
     private UserService userService;
+    private BackgroundLoader loader;
     private WorkSphereGUI mainFrame;
     private JTable userTable;
     private DefaultTableModel tableModel;
@@ -23,6 +24,7 @@ public class UserManagementPanel extends JPanel {
     
     public UserManagementPanel(UserService userService, WorkSphereGUI mainFrame) {
         this.userService = userService;
+        this.loader = new BackgroundLoader(this);
         this.mainFrame = mainFrame;
         initializePanel();
         setupLayout();
@@ -105,12 +107,8 @@ public class UserManagementPanel extends JPanel {
     }
     
     private void loadUsers() {
-        try {
-            List<User> users = userService.getAllUsers();
-            updateTableData(users);
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading users: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        loader.submit("users", "Loading users...", progress -> userService.getAllUsers(), this::updateTableData,
+            e -> JOptionPane.showMessageDialog(this, "Error loading users: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
     }
     
     private void updateTableData(List<User> users) {
@@ -127,13 +125,11 @@ public class UserManagementPanel extends JPanel {
             loadUsers();
             return;
         }
-        try {
+        loader.submit("users", "Searching users...", progress -> {
             List<User> allUsers = userService.getAllUsers();
-            List<User> filteredUsers = allUsers.stream().filter(user -> user.getUsername().toLowerCase().contains(searchText) || user.getName().toLowerCase().contains(searchText) || (user.getEmail() != null && user.getEmail().toLowerCase().contains(searchText))).collect(Collectors.toList());
-            updateTableData(filteredUsers);
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error searching users: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+            return allUsers.stream().filter(user -> user.getUsername().toLowerCase().contains(searchText) || user.getName().toLowerCase().contains(searchText) || (user.getEmail() != null && user.getEmail().toLowerCase().contains(searchText))).collect(Collectors.toList());
+        }, this::updateTableData,
+            e -> JOptionPane.showMessageDialog(this, "Error searching users: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
     }
     
     private void clearSearch() {
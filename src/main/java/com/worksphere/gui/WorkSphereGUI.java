@@ -1,12 +1,16 @@
 package com.worksphere.gui;
 
 import com.formdev.flatlaf.FlatLightLaf;
+import com.worksphere.dao.CategoryRegistry;
 import com.worksphere.dao.TaskDAO;
 import com.worksphere.dao.UserDAO;
 import com.worksphere.model.Task;
 import com.worksphere.model.User;
+import com.worksphere.service.TaskCache;
 import com.worksphere.service.TaskService;
+import com.worksphere.service.TaskStore;
 import com.worksphere.service.UserService;
+import com.worksphere.util.DataVersionWatcher;
 
 import javax.swing.*;
 import java.awt.*;
@@ -113,6 +117,11 @@ public class WorkSphereGUI extends JFrame {
         // Create main content area
         createMainContent();
         
+        // Follow commits made by other instances sharing the database file
+        if (DataVersionWatcher.isEnabled()) {
+            DataVersionWatcher.getShared().addListener(this::databaseChangedElsewhere);
+        }
+        
         // Add window listener
         addWindowListener(new WindowAdapter() {
             @Override
@@ -380,6 +389,22 @@ public class WorkSphereGUI extends JFrame {
         }
     }
     
+    /**
+     * Runs on the watcher thread. The caches cannot tell which rows another
+     * instance changed, so they are dropped; the task store then reads the
+     * change feed and its listeners patch the dashboard, task list and board.
+     */
+    private void databaseChangedElsewhere() {
+        TaskCache.getShared().invalidateAll();
+        UserDAO.invalidateCache();
+        CategoryRegistry.invalidate();
+        try {
+            TaskStore.getShared().refresh();
+        } catch (SQLException e) {
+            System.err.println("Error refreshing tasks after external change: " + e.getMessage());
+        }
+    }
+    
     private void refreshAllPanels() {
         if (dashboardPanel != null) {
             dashboardPanel.refresh();
@@ -483,7 +508,7 @@ public class WorkSphereGUI extends JFrame {
             try {
                 java.io.File file = fileChooser.getSelectedFile();
                 com.worksphere.service.ExportService exportService = new com.worksphere.service.ExportService();
-                exportService.exportTasksToCSV(taskService.getAllTasks(), file.getAbsolutePath());
+                exportService.exportAllTasksToCSV(file.getAbsolutePath());
                 
                 JOptionPane.showMessageDialog(this,
                     "Tasks exported successfully to " + file.getName(),
@@ -504,7 +529,7 @@ public class WorkSphereGUI extends JFrame {
             try {
                 java.io.File file = fileChooser.getSelectedFile();
                 com.worksphere.service.ExportService exportService = new com.worksphere.service.ExportService();
-                exportService.exportTasksToExcel(taskService.getAllTasks(), file.getAbsolutePath());
+                exportService.exportAllTasksToExcel(file.getAbsolutePath());
                 
                 JOptionPane.showMessageDialog(this,
                     "Tasks exported successfully to " + file.getName(),
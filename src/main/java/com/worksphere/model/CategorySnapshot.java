@@ -0,0 +1,45 @@
+package com.worksphere.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every category as of one load, ordered by name. A snapshot never changes;
+ * a category write produces a new one with a higher version. The Category
+ * objects are shared with every task that references them and must be
+ * treated as read-only.
+ */
+public class CategorySnapshot {
+    private final long version;
+    private final List<Category> categories;
+    private final Map<Integer, Category> categoriesById;
+
+    public CategorySnapshot(long version, List<Category> categories) {
+        this.version = version;
+        this.categories = Collections.unmodifiableList(new ArrayList<>(categories));
+        Map<Integer, Category> byId = new HashMap<>();
+        for (Category category : categories) {
+            byId.put(category.getId(), category);
+        }
+        this.categoriesById = Collections.unmodifiableMap(byId);
+    }
+
+    public long getVersion() { return version; }
+
+    public List<Category> getAll() { return categories; }
+
+    /**
+     * @return the category, or null if it did not exist when the snapshot was taken
+     */
+    public Category get(int id) { return categoriesById.get(id); }
+
+    public int size() { return categories.size(); }
+
+    @Override
+    public String toString() {
+        return "CategorySnapshot{version=" + version + ", " + categories.size() + " categories}";
+    }
+}
@@ -75,6 +75,31 @@ public class Task {
         this.actualMinutes = 0;
     }
     
+    // Copy constructor; the tag list is copied, the display category is shared
+    public Task(Task other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.description = other.description;
+        this.priority = other.priority;
+        this.status = other.status;
+        this.dueDate = other.dueDate;
+        this.assignedTo = other.assignedTo;
+        this.createdBy = other.createdBy;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.completedAt = other.completedAt;
+        this.estimatedMinutes = other.estimatedMinutes;
+        this.actualMinutes = other.actualMinutes;
+        this.categoryId = other.categoryId;
+        this.tags = other.tags != null ? new ArrayList<>(other.tags) : new ArrayList<>();
+        this.recurrenceRule = other.recurrenceRule;
+        this.parentTaskId = other.parentTaskId;
+        this.lastWorkedAt = other.lastWorkedAt;
+        this.assignedToUsername = other.assignedToUsername;
+        this.createdByUsername = other.createdByUsername;
+        this.category = other.category;
+    }
+    
     // Getters and Setters
     public int getId() {
         return id;
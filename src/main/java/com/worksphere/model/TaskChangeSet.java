@@ -0,0 +1,67 @@
+package com.worksphere.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tasks changed since a watermark, plus the ids a view should drop (deleted
+ * tasks, or tasks no longer visible to the user the changes were read for).
+ * Apply changed items first, then removals, and pass the new watermark to
+ * the next call. Watermarks are opaque; null means "no baseline yet".
+ *
+ * A change may be delivered more than once, so applying it must be an
+ * upsert by task id.
+ */
+public class TaskChangeSet<T> {
+    private final List<T> changed;
+    private final Set<Integer> removedIds;
+    private final String watermark;
+    private final boolean reloadRequired;
+
+    public TaskChangeSet(List<T> changed, Set<Integer> removedIds, String watermark) {
+        this(changed, removedIds, watermark, false);
+    }
+
+    private TaskChangeSet(List<T> changed, Set<Integer> removedIds, String watermark, boolean reloadRequired) {
+        this.changed = Collections.unmodifiableList(changed);
+        this.removedIds = Collections.unmodifiableSet(removedIds);
+        this.watermark = watermark;
+        this.reloadRequired = reloadRequired;
+    }
+
+    /**
+     * Change set for a watermark older than the retained deletion history
+     */
+    public static <T> TaskChangeSet<T> reloadRequired(String watermark) {
+        return new TaskChangeSet<>(Collections.emptyList(), Collections.emptySet(), watermark, true);
+    }
+
+    /**
+     * @return added or modified items, oldest change first
+     */
+    public List<T> getChanged() { return changed; }
+
+    public Set<Integer> getRemovedIds() { return removedIds; }
+
+    /**
+     * @return watermark to pass to the next findUpdatedSince call
+     */
+    public String getWatermark() { return watermark; }
+
+    /**
+     * @return true if deletions since the watermark may have been pruned, so
+     *         the caller must discard its view and do a full load instead
+     */
+    public boolean isReloadRequired() { return reloadRequired; }
+
+    public boolean isEmpty() { return !reloadRequired && changed.isEmpty() && removedIds.isEmpty(); }
+
+    @Override
+    public String toString() {
+        if (reloadRequired) {
+            return "TaskChangeSet{reload required}";
+        }
+        return "TaskChangeSet{" + changed.size() + " changed, " + removedIds.size() + " removed}";
+    }
+}
@@ -0,0 +1,94 @@
+package com.worksphere.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Filter criteria class for advanced filtering.
+ * Empty or null fields do not restrict the result.
+ */
+public class TaskFilterCriteria {
+    private List<TaskStatus> statuses;
+    private List<Priority> priorities;
+    private List<Integer> categoryIds;
+    private List<Integer> assigneeIds;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private boolean overdueOnly;
+    private String searchText;
+    private List<String> tags;
+    
+    // Constructors
+    public TaskFilterCriteria() {}
+    
+    // Getters and setters
+    public List<TaskStatus> getStatuses() { return statuses; }
+    public void setStatuses(List<TaskStatus> statuses) { this.statuses = statuses; }
+    
+    public List<Priority> getPriorities() { return priorities; }
+    public void setPriorities(List<Priority> priorities) { this.priorities = priorities; }
+    
+    public List<Integer> getCategoryIds() { return categoryIds; }
+    public void setCategoryIds(List<Integer> categoryIds) { this.categoryIds = categoryIds; }
+    
+    public List<Integer> getAssigneeIds() { return assigneeIds; }
+    public void setAssigneeIds(List<Integer> assigneeIds) { this.assigneeIds = assigneeIds; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public boolean isOverdueOnly() { return overdueOnly; }
+    public void setOverdueOnly(boolean overdueOnly) { this.overdueOnly = overdueOnly; }
+    
+    public String getSearchText() { return searchText; }
+    public void setSearchText(String searchText) { this.searchText = searchText; }
+    
+    // Matches tasks with any of the tags, ignoring case
+    public List<String> getTags() { return tags; }
+    public void setTags(List<String> tags) { this.tags = tags; }
+    
+    // Builder pattern methods
+    public TaskFilterCriteria withStatuses(List<TaskStatus> statuses) {
+        this.statuses = statuses;
+        return this;
+    }
+    
+    public TaskFilterCriteria withPriorities(List<Priority> priorities) {
+        this.priorities = priorities;
+        return this;
+    }
+    
+    public TaskFilterCriteria withCategories(List<Integer> categoryIds) {
+        this.categoryIds = categoryIds;
+        return this;
+    }
+    
+    public TaskFilterCriteria withAssignees(List<Integer> assigneeIds) {
+        this.assigneeIds = assigneeIds;
+        return this;
+    }
+    
+    public TaskFilterCriteria withDateRange(LocalDate startDate, LocalDate endDate) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        return this;
+    }
+    
+    public TaskFilterCriteria withOverdueOnly(boolean overdueOnly) {
+        this.overdueOnly = overdueOnly;
+        return this;
+    }
+    
+    public TaskFilterCriteria withSearchText(String searchText) {
+        this.searchText = searchText;
+        return this;
+    }
+    
+    public TaskFilterCriteria withTags(List<String> tags) {
+        this.tags = tags;
+        return this;
+    }
+}
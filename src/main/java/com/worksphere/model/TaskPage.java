@@ -0,0 +1,35 @@
+package com.worksphere.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of tasks in newest-first order plus the token for the next page.
+ * Tokens are opaque; pass them back unchanged to continue after the last task
+ * of this page.
+ */
+public class TaskPage {
+    private final List<Task> tasks;
+    private final String nextPageToken;
+
+    public TaskPage(List<Task> tasks, String nextPageToken) {
+        this.tasks = Collections.unmodifiableList(tasks);
+        this.nextPageToken = nextPageToken;
+    }
+
+    public List<Task> getTasks() { return tasks; }
+
+    /**
+     * @return token for the following page, or null if this is the last page
+     */
+    public String getNextPageToken() { return nextPageToken; }
+
+    public boolean hasMore() { return nextPageToken != null; }
+
+    public int size() { return tasks.size(); }
+
+    @Override
+    public String toString() {
+        return "TaskPage{" + tasks.size() + " tasks, hasMore=" + hasMore() + "}";
+    }
+}
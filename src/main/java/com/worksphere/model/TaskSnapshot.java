@@ -0,0 +1,87 @@
+package com.worksphere.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The summary of every task as of one point in the change feed, newest
+ * first. A snapshot never changes; TaskStore publishes a new one with a
+ * higher epoch when tasks change, so a view that remembers the epoch it
+ * rendered can tell whether it is current.
+ *
+ * Only the columns boards and dashboards show are held; load the full Task
+ * by id (TaskService.getTaskById) when one is opened, edited or worked on.
+ */
+public class TaskSnapshot {
+    private final long epoch;
+    private final String watermark;
+    private final List<TaskSummary> summaries;
+    private final Map<Integer, TaskSummary> summariesById;
+
+    /**
+     * @param summaries Summary of every task, newest first
+     */
+    public TaskSnapshot(long epoch, String watermark, List<TaskSummary> summaries) {
+        this.epoch = epoch;
+        this.watermark = watermark;
+        this.summaries = Collections.unmodifiableList(new ArrayList<>(summaries));
+        Map<Integer, TaskSummary> byId = new HashMap<>();
+        for (TaskSummary summary : summaries) {
+            byId.put(summary.getId(), summary);
+        }
+        this.summariesById = Collections.unmodifiableMap(byId);
+    }
+
+    public long getEpoch() { return epoch; }
+
+    /**
+     * @return change feed watermark the snapshot is current to
+     */
+    public String getWatermark() { return watermark; }
+
+    /**
+     * @return the task's summary, or null if it did not exist when the snapshot was taken
+     */
+    public TaskSummary getSummary(int id) { return summariesById.get(id); }
+
+    /**
+     * @return summaries of every task, newest first
+     */
+    public List<TaskSummary> getSummaries() { return summaries; }
+
+    /**
+     * @return summaries of the tasks the user may see (all of them for an admin), newest first
+     */
+    public List<TaskSummary> getSummariesVisibleTo(User user) {
+        if (user.isAdmin()) {
+            return summaries;
+        }
+        List<TaskSummary> visible = new ArrayList<>();
+        for (TaskSummary summary : summaries) {
+            if (isVisibleTo(summary, user)) {
+                visible.add(summary);
+            }
+        }
+        return visible;
+    }
+
+    public int size() { return summaries.size(); }
+
+    /**
+     * Same rule as TaskService.getTasksForUser: admins see every task, other
+     * users the tasks assigned to them or created by them
+     */
+    public static boolean isVisibleTo(TaskSummary task, User user) {
+        return user.isAdmin()
+            || (task.getAssignedTo() != null && task.getAssignedTo() == user.getId())
+            || task.getCreatedBy() == user.getId();
+    }
+
+    @Override
+    public String toString() {
+        return "TaskSnapshot{epoch=" + epoch + ", " + summaries.size() + " tasks}";
+    }
+}
@@ -0,0 +1,18 @@
+package com.worksphere.model;
+
+/**
+ * Orders the task list can be sorted in. TaskDAO maps each field to an SQL
+ * ORDER BY expression, so sorting happens in the database, not in memory.
+ */
+public enum TaskSortField {
+    CREATED_AT,
+    ID,
+    TITLE,
+    PRIORITY,
+    STATUS,
+    CATEGORY,
+    DUE_DATE,
+    ESTIMATED_MINUTES,
+    ACTUAL_MINUTES,
+    ASSIGNEE
+}
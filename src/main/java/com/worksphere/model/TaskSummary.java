@@ -0,0 +1,87 @@
+package com.worksphere.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight read-only view of a task for boards, dashboards and pickers.
+ * Holds only the columns those views display; load the full Task by id
+ * (TaskService.getTaskById) when it is opened for editing or worked on.
+ */
+public class TaskSummary {
+    private final int id;
+    private final String title;
+    private final TaskStatus status;
+    private final Priority priority;
+    private final LocalDate dueDate;
+    private final Integer assignedTo;
+    private final String assignedToName;
+    private final int createdBy;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public TaskSummary(int id, String title, TaskStatus status, Priority priority, LocalDate dueDate,
+                       Integer assignedTo, String assignedToName, int createdBy,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.status = status;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.assignedTo = assignedTo;
+        this.assignedToName = assignedToName;
+        this.createdBy = createdBy;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public int getId() { return id; }
+
+    public String getTitle() { return title; }
+
+    public TaskStatus getStatus() { return status; }
+
+    public Priority getPriority() { return priority; }
+
+    public LocalDate getDueDate() { return dueDate; }
+
+    public Integer getAssignedTo() { return assignedTo; }
+
+    /**
+     * @return full name of the assigned user, or null if unassigned
+     */
+    public String getAssignedToName() { return assignedToName; }
+
+    public int getCreatedBy() { return createdBy; }
+
+    /**
+     * @return when the task was created, or null if the row has no created_at
+     */
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    /**
+     * @return when the task row last changed; views compare it to skip repainting unchanged cards
+     */
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public boolean isOverdue() {
+        return dueDate != null && dueDate.isBefore(LocalDate.now()) && status != TaskStatus.COMPLETED;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return id == ((TaskSummary) o).id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return title;
+    }
+}
@@ -0,0 +1,60 @@
+package com.worksphere.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Enum representing the bucket size of trend charts
+ */
+public enum TrendGranularity {
+    DAILY("Daily"),
+    WEEKLY("Weekly"),
+    MONTHLY("Monthly");
+
+    private final String displayName;
+
+    TrendGranularity(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Get the first day of the bucket containing a date.
+     * Weeks start on Monday.
+     */
+    public LocalDate bucketStart(LocalDate date) {
+        switch (this) {
+            case WEEKLY:
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY:
+                return date.withDayOfMonth(1);
+            case DAILY:
+            default:
+                return date;
+        }
+    }
+
+    /**
+     * Get the first day of the bucket after the one starting at bucketStart
+     */
+    public LocalDate nextBucket(LocalDate bucketStart) {
+        switch (this) {
+            case WEEKLY:
+                return bucketStart.plusWeeks(1);
+            case MONTHLY:
+                return bucketStart.plusMonths(1);
+            case DAILY:
+            default:
+                return bucketStart.plusDays(1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,219 @@
+package com.worksphere.service;
+
+import com.worksphere.model.Priority;
+import com.worksphere.model.Task;
+import com.worksphere.model.TaskStatus;
+import com.worksphere.service.AnalyticsService.AnalyticsSnapshot;
+import com.worksphere.service.AnalyticsService.OverdueAnalysis;
+import com.worksphere.service.AnalyticsService.ProductivityMetrics;
+import com.worksphere.service.AnalyticsService.UserPerformance;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes every dashboard and report statistic in a single pass over the tasks.
+ *
+ * Productivity metrics and the priority distribution cover tasks created in the
+ * selected date range (null bounds are open); overdue analysis, productive hours
+ * and user performance cover all tasks. Extra periods, such as the weeks of a
+ * monthly report, are accumulated in the same pass.
+ */
+public class AnalyticsEngine {
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final LocalDate today;
+
+    private final MetricsAccumulator rangeMetrics = new MetricsAccumulator(null, null);
+    private final List<MetricsAccumulator> periodMetrics = new ArrayList<>();
+    private final int[] priorityCounts = new int[Priority.values().length];
+    private final int[] hourCounts = new int[24];
+    private final Map<Integer, UserPerformance> userPerformance = new HashMap<>();
+
+    private int overdueTasks;
+    private long overdueDaysTotal;
+    private int dueTodayTasks;
+    private int dueThisWeekTasks;
+
+    public AnalyticsEngine(LocalDate startDate, LocalDate endDate) {
+        this(startDate, endDate, LocalDate.now());
+    }
+
+    public AnalyticsEngine(LocalDate startDate, LocalDate endDate, LocalDate today) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.today = today;
+    }
+
+    /**
+     * Also compute productivity metrics for tasks created in another period
+     * @return this engine, for chaining
+     */
+    public AnalyticsEngine withPeriod(LocalDate periodStart, LocalDate periodEnd) {
+        periodMetrics.add(new MetricsAccumulator(periodStart, periodEnd));
+        return this;
+    }
+
+    /**
+     * Analyze all tasks for the given date range
+     */
+    public static AnalyticsSnapshot analyze(Iterable<Task> tasks, LocalDate startDate, LocalDate endDate) {
+        AnalyticsEngine engine = new AnalyticsEngine(startDate, endDate);
+        tasks.forEach(engine::accept);
+        return engine.getSnapshot();
+    }
+
+    /**
+     * Add one task to every statistic
+     */
+    public void accept(Task task) {
+        LocalDate createdDate = task.getCreatedAt() != null ? task.getCreatedAt().toLocalDate() : null;
+
+        if (isWithin(createdDate, startDate, endDate)) {
+            rangeMetrics.add(task);
+            if (task.getPriority() != null) {
+                priorityCounts[task.getPriority().ordinal()]++;
+            }
+        }
+        for (MetricsAccumulator period : periodMetrics) {
+            if (isWithin(createdDate, period.start, period.end)) {
+                period.add(task);
+            }
+        }
+
+        if (task.getCompletedAt() != null) {
+            hourCounts[task.getCompletedAt().getHour()]++;
+        }
+
+        LocalDate dueDate = task.getDueDate();
+        if (dueDate != null && task.getStatus() != TaskStatus.COMPLETED) {
+            if (dueDate.isBefore(today)) {
+                overdueTasks++;
+                overdueDaysTotal += ChronoUnit.DAYS.between(dueDate, today);
+            } else if (dueDate.equals(today)) {
+                dueTodayTasks++;
+            } else if (dueDate.isBefore(today.plusWeeks(1))) {
+                dueThisWeekTasks++;
+            }
+        }
+
+        Integer userId = task.getAssignedTo();
+        if (userId != null) {
+            UserPerformance perf = userPerformance.computeIfAbsent(userId, id -> {
+                UserPerformance p = new UserPerformance();
+                p.userId = id;
+                p.username = task.getAssignedToUsername();
+                return p;
+            });
+            perf.assignedTasks++;
+            if (task.getStatus() == TaskStatus.COMPLETED) {
+                perf.completedTasks++;
+            }
+            perf.totalTimeSpent += task.getActualMinutes();
+        }
+    }
+
+    /**
+     * Build the results from everything accepted so far
+     */
+    public AnalyticsSnapshot getSnapshot() {
+        AnalyticsSnapshot snapshot = new AnalyticsSnapshot();
+        snapshot.productivityMetrics = rangeMetrics.toMetrics();
+        for (MetricsAccumulator period : periodMetrics) {
+            snapshot.periodMetrics.add(period.toMetrics());
+        }
+
+        for (Priority priority : Priority.values()) {
+            snapshot.priorityDistribution.put(priority, priorityCounts[priority.ordinal()]);
+        }
+        for (int hour = 0; hour < 24; hour++) {
+            snapshot.productiveHours.put(hour, hourCounts[hour]);
+        }
+
+        OverdueAnalysis overdue = new OverdueAnalysis();
+        overdue.overdueTasks = overdueTasks;
+        overdue.dueTodayTasks = dueTodayTasks;
+        overdue.dueThisWeekTasks = dueThisWeekTasks;
+        overdue.averageOverdueDays = overdueTasks > 0 ? (double) overdueDaysTotal / overdueTasks : 0.0;
+        snapshot.overdueAnalysis = overdue;
+
+        for (UserPerformance perf : userPerformance.values()) {
+            UserPerformance copy = new UserPerformance();
+            copy.userId = perf.userId;
+            copy.username = perf.username;
+            copy.assignedTasks = perf.assignedTasks;
+            copy.completedTasks = perf.completedTasks;
+            copy.totalTimeSpent = perf.totalTimeSpent;
+            copy.completionRate = perf.assignedTasks > 0 ?
+                (double) perf.completedTasks / perf.assignedTasks : 0.0;
+            snapshot.userPerformance.add(copy);
+        }
+        return snapshot;
+    }
+
+    private static boolean isWithin(LocalDate date, LocalDate start, LocalDate end) {
+        return date != null &&
+            (start == null || !date.isBefore(start)) &&
+            (end == null || !date.isAfter(end));
+    }
+
+    /**
+     * Running totals behind ProductivityMetrics
+     */
+    private static final class MetricsAccumulator {
+        final LocalDate start;
+        final LocalDate end;
+        int totalTasks;
+        int completedTasks;
+        int inProgressTasks;
+        int todoTasks;
+        long completionDaysTotal;
+        int completionsWithTime;
+        int totalTimeSpent;
+        int totalEstimatedTime;
+
+        MetricsAccumulator(LocalDate start, LocalDate end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        void add(Task task) {
+            totalTasks++;
+            if (task.getStatus() == TaskStatus.COMPLETED) {
+                completedTasks++;
+                if (task.getCreatedAt() != null && task.getCompletedAt() != null) {
+                    completionDaysTotal += ChronoUnit.DAYS.between(task.getCreatedAt(), task.getCompletedAt());
+                    completionsWithTime++;
+                }
+            } else if (task.getStatus() == TaskStatus.IN_PROGRESS) {
+                inProgressTasks++;
+            } else if (task.getStatus() == TaskStatus.TODO) {
+                todoTasks++;
+            }
+            totalTimeSpent += task.getActualMinutes();
+            totalEstimatedTime += task.getEstimatedMinutes();
+        }
+
+        ProductivityMetrics toMetrics() {
+            ProductivityMetrics metrics = new ProductivityMetrics();
+            metrics.totalTasks = totalTasks;
+            metrics.completedTasks = completedTasks;
+            metrics.inProgressTasks = inProgressTasks;
+            metrics.todoTasks = todoTasks;
+            metrics.completionRate = totalTasks > 0 ? (double) completedTasks / totalTasks : 0.0;
+            if (completionsWithTime > 0) {
+                metrics.averageCompletionDays = (double) completionDaysTotal / completionsWithTime;
+            }
+            metrics.totalTimeSpent = totalTimeSpent;
+            metrics.totalEstimatedTime = totalEstimatedTime;
+            if (totalEstimatedTime > 0) {
+                metrics.timeEfficiency = (double) totalEstimatedTime / totalTimeSpent;
+            }
+            return metrics;
+        }
+    }
+}
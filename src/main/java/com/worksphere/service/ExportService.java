@@ -1,19 +1,27 @@
 package com.worksphere.service;
 
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.dao.UncheckedSQLException;
 import com.worksphere.model.Task;
 import com.worksphere.model.Category;
 import com.worksphere.service.AnalyticsService.ProductivityMetrics;
 import com.worksphere.service.AnalyticsService.CategoryPerformance;
 
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
+import java.io.BufferedWriter;
 import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Service for exporting task data to various formats
@@ -21,11 +29,32 @@ import java.util.List;
 public class ExportService {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
+    // Rows an SXSSF workbook keeps in memory before flushing to disk
+    private static final int STREAMING_ROW_WINDOW = 200;
+    
+    private final TaskDAO taskDAO;
+    
+    public ExportService() {
+        this.taskDAO = new TaskDAO();
+    }
+    
+    /**
+     * Export every task to CSV, streaming rows from the database so memory use
+     * stays constant regardless of table size
+     */
+    public void exportAllTasksToCSV(String filePath) throws IOException, SQLException {
+        try (Stream<Task> tasks = taskDAO.streamAll()) {
+            exportTasksToCSV(tasks::iterator, filePath);
+        } catch (UncheckedSQLException e) {
+            throw e.getCause();
+        }
+    }
+    
     /**
      * Export tasks to CSV format
      */
-    public void exportTasksToCSV(List<Task> tasks, String filePath) throws IOException {
-        try (FileWriter writer = new FileWriter(filePath)) {
+    public void exportTasksToCSV(Iterable<Task> tasks, String filePath) throws IOException {
+        try (Writer writer = new BufferedWriter(new FileWriter(filePath))) {
             // Write CSV header
             writer.append("ID,Title,Description,Priority,Status,Due Date,Assigned To,Created By,")
                   .append("Category,Tags,Estimated Time,Actual Time,Completion Rate,Created Date,")
@@ -53,6 +82,31 @@ public class ExportService {
         }
     }
     
+    /**
+     * Export every task to Excel, streaming rows from the database. Only a
+     * window of rows is kept in memory; the rest are flushed to a temporary file.
+     */
+    public void exportAllTasksToExcel(String filePath) throws IOException, SQLException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(STREAMING_ROW_WINDOW);
+        try (Stream<Task> tasks = taskDAO.streamAll()) {
+            SXSSFSheet taskSheet = workbook.createSheet("Tasks");
+            // Column widths are sized from the rows still in the window
+            taskSheet.trackAllColumnsForAutoSizing();
+            TaskSummary summary = createTaskSheet(taskSheet, tasks::iterator);
+            
+            createSummarySheet(workbook.createSheet("Summary"), summary);
+            
+            try (FileOutputStream fileOut = new FileOutputStream(filePath)) {
+                workbook.write(fileOut);
+            }
+        } catch (UncheckedSQLException e) {
+            throw e.getCause();
+        } finally {
+            workbook.close();
+            workbook.dispose();
+        }
+    }
+    
     /**
      * Export tasks to Excel format
      */
@@ -60,11 +114,11 @@ public class ExportService {
         try (Workbook workbook = new XSSFWorkbook()) {
             // Create tasks sheet
             Sheet taskSheet = workbook.createSheet("Tasks");
-            createTaskSheet(taskSheet, tasks);
+            TaskSummary summary = createTaskSheet(taskSheet, tasks);
             
             // Create summary sheet
             Sheet summarySheet = workbook.createSheet("Summary");
-            createSummarySheet(summarySheet, tasks);
+            createSummarySheet(summarySheet, summary);
             
             // Write to file
             try (FileOutputStream fileOut = new FileOutputStream(filePath)) {
@@ -95,7 +149,7 @@ public class ExportService {
         }
     }
     
-    private void createTaskSheet(Sheet sheet, List<Task> tasks) {
+    private TaskSummary createTaskSheet(Sheet sheet, Iterable<Task> tasks) {
         // Create header row
         Row headerRow = sheet.createRow(0);
         String[] headers = {
@@ -118,9 +172,11 @@ public class ExportService {
         }
         
         // Create data rows
+        TaskSummary summary = new TaskSummary();
         int rowNum = 1;
         for (Task task : tasks) {
             Row row = sheet.createRow(rowNum++);
+            summary.add(task);
             
             row.createCell(0).setCellValue(task.getId());
             row.createCell(1).setCellValue(task.getTitle());
@@ -146,25 +202,21 @@ public class ExportService {
         for (int i = 0; i < headers.length; i++) {
             sheet.autoSizeColumn(i);
         }
+        return summary;
     }
     
-    private void createSummarySheet(Sheet sheet, List<Task> tasks) {
-        // Calculate summary statistics
-        long totalTasks = tasks.size();
-        long completedTasks = tasks.stream().filter(t -> t.getStatus().name().equals("COMPLETED")).count();
-        long inProgressTasks = tasks.stream().filter(t -> t.getStatus().name().equals("IN_PROGRESS")).count();
-        long todoTasks = tasks.stream().filter(t -> t.getStatus().name().equals("TODO")).count();
-        long overdueTasks = tasks.stream().filter(Task::isOverdue).count();
-        
+    private void createSummarySheet(Sheet sheet, TaskSummary summary) {
+        long totalTasks = summary.totalTasks;
+        long completedTasks = summary.completedTasks;
         double completionRate = totalTasks > 0 ? (double) completedTasks / totalTasks * 100 : 0;
         
         // Create summary data
         String[][] summaryData = {
             {"Total Tasks", String.valueOf(totalTasks)},
             {"Completed Tasks", String.valueOf(completedTasks)},
-            {"In Progress Tasks", String.valueOf(inProgressTasks)},
-            {"Todo Tasks", String.valueOf(todoTasks)},
-            {"Overdue Tasks", String.valueOf(overdueTasks)},
+            {"In Progress Tasks", String.valueOf(summary.inProgressTasks)},
+            {"Todo Tasks", String.valueOf(summary.todoTasks)},
+            {"Overdue Tasks", String.valueOf(summary.overdueTasks)},
             {"Completion Rate", String.format("%.1f%%", completionRate)},
             {"Report Generated", LocalDate.now().format(DATE_FORMATTER)}
         };
@@ -267,4 +319,28 @@ public class ExportService {
             return String.format("%dm", mins);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Status counts gathered while the task rows are written
+     */
+    private static class TaskSummary {
+        long totalTasks;
+        long completedTasks;
+        long inProgressTasks;
+        long todoTasks;
+        long overdueTasks;
+        
+        void add(Task task) {
+            totalTasks++;
+            switch (task.getStatus()) {
+                case COMPLETED: completedTasks++; break;
+                case IN_PROGRESS: inProgressTasks++; break;
+                case TODO: todoTasks++; break;
+                default: break;
+            }
+            if (task.isOverdue()) {
+                overdueTasks++;
+            }
+        }
+    }
+}
@@ -13,6 +13,7 @@ import com.itextpdf.io.font.constants.StandardFonts;
 
 import com.worksphere.model.Task;
 import com.worksphere.model.User;
+import com.worksphere.service.AnalyticsService.AnalyticsSnapshot;
 import com.worksphere.service.AnalyticsService.ProductivityMetrics;
 import com.worksphere.service.AnalyticsService.CompletionTrendData;
 import com.worksphere.service.AnalyticsService.CategoryPerformance;
@@ -184,7 +185,16 @@ public class PDFReportService {
                 .setMarginBottom(20));
             
             // Get monthly analytics
-            ProductivityMetrics metrics = analyticsService.getProductivityMetrics(monthStart, monthEnd);
+            // The month and its four weeks are computed in one pass over the tasks
+            AnalyticsEngine engine = new AnalyticsEngine(monthStart, monthEnd);
+            for (int week = 1; week <= 4; week++) {
+                LocalDate weekStart = monthStart.plusWeeks(week - 1);
+                LocalDate weekEnd = weekStart.plusDays(6);
+                if (weekEnd.isAfter(monthEnd)) weekEnd = monthEnd;
+                engine.withPeriod(weekStart, weekEnd);
+            }
+            AnalyticsSnapshot snapshot = analyticsService.analyze(engine);
+            ProductivityMetrics metrics = snapshot.productivityMetrics;
             List<CategoryPerformance> categoryStats = analyticsService.getCategoryPerformance();
             
             // Monthly Summary
@@ -220,11 +230,7 @@ public class PDFReportService {
             
             // Calculate weekly stats
             for (int week = 1; week <= 4; week++) {
-                LocalDate weekStart = monthStart.plusWeeks(week - 1);
-                LocalDate weekEnd = weekStart.plusDays(6);
-                if (weekEnd.isAfter(monthEnd)) weekEnd = monthEnd;
-                
-                ProductivityMetrics weekMetrics = analyticsService.getProductivityMetrics(weekStart, weekEnd);
+                ProductivityMetrics weekMetrics = snapshot.periodMetrics.get(week - 1);
                 
                 weeklyTable.addCell(new Cell().add(new Paragraph("Week " + week).setFont(normalFont)));
                 weeklyTable.addCell(new Cell().add(new Paragraph(String.valueOf(weekMetrics.totalTasks)).setFont(normalFont)));
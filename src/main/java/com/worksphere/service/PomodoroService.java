@@ -1,6 +1,7 @@
 package com.worksphere.service;
 
 import com.worksphere.dao.TaskDAO;
+import com.worksphere.dao.TaskWriteQueue;
 import com.worksphere.model.Task;
 
 import javax.swing.Timer;
@@ -235,7 +236,17 @@ public class PomodoroService {
         try {
             // Update task's actual time
             int newActualTime = task.getActualMinutes() + minutes;
-            taskDAO.updateTaskTime(task.getId(), newActualTime);
+            if (TaskWriteQueue.isEnabled()) {
+                // Group-committed in the background; only the latest total per task is written
+                TaskWriteQueue.getShared().updateTaskTime(task.getId(), newActualTime)
+                    .whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            System.err.println("Error logging time spent: " + error.getMessage());
+                        }
+                    });
+            } else {
+                taskDAO.updateTaskTime(task.getId(), newActualTime);
+            }
             
             // Update the task object
             task.setActualMinutes(newActualTime);
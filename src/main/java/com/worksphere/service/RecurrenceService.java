@@ -73,15 +73,15 @@ public class RecurrenceService {
             
             // Check if instance already exists
             if (!instanceExists(templateTask.getId(), nextDate)) {
-                Task instance = createTaskInstance(templateTask, nextDate);
-                Task savedInstance = taskDAO.createTask(instance);
-                generatedTasks.add(savedInstance);
+                generatedTasks.add(createTaskInstance(templateTask, nextDate));
                 instanceCount++;
             }
             
             currentDate = nextDate.plusDays(1);
         }
         
+        // Insert all new instances in one transaction
+        taskDAO.createTasks(generatedTasks);
         return generatedTasks;
     }
     
@@ -0,0 +1,165 @@
+package com.worksphere.service;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.dao.TaskWriteListener;
+import com.worksphere.model.Task;
+import com.worksphere.util.DatabaseConnection;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded least-recently-used cache of tasks by ID.
+ *
+ * Entries are dropped whenever a write to the task is committed through any
+ * TaskDAO (the cache registers as a TaskWriteListener). A load that raced
+ * with such a write is not stored: callers take a generation before reading
+ * and the put is ignored if anything was invalidated in between. Tasks are
+ * copied in and out, so callers may modify what they get.
+ */
+public class TaskCache implements TaskWriteListener {
+
+    private static TaskCache shared;
+
+    private final int maxSize;
+    private final Map<Integer, Task> entries;
+    private long generation = 0;
+
+    // Statistics
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long invalidations = 0;
+
+    /**
+     * @param maxSize Maximum number of tasks kept; the least recently used is evicted first
+     */
+    public TaskCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Task> eldest) {
+                if (size() > TaskCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get the application-wide cache, sized by cache.tasks.maxSize and
+     * invalidated by writes from every TaskDAO
+     */
+    public static synchronized TaskCache getShared() {
+        if (shared == null) {
+            shared = new TaskCache(DatabaseConnection.getIntProperty("cache.tasks.maxSize", 500));
+            TaskDAO.addWriteListener(shared);
+        }
+        return shared;
+    }
+
+    /**
+     * @return a copy of the cached task, or null on a miss
+     */
+    public synchronized Task get(int taskId) {
+        Task task = entries.get(taskId);
+        if (task == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return new Task(task);
+    }
+
+    /**
+     * @return token to pass to put once the task has been loaded
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Store a task loaded from the database, unless the cache was invalidated
+     * since the generation was taken
+     */
+    public synchronized void put(Task task, long loadedAtGeneration) {
+        if (loadedAtGeneration == generation) {
+            entries.put(task.getId(), new Task(task));
+        }
+    }
+
+    public synchronized void invalidate(int taskId) {
+        generation++;
+        invalidations++;
+        entries.remove(taskId);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations++;
+        entries.clear();
+    }
+
+    @Override
+    public synchronized void tasksWritten(Collection<Integer> taskIds) {
+        generation++;
+        invalidations++;
+        for (Integer taskId : taskIds) {
+            entries.remove(taskId);
+        }
+    }
+
+    @Override
+    public void allTasksWritten() {
+        invalidateAll();
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, evictions, invalidations, entries.size(), maxSize);
+    }
+
+    /**
+     * Snapshot of cache statistics
+     */
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+        private final int size;
+        private final int maxSize;
+
+        public Stats(long hits, long misses, long evictions, long invalidations, int size, int maxSize) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+            this.size = size;
+            this.maxSize = maxSize;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getInvalidations() { return invalidations; }
+        public int getSize() { return size; }
+        public int getMaxSize() { return maxSize; }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("TaskCache{size=%d/%d, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, invalidations=%d}",
+                               size, maxSize, hits, misses, getHitRate() * 100, evictions, invalidations);
+        }
+    }
+}
@@ -6,26 +6,38 @@ import com.worksphere.model.*;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service class for Task-related business logic
  */
 public class TaskService {
+    public static final int MAX_PAGE_SIZE = 1000;
+    
     private final TaskDAO taskDAO;
     private final UserDAO userDAO;
+    private final TaskCache taskCache;
     
     public TaskService() {
         System.out.println("📋 Creating TaskService...");
         this.taskDAO = new TaskDAO();
         this.userDAO = new UserDAO();
+        this.taskCache = TaskCache.getShared();
         System.out.println("📋 TaskService created successfully.");
     }
     
     public TaskService(TaskDAO taskDAO, UserDAO userDAO) {
+        this(taskDAO, userDAO, TaskCache.getShared());
+    }
+    
+    public TaskService(TaskDAO taskDAO, UserDAO userDAO, TaskCache taskCache) {
         this.taskDAO = taskDAO;
         this.userDAO = userDAO;
+        this.taskCache = taskCache;
     }
     
     /**
@@ -68,6 +80,40 @@ public class TaskService {
         return taskDAO.createTask(task);
     }
     
+    /**
+     * Create many tasks at once in a single transaction (imports, generated
+     * recurrences). Every task is validated before anything is written.
+     * @param tasks Tasks to create; each one gets its generated ID set
+     * @return the generated IDs, in the same order as the tasks
+     * @throws SQLException if database operation fails
+     */
+    public List<Integer> createTasks(List<Task> tasks) throws SQLException {
+        if (tasks == null) {
+            throw new IllegalArgumentException("Task list cannot be null");
+        }
+        
+        Set<Integer> userIds = new HashSet<>();
+        for (Task task : tasks) {
+            if (task == null) {
+                throw new IllegalArgumentException("Task cannot be null");
+            }
+            validateTaskInput(task.getTitle(), task.getDescription(), task.getCreatedBy());
+            userIds.add(task.getCreatedBy());
+            if (task.getAssignedTo() != null) {
+                userIds.add(task.getAssignedTo());
+            }
+        }
+        
+        // Each referenced user is checked once, however many tasks mention it
+        for (Integer userId : userIds) {
+            if (userDAO.findById(userId).isEmpty()) {
+                throw new IllegalArgumentException("User with ID " + userId + " not found");
+            }
+        }
+        
+        return taskDAO.createTasks(tasks);
+    }
+    
     /**
      * Find task by ID
      * @param id Task ID
@@ -78,7 +124,23 @@ public class TaskService {
         if (id <= 0) {
             throw new IllegalArgumentException("Task ID must be positive");
         }
-        return taskDAO.findById(id);
+        
+        Task cached = taskCache.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long generation = taskCache.generation();
+        Optional<Task> task = taskDAO.findById(id);
+        task.ifPresent(loaded -> taskCache.put(loaded, generation));
+        return task;
+    }
+    
+    /**
+     * Get hit/miss statistics of the task cache used by findTaskById
+     * @return Cache statistics snapshot
+     */
+    public TaskCache.Stats getTaskCacheStats() {
+        return taskCache.getStats();
     }
     
     // GUI Helper Methods
@@ -202,6 +264,140 @@ public class TaskService {
         return taskDAO.findTasksForUser(userId);
     }
     
+    /**
+     * Get summaries of all tasks for list views that only show title, status,
+     * priority, due date and assignee
+     * @return List of task summaries, newest first
+     * @throws SQLException if database operation fails
+     */
+    public List<TaskSummary> getAllTaskSummaries() throws SQLException {
+        return taskDAO.findAllSummaries();
+    }
+    
+    /**
+     * Get summaries of the tasks visible to a user (assigned to them OR created by them)
+     * @param userId User ID
+     * @return List of task summaries, newest first
+     * @throws SQLException if database operation fails
+     */
+    public List<TaskSummary> getTaskSummariesForUser(int userId) throws SQLException {
+        if (userId <= 0) {
+            throw new IllegalArgumentException("User ID must be positive");
+        }
+        return taskDAO.findSummariesForUser(userId);
+    }
+    
+    /**
+     * Watermark to take before a full load, for use with getTaskChangesSince
+     * @return the current change watermark
+     * @throws SQLException if database operation fails
+     */
+    public String getChangeWatermark() throws SQLException {
+        return taskDAO.currentWatermark();
+    }
+    
+    /**
+     * Get the tasks added, changed or removed since a watermark
+     * @param watermark Watermark from getChangeWatermark() or a previous change set
+     * @param userId Limit to tasks visible to this user, or null for all tasks
+     * @return Changed tasks, removed task ids and the next watermark
+     * @throws SQLException if database operation fails
+     */
+    public TaskChangeSet<Task> getTaskChangesSince(String watermark, Integer userId) throws SQLException {
+        return taskDAO.findUpdatedSince(watermark, userId);
+    }
+    
+    /**
+     * Get the task summaries added, changed or removed since a watermark
+     * @param watermark Watermark from getChangeWatermark() or a previous change set
+     * @param userId Limit to tasks visible to this user, or null for all tasks
+     * @return Changed summaries, removed task ids and the next watermark
+     * @throws SQLException if database operation fails
+     */
+    public TaskChangeSet<TaskSummary> getTaskSummaryChangesSince(String watermark, Integer userId)
+            throws SQLException {
+        return taskDAO.findSummariesUpdatedSince(watermark, userId);
+    }
+    
+    /**
+     * Get one page of all tasks, newest first
+     * @param pageToken Token from the previous page, or null for the first page
+     * @param pageSize Maximum number of tasks per page
+     * @return the page and the token for the next one
+     * @throws SQLException if database operation fails
+     */
+    public TaskPage getAllTasksPage(String pageToken, int pageSize) throws SQLException {
+        validatePageSize(pageSize);
+        return taskDAO.findAllPage(pageToken, pageSize);
+    }
+    
+    /**
+     * Get one page of tasks with a status, newest first
+     * @param status Task status
+     * @param pageToken Token from the previous page, or null for the first page
+     * @param pageSize Maximum number of tasks per page
+     * @return the page and the token for the next one
+     * @throws SQLException if database operation fails
+     */
+    public TaskPage getTasksByStatusPage(TaskStatus status, String pageToken, int pageSize) throws SQLException {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        validatePageSize(pageSize);
+        return taskDAO.findByStatusPage(status, pageToken, pageSize);
+    }
+    
+    /**
+     * Get one page of the tasks visible to a user (assigned to them OR created by them)
+     * @param userId User ID
+     * @param pageToken Token from the previous page, or null for the first page
+     * @param pageSize Maximum number of tasks per page
+     * @return the page and the token for the next one
+     * @throws SQLException if database operation fails
+     */
+    public TaskPage getTasksForUserPage(int userId, String pageToken, int pageSize) throws SQLException {
+        if (userId <= 0) {
+            throw new IllegalArgumentException("User ID must be positive");
+        }
+        validatePageSize(pageSize);
+        return taskDAO.findTasksForUserPage(userId, pageToken, pageSize);
+    }
+    
+    /**
+     * Get the ids of the tasks matching filter criteria, sorted by the database
+     * @param criteria Filter criteria, or null for all tasks
+     * @param userId Limit to tasks visible to this user, or null for all tasks
+     * @param sortField Sort order; ties are broken by task id
+     * @param ascending true for ascending order
+     * @return matching task ids in order
+     * @throws SQLException if database operation fails
+     */
+    public int[] getTaskIds(TaskFilterCriteria criteria, Integer userId, TaskSortField sortField,
+                            boolean ascending) throws SQLException {
+        if (sortField == null) {
+            throw new IllegalArgumentException("Sort field cannot be null");
+        }
+        return taskDAO.findIdsByCriteria(criteria != null ? criteria : new TaskFilterCriteria(),
+                                         userId, sortField, ascending);
+    }
+    
+    /**
+     * Get a window of tasks by id, e.g. the rows around a table's viewport
+     * @param ids Task ids, at most MAX_PAGE_SIZE
+     * @return the tasks that still exist, in no particular order
+     * @throws SQLException if database operation fails
+     */
+    public List<Task> getTasksByIds(Collection<Integer> ids) throws SQLException {
+        validatePageSize(Math.max(1, ids.size()));
+        return taskDAO.findByIds(ids);
+    }
+    
+    private void validatePageSize(int pageSize) {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+    
     /**
      * Get tasks by priority
      * @param priority Task priority
@@ -238,7 +434,7 @@ public class TaskService {
         validateTaskInput(task.getTitle(), task.getDescription(), task.getCreatedBy());
         
         // Check if task exists
-        Optional<Task> existingTask = taskDAO.findById(task.getId());
+        Optional<Task> existingTask = findTaskById(task.getId());
         if (existingTask.isEmpty()) {
             throw new IllegalArgumentException("Task with ID " + task.getId() + " not found");
         }
@@ -251,7 +447,11 @@ public class TaskService {
             }
         }
         
-        return taskDAO.updateTask(task);
+        try {
+            return taskDAO.updateTask(task);
+        } finally {
+            taskCache.invalidate(task.getId());
+        }
     }
     
     /**
@@ -271,12 +471,16 @@ public class TaskService {
         }
         
         // Check if task exists
-        Optional<Task> task = taskDAO.findById(taskId);
+        Optional<Task> task = findTaskById(taskId);
         if (task.isEmpty()) {
             throw new IllegalArgumentException("Task with ID " + taskId + " not found");
         }
         
-        return taskDAO.updateTaskStatus(taskId, newStatus);
+        try {
+            return taskDAO.updateTaskStatus(taskId, newStatus);
+        } finally {
+            taskCache.invalidate(taskId);
+        }
     }
     
     /**
@@ -292,7 +496,7 @@ public class TaskService {
         }
         
         // Check if task exists
-        Optional<Task> taskOpt = taskDAO.findById(taskId);
+        Optional<Task> taskOpt = findTaskById(taskId);
         if (taskOpt.isEmpty()) {
             throw new IllegalArgumentException("Task with ID " + taskId + " not found");
         }
@@ -311,7 +515,11 @@ public class TaskService {
         
         Task task = taskOpt.get();
         task.setAssignedTo(userId);
-        return taskDAO.updateTask(task);
+        try {
+            return taskDAO.updateTask(task);
+        } finally {
+            taskCache.invalidate(taskId);
+        }
     }
     
     /**
@@ -326,12 +534,93 @@ public class TaskService {
         }
         
         // Check if task exists
-        Optional<Task> task = taskDAO.findById(id);
+        Optional<Task> task = findTaskById(id);
         if (task.isEmpty()) {
             throw new IllegalArgumentException("Task with ID " + id + " not found");
         }
         
-        return taskDAO.deleteTask(id);
+        try {
+            return taskDAO.deleteTask(id);
+        } finally {
+            taskCache.invalidate(id);
+        }
+    }
+    
+    /**
+     * Set the status of many tasks at once, in one transaction
+     * @param taskIds IDs of the tasks to update
+     * @param newStatus New status
+     * @return number of tasks updated; IDs that no longer exist are skipped
+     * @throws SQLException if database operation fails
+     */
+    public int updateStatusForTasks(Collection<Integer> taskIds, TaskStatus newStatus) throws SQLException {
+        validateTaskIds(taskIds);
+        if (newStatus == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        try {
+            return taskDAO.updateStatusForTasks(taskIds, newStatus);
+        } finally {
+            taskCache.tasksWritten(taskIds);
+        }
+    }
+    
+    /**
+     * Assign many tasks to one user at once, in one transaction
+     * @param taskIds IDs of the tasks to update
+     * @param userId User ID (null to unassign)
+     * @return number of tasks updated; IDs that no longer exist are skipped
+     * @throws SQLException if database operation fails
+     */
+    public int assignTasks(Collection<Integer> taskIds, Integer userId) throws SQLException {
+        validateTaskIds(taskIds);
+        if (userId != null) {
+            if (userId <= 0) {
+                throw new IllegalArgumentException("User ID must be positive");
+            }
+            if (userDAO.findById(userId).isEmpty()) {
+                throw new IllegalArgumentException("User with ID " + userId + " not found");
+            }
+        }
+        try {
+            return taskDAO.assignTasks(taskIds, userId);
+        } finally {
+            taskCache.tasksWritten(taskIds);
+        }
+    }
+    
+    /**
+     * Move many tasks to one category at once, in one transaction
+     * @param taskIds IDs of the tasks to update
+     * @param categoryId Category ID (null to clear the category)
+     * @return number of tasks updated; IDs that no longer exist are skipped
+     * @throws SQLException if database operation fails
+     */
+    public int setCategoryForTasks(Collection<Integer> taskIds, Integer categoryId) throws SQLException {
+        validateTaskIds(taskIds);
+        if (categoryId != null && categoryId <= 0) {
+            throw new IllegalArgumentException("Category ID must be positive");
+        }
+        try {
+            return taskDAO.setCategoryForTasks(taskIds, categoryId);
+        } finally {
+            taskCache.tasksWritten(taskIds);
+        }
+    }
+    
+    /**
+     * Delete many tasks at once, in one transaction
+     * @param taskIds IDs of the tasks to delete
+     * @return number of tasks deleted; IDs that no longer exist are skipped
+     * @throws SQLException if database operation fails
+     */
+    public int deleteTasks(Collection<Integer> taskIds) throws SQLException {
+        validateTaskIds(taskIds);
+        try {
+            return taskDAO.deleteTasks(taskIds);
+        } finally {
+            taskCache.tasksWritten(taskIds);
+        }
     }
     
     /**
@@ -425,6 +714,20 @@ public class TaskService {
         return new TaskStatistics(todoCount, inProgressCount, completedCount, overdueCount);
     }
     
+    /**
+     * Validate the task IDs of a bulk operation
+     */
+    private void validateTaskIds(Collection<Integer> taskIds) {
+        if (taskIds == null) {
+            throw new IllegalArgumentException("Task IDs cannot be null");
+        }
+        for (Integer taskId : taskIds) {
+            if (taskId == null || taskId <= 0) {
+                throw new IllegalArgumentException("Task ID must be positive");
+            }
+        }
+    }
+    
     /**
      * Validate task input
      * @param title Task title
@@ -0,0 +1,171 @@
+package com.worksphere.service;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.dao.TaskWriteListener;
+import com.worksphere.model.TaskChangeSet;
+import com.worksphere.model.TaskSnapshot;
+import com.worksphere.model.TaskSummary;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Application-wide task list shared by the views that show every task the
+ * user may see (dashboard, task list, board, timer).
+ *
+ * The store holds one immutable TaskSnapshot of task summaries; full tasks
+ * are loaded by id when a view opens one. refresh() reads the summary
+ * change feed since that snapshot and, only if something changed, publishes
+ * a new snapshot with the next epoch and tells every listener what changed.
+ * One refresh therefore costs one delta query however many views are open,
+ * and a view that already shows the current epoch has nothing to do.
+ */
+public class TaskStore implements TaskWriteListener {
+
+    private static TaskStore shared;
+
+    // Same order as TaskDAO.findAllSummaries; SQLite sorts a NULL created_at last
+    private static final Comparator<TaskSummary> NEWEST_FIRST =
+        Comparator.comparing(TaskSummary::getCreatedAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparingInt(TaskSummary::getId).reversed();
+
+    private final TaskService taskService;
+    private final List<TaskStoreListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile TaskSnapshot snapshot;
+    private volatile boolean reloadRequested = false;
+
+    public TaskStore(TaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    /**
+     * Get the application-wide store, reloaded in full after writes that may
+     * change how every task is displayed
+     */
+    public static synchronized TaskStore getShared() {
+        if (shared == null) {
+            shared = new TaskStore(new TaskService());
+            TaskDAO.addWriteListener(shared);
+        }
+        return shared;
+    }
+
+    public void addListener(TaskStoreListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(TaskStoreListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return the current snapshot, loading the first one if needed
+     * @throws SQLException if the first load fails
+     */
+    public TaskSnapshot getSnapshot() throws SQLException {
+        TaskSnapshot current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    /**
+     * Bring the snapshot up to date with the database, notifying listeners on
+     * this thread if a new epoch is published
+     * @return the current snapshot
+     * @throws SQLException if database operation fails
+     */
+    public synchronized TaskSnapshot refresh() throws SQLException {
+        TaskSnapshot current = snapshot;
+        if (current == null || reloadRequested) {
+            return reload(current != null ? current.getEpoch() + 1 : 1);
+        }
+
+        TaskChangeSet<TaskSummary> feed = taskService.getTaskSummaryChangesSince(current.getWatermark(), null);
+        if (feed.isReloadRequired()) {
+            return reload(current.getEpoch() + 1);
+        }
+
+        // The feed re-delivers the watermark's own second; skip rows the snapshot already has
+        Map<Integer, TaskSummary> changedById = new LinkedHashMap<>();
+        for (TaskSummary summary : feed.getChanged()) {
+            if (!sameContent(summary, current.getSummary(summary.getId()))) {
+                changedById.put(summary.getId(), summary);
+            }
+        }
+        Set<Integer> removedIds = new HashSet<>();
+        for (Integer taskId : feed.getRemovedIds()) {
+            if (current.getSummary(taskId) != null) {
+                removedIds.add(taskId);
+            }
+        }
+        if (changedById.isEmpty() && removedIds.isEmpty()) {
+            return current;
+        }
+
+        List<TaskSummary> changed = new ArrayList<>(changedById.values());
+        List<TaskSummary> summaries = new ArrayList<>(current.size() + changed.size());
+        for (TaskSummary summary : current.getSummaries()) {
+            if (removedIds.contains(summary.getId())) {
+                continue;
+            }
+            TaskSummary replacement = changedById.remove(summary.getId());
+            summaries.add(replacement != null ? replacement : summary);
+        }
+        if (!changedById.isEmpty()) {
+            summaries.addAll(changedById.values());
+            summaries.sort(NEWEST_FIRST);
+        }
+
+        TaskChangeSet<TaskSummary> changes = new TaskChangeSet<>(changed, removedIds, feed.getWatermark());
+        return publish(new TaskSnapshot(current.getEpoch() + 1, feed.getWatermark(), summaries), changes);
+    }
+
+    private TaskSnapshot reload(long epoch) throws SQLException {
+        // Cleared first, so a write during the load asks for another reload
+        reloadRequested = false;
+        String watermark = taskService.getChangeWatermark();
+        List<TaskSummary> summaries = taskService.getAllTaskSummaries();
+        System.out.println("📋 Task store loaded " + summaries.size() + " tasks (epoch " + epoch + ")");
+        return publish(new TaskSnapshot(epoch, watermark, summaries), null);
+    }
+
+    private TaskSnapshot publish(TaskSnapshot next, TaskChangeSet<TaskSummary> changes) {
+        snapshot = next;
+        for (TaskStoreListener listener : listeners) {
+            listener.snapshotChanged(next, changes);
+        }
+        return next;
+    }
+
+    private static boolean sameContent(TaskSummary summary, TaskSummary known) {
+        return known != null
+            && Objects.equals(summary.getUpdatedAt(), known.getUpdatedAt())
+            && Objects.equals(summary.getTitle(), known.getTitle())
+            && summary.getStatus() == known.getStatus()
+            && summary.getPriority() == known.getPriority()
+            && Objects.equals(summary.getDueDate(), known.getDueDate())
+            && Objects.equals(summary.getAssignedTo(), known.getAssignedTo())
+            && Objects.equals(summary.getAssignedToName(), known.getAssignedToName())
+            && summary.getCreatedBy() == known.getCreatedBy();
+    }
+
+    @Override
+    public void tasksWritten(Collection<Integer> taskIds) {
+        // Picked up from the change feed on the next refresh
+    }
+
+    @Override
+    public void allTasksWritten() {
+        reloadRequested = true;
+    }
+}
@@ -0,0 +1,21 @@
+package com.worksphere.service;
+
+import com.worksphere.model.TaskChangeSet;
+import com.worksphere.model.TaskSnapshot;
+import com.worksphere.model.TaskSummary;
+
+/**
+ * Callback for new task snapshots, registered with TaskStore.addListener.
+ * Called on the thread that ran TaskStore.refresh.
+ */
+public interface TaskStoreListener {
+
+    /**
+     * A snapshot with a new epoch was published
+     * @param snapshot The new snapshot
+     * @param changes Tasks changed or removed since the snapshot with the
+     *                previous epoch, or null if the store was reloaded and
+     *                views must render the whole snapshot
+     */
+    void snapshotChanged(TaskSnapshot snapshot, TaskChangeSet<TaskSummary> changes);
+}
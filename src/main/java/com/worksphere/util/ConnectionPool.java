@@ -0,0 +1,410 @@
+package com.worksphere.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded pool of physical JDBC connections.
+ *
+ * Callers receive a lightweight proxy; closing it hands the physical
+ * connection back to the pool instead of closing it, so existing
+ * try-with-resources code keeps working unchanged.
+ */
+public class ConnectionPool {
+
+    private final String url;
+    private final Properties connectionProperties;
+    private final int maxConnections;
+    private final long acquireTimeoutMillis;
+    private final long leakDetectionThresholdMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition connectionReturned = lock.newCondition();
+    private final Deque<Connection> idleConnections = new ArrayDeque<>();
+    private final Set<PooledConnection> leasedConnections = ConcurrentHashMap.newKeySet();
+    private int totalConnections = 0;
+    private boolean shutdown = false;
+
+    // Metrics
+    private final AtomicLong totalAcquisitions = new AtomicLong();
+    private final AtomicLong totalTimeouts = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong leaksDetected = new AtomicLong();
+
+    private final ScheduledExecutorService leakDetector;
+
+    /**
+     * Create a new pool. Connections are opened lazily as demand grows.
+     * @param url JDBC URL
+     * @param username Database username (null or empty for none)
+     * @param password Database password
+     * @param maxConnections Maximum number of physical connections
+     * @param acquireTimeoutMillis How long getConnection waits for a free connection
+     * @param leakDetectionThresholdMillis Lease age after which a connection is reported as leaked (0 disables)
+     */
+    public ConnectionPool(String url, String username, String password, int maxConnections,
+                          long acquireTimeoutMillis, long leakDetectionThresholdMillis) {
+        this(url, credentials(username, password), maxConnections, acquireTimeoutMillis, leakDetectionThresholdMillis);
+    }
+    
+    /**
+     * Create a new pool whose connections are opened with the given driver properties.
+     * @param url JDBC URL
+     * @param connectionProperties Driver properties passed to every new connection
+     * @param maxConnections Maximum number of physical connections
+     * @param acquireTimeoutMillis How long getConnection waits for a free connection
+     * @param leakDetectionThresholdMillis Lease age after which a connection is reported as leaked (0 disables)
+     */
+    public ConnectionPool(String url, Properties connectionProperties, int maxConnections,
+                          long acquireTimeoutMillis, long leakDetectionThresholdMillis) {
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("maxConnections must be positive");
+        }
+        this.url = url;
+        this.connectionProperties = connectionProperties;
+        this.maxConnections = maxConnections;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+
+        if (leakDetectionThresholdMillis > 0) {
+            leakDetector = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "worksphere-pool-leak-detector");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(1000, leakDetectionThresholdMillis / 2);
+            leakDetector.scheduleAtFixedRate(this::detectLeaks, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            leakDetector = null;
+        }
+    }
+
+    /**
+     * Borrow a connection, waiting up to the configured timeout if the pool is exhausted
+     * @return pooled connection; close it to return it to the pool
+     * @throws SQLException if no connection becomes available in time or opening one fails
+     */
+    public Connection getConnection() throws SQLException {
+        long startNanos = System.nanoTime();
+        Connection physical = null;
+        boolean createNew = false;
+
+        lock.lock();
+        try {
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+            while (true) {
+                if (shutdown) {
+                    throw new SQLException("Connection pool has been shut down");
+                }
+                if (!idleConnections.isEmpty()) {
+                    physical = idleConnections.pollFirst();
+                    break;
+                }
+                if (totalConnections < maxConnections) {
+                    // Reserve the slot now, open the connection outside the lock
+                    totalConnections++;
+                    createNew = true;
+                    break;
+                }
+                if (remainingNanos <= 0) {
+                    totalTimeouts.incrementAndGet();
+                    throw new SQLException("Timed out after " + acquireTimeoutMillis +
+                        " ms waiting for a database connection (pool size " + maxConnections + ")");
+                }
+                try {
+                    remainingNanos = connectionReturned.awaitNanos(remainingNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a database connection", e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (createNew) {
+            try {
+                physical = openPhysicalConnection();
+            } catch (SQLException | RuntimeException e) {
+                discardSlot();
+                throw e;
+            }
+        }
+
+        long waitNanos = System.nanoTime() - startNanos;
+        totalAcquisitions.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+
+        PooledConnection lease = new PooledConnection(physical);
+        leasedConnections.add(lease);
+        return lease.proxy;
+    }
+
+    /**
+     * Get a snapshot of the pool metrics
+     */
+    public PoolStats getStats() {
+        lock.lock();
+        try {
+            long acquisitions = totalAcquisitions.get();
+            return new PoolStats(
+                leasedConnections.size(),
+                idleConnections.size(),
+                totalConnections,
+                maxConnections,
+                acquisitions,
+                totalTimeouts.get(),
+                acquisitions > 0 ? totalWaitNanos.get() / 1_000_000.0 / acquisitions : 0.0,
+                maxWaitNanos.get() / 1_000_000.0,
+                leaksDetected.get()
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Close all idle connections and refuse new requests.
+     * Connections still leased are closed when they are returned.
+     */
+    public void shutdown() {
+        List<Connection> toClose;
+        lock.lock();
+        try {
+            shutdown = true;
+            toClose = new ArrayList<>(idleConnections);
+            totalConnections -= idleConnections.size();
+            idleConnections.clear();
+            connectionReturned.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Connection connection : toClose) {
+            closeQuietly(connection);
+        }
+        if (leakDetector != null) {
+            leakDetector.shutdownNow();
+        }
+    }
+
+    private Connection openPhysicalConnection() throws SQLException {
+        return DriverManager.getConnection(url, connectionProperties);
+    }
+    
+    private static Properties credentials(String username, String password) {
+        Properties credentials = new Properties();
+        if (username != null && !username.trim().isEmpty()) {
+            credentials.setProperty("user", username);
+            credentials.setProperty("password", password != null ? password : "");
+        }
+        return credentials;
+    }
+
+    private void release(PooledConnection lease) {
+        leasedConnections.remove(lease);
+        lease.closeOpenStatements();
+
+        Connection physical = lease.physical;
+        boolean reusable;
+        try {
+            if (!physical.getAutoCommit()) {
+                // Never hand out a connection with someone else's open transaction
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            reusable = !physical.isClosed();
+        } catch (SQLException e) {
+            reusable = false;
+        }
+
+        lock.lock();
+        try {
+            if (reusable && !shutdown) {
+                idleConnections.addFirst(physical);
+                connectionReturned.signal();
+                return;
+            }
+            totalConnections--;
+            connectionReturned.signal();
+        } finally {
+            lock.unlock();
+        }
+        closeQuietly(physical);
+    }
+
+    private void discardSlot() {
+        lock.lock();
+        try {
+            totalConnections--;
+            connectionReturned.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void detectLeaks() {
+        long now = System.currentTimeMillis();
+        for (PooledConnection lease : leasedConnections) {
+            if (!lease.leakReported && now - lease.leasedAtMillis > leakDetectionThresholdMillis) {
+                lease.leakReported = true;
+                leaksDetected.incrementAndGet();
+                System.err.println("⚠️  Possible connection leak: connection held for " +
+                    (now - lease.leasedAtMillis) + " ms, acquired at:");
+                lease.acquiredAt.printStackTrace();
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One lease of a physical connection. Tracks the statements created through it
+     * so they can be closed when the connection goes back to the pool.
+     */
+    private class PooledConnection implements InvocationHandler {
+        private final Connection physical;
+        private final Connection proxy;
+        private final long leasedAtMillis = System.currentTimeMillis();
+        private final Throwable acquiredAt;
+        private final List<Statement> openStatements = new ArrayList<>();
+        private volatile boolean closed = false;
+        private volatile boolean leakReported = false;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.acquiredAt = leakDetectionThresholdMillis > 0 ? new Throwable("Connection acquired here") : null;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxyInstance, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physical.isClosed();
+                case "equals":
+                    return proxyInstance == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxyInstance);
+                case "toString":
+                    return "PooledConnection[" + physical + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+
+            Object result;
+            try {
+                result = method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if (result instanceof Statement) {
+                synchronized (openStatements) {
+                    openStatements.add((Statement) result);
+                }
+            }
+            return result;
+        }
+
+        void closeOpenStatements() {
+            synchronized (openStatements) {
+                for (Statement statement : openStatements) {
+                    try {
+                        if (!statement.isClosed()) {
+                            statement.close();
+                        }
+                    } catch (SQLException e) {
+                        // Statement already unusable, nothing more to release
+                    }
+                }
+                openStatements.clear();
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of pool metrics
+     */
+    public static class PoolStats {
+        private final int activeConnections;
+        private final int idleConnections;
+        private final int totalConnections;
+        private final int maxConnections;
+        private final long totalAcquisitions;
+        private final long totalTimeouts;
+        private final double averageWaitMillis;
+        private final double maxWaitMillis;
+        private final long leaksDetected;
+
+        public PoolStats(int activeConnections, int idleConnections, int totalConnections, int maxConnections,
+                         long totalAcquisitions, long totalTimeouts, double averageWaitMillis,
+                         double maxWaitMillis, long leaksDetected) {
+            this.activeConnections = activeConnections;
+            this.idleConnections = idleConnections;
+            this.totalConnections = totalConnections;
+            this.maxConnections = maxConnections;
+            this.totalAcquisitions = totalAcquisitions;
+            this.totalTimeouts = totalTimeouts;
+            this.averageWaitMillis = averageWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+            this.leaksDetected = leaksDetected;
+        }
+
+        public int getActiveConnections() { return activeConnections; }
+        public int getIdleConnections() { return idleConnections; }
+        public int getTotalConnections() { return totalConnections; }
+        public int getMaxConnections() { return maxConnections; }
+        public long getTotalAcquisitions() { return totalAcquisitions; }
+        public long getTotalTimeouts() { return totalTimeouts; }
+        public double getAverageWaitMillis() { return averageWaitMillis; }
+        public double getMaxWaitMillis() { return maxWaitMillis; }
+        public long getLeaksDetected() { return leaksDetected; }
+
+        @Override
+        public String toString() {
+            return String.format("PoolStats{active=%d, idle=%d, total=%d, max=%d, acquisitions=%d, " +
+                    "timeouts=%d, avgWait=%.3fms, maxWait=%.3fms, leaks=%d}",
+                    activeConnections, idleConnections, totalConnections, maxConnections,
+                    totalAcquisitions, totalTimeouts, averageWaitMillis, maxWaitMillis, leaksDetected);
+        }
+    }
+}
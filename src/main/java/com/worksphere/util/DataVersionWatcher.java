@@ -0,0 +1,139 @@
+package com.worksphere.util;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notices commits made by other WorkSphere instances sharing the database
+ * file, so open views can refresh without the user clicking Refresh.
+ *
+ * Polls DatabaseConnection.readDataVersion, built on PRAGMA data_version, a
+ * counter SQLite keeps in shared memory that changes only when another
+ * connection commits; this process's own writes do not move it. A poll is
+ * one tiny query that reads no table pages, so it can run every second;
+ * listeners are called only when the value actually moved.
+ */
+public class DataVersionWatcher implements AutoCloseable {
+
+    private static DataVersionWatcher shared;
+
+    /**
+     * Source of the version counter, read on the polling thread
+     */
+    @FunctionalInterface
+    public interface VersionSource {
+        long read() throws SQLException;
+    }
+
+    /**
+     * Called on the polling thread after another connection committed
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void databaseChanged();
+    }
+
+    private final VersionSource source;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService poller;
+
+    private boolean hasVersion = false;
+    private long lastVersion;
+    private boolean failing = false;
+
+    /**
+     * Create a watcher; polling starts with the first listener
+     * @param source Version counter to poll
+     * @param pollIntervalMillis Time between polls
+     */
+    public DataVersionWatcher(VersionSource source, long pollIntervalMillis) {
+        if (pollIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Poll interval must be positive");
+        }
+        this.source = source;
+        this.poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "worksphere-change-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(() -> {
+            if (!listeners.isEmpty()) {
+                poll();
+            }
+        }, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Check whether change watching is enabled (db.changePollMs > 0)
+     */
+    public static boolean isEnabled() {
+        return DatabaseConnection.isSQLite() && DatabaseConnection.getIntProperty("db.changePollMs", 0) > 0;
+    }
+
+    /**
+     * Get the application-wide watcher, polling every db.changePollMs.
+     * It stops before the connection pool shuts down.
+     */
+    public static synchronized DataVersionWatcher getShared() {
+        if (shared == null) {
+            shared = new DataVersionWatcher(DatabaseConnection::readDataVersion,
+                DatabaseConnection.getIntProperty("db.changePollMs", 1000));
+            DatabaseConnection.addShutdownTask(shared::close);
+        }
+        return shared;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Read the counter once and notify listeners if it moved since the last
+     * read. The first read only records the starting value.
+     * @return true if listeners were notified
+     */
+    public synchronized boolean poll() {
+        long version;
+        try {
+            version = source.read();
+        } catch (SQLException e) {
+            if (!failing) {
+                // Report once per outage, not once per poll
+                System.err.println("Change watcher cannot read data_version: " + e.getMessage());
+                failing = true;
+            }
+            return false;
+        }
+        failing = false;
+
+        boolean changed = hasVersion && version != lastVersion;
+        hasVersion = true;
+        lastVersion = version;
+        if (changed) {
+            for (Listener listener : listeners) {
+                try {
+                    listener.databaseChanged();
+                } catch (RuntimeException e) {
+                    System.err.println("Error in change listener: " + e.getMessage());
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Stop polling
+     */
+    @Override
+    public void close() {
+        poller.shutdownNow();
+    }
+}
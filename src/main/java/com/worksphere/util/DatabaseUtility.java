@@ -39,6 +39,10 @@ public class DatabaseUtility {
         boolean isConnected = DatabaseConnection.testConnection();
         if (isConnected) {
             System.out.println("✅ Database connection is working properly");
+            System.out.println("ℹ️  " + DatabaseConnection.getPoolStats());
+            if (DatabaseConnection.isSingleWriterMode()) {
+                System.out.println("ℹ️  Writer:  " + DatabaseConnection.getWritePoolStats());
+            }
         } else {
             System.out.println("❌ Database connection failed");
         }
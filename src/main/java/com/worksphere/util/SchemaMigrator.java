@@ -0,0 +1,618 @@
+package com.worksphere.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned schema migrations.
+ *
+ * The applied version is recorded in the schema_version table. Startup against an
+ * up-to-date database costs a single lookup; pending migrations are applied in
+ * order inside one transaction.
+ */
+public final class SchemaMigrator {
+    private static final String SCHEMA_FILE = "/schema.sql";
+
+    private static final String SELECT_CURRENT_VERSION = "SELECT MAX(version) FROM schema_version";
+    private static final String CREATE_SCHEMA_VERSION_TABLE =
+        "CREATE TABLE IF NOT EXISTS schema_version (" +
+        "version INTEGER PRIMARY KEY, " +
+        "description TEXT NOT NULL, " +
+        "applied_at DATETIME DEFAULT CURRENT_TIMESTAMP, " +
+        "execution_ms INTEGER" +
+        ")";
+    private static final String INSERT_SCHEMA_VERSION =
+        "INSERT INTO schema_version (version, description, execution_ms) VALUES (?, ?, ?)";
+
+    /**
+     * A single schema change
+     */
+    @FunctionalInterface
+    public interface MigrationStep {
+        void apply(Connection connection) throws SQLException;
+    }
+
+    /**
+     * A numbered migration. Versions must be unique and increasing.
+     */
+    public static final class Migration {
+        private final int version;
+        private final String description;
+        private final MigrationStep step;
+
+        public Migration(int version, String description, MigrationStep step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+
+        public int getVersion() { return version; }
+        public String getDescription() { return description; }
+    }
+
+    // Ordered list of all migrations. Append new ones; never renumber or edit applied ones.
+    private static final List<Migration> MIGRATIONS = Collections.unmodifiableList(Arrays.asList(
+        new Migration(1, "Create base schema from schema.sql", SchemaMigrator::createBaseSchema),
+        new Migration(2, "Add is_admin column to users", SchemaMigrator::addAdminColumn),
+        new Migration(3, "Add enhanced task columns", SchemaMigrator::addEnhancedTaskColumns),
+        new Migration(4, "Initialize default values for existing tasks", SchemaMigrator::initializeTaskDefaults),
+        new Migration(5, "Insert sample users and tasks", SchemaMigrator::insertSampleData),
+        new Migration(6, "Limit demo dataset to 20 tasks", SchemaMigrator::limitDemoTasks),
+        new Migration(7, "Enhance demo tasks with categories, estimates and tags", SchemaMigrator::enhanceDemoTasks),
+        new Migration(8, "Create full-text search index for tasks", SchemaMigrator::createTaskSearchIndex),
+        new Migration(9, "Index tasks by creation time", SchemaMigrator::addCreatedAtIndex),
+        new Migration(10, "Track task changes and deletions for incremental refresh", SchemaMigrator::createTaskChangeTracking),
+        new Migration(11, "Index the task page key", SchemaMigrator::addPageKeyIndex),
+        new Migration(12, "Record how far task tombstones have been pruned", SchemaMigrator::createTombstoneHorizon)
+    ));
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * Bring the database up to the latest schema version
+     * @param connection Database connection (auto-commit mode)
+     * @return number of migrations applied
+     * @throws SQLException if a migration fails; all pending migrations are rolled back
+     */
+    public static int migrate(Connection connection) throws SQLException {
+        int currentVersion = getCurrentVersion(connection);
+
+        List<Migration> pending = new ArrayList<>();
+        for (Migration migration : MIGRATIONS) {
+            if (migration.getVersion() > currentVersion) {
+                pending.add(migration);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            System.out.println("✅ Database schema is up to date (version " + currentVersion + ")");
+            return 0;
+        }
+
+        System.out.println("🔄 Migrating database schema from version " + currentVersion +
+                           " to " + getLatestVersion() + " (" + pending.size() + " pending)...");
+        long totalStart = System.nanoTime();
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute(CREATE_SCHEMA_VERSION_TABLE);
+            }
+
+            try (PreparedStatement recordVersion = connection.prepareStatement(INSERT_SCHEMA_VERSION)) {
+                for (Migration migration : pending) {
+                    long start = System.nanoTime();
+                    migration.step.apply(connection);
+                    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+                    recordVersion.setInt(1, migration.getVersion());
+                    recordVersion.setString(2, migration.getDescription());
+                    recordVersion.setLong(3, elapsedMillis);
+                    recordVersion.executeUpdate();
+
+                    System.out.println("  ✅ v" + migration.getVersion() + " " + migration.getDescription() +
+                                       " (" + elapsedMillis + " ms)");
+                }
+            }
+
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            System.err.println("❌ Database migration failed, all pending migrations rolled back: " + e.getMessage());
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+
+        System.out.println("✅ Database migrated to version " + getLatestVersion() + " in " +
+                           (System.nanoTime() - totalStart) / 1_000_000 + " ms");
+        return pending.size();
+    }
+
+    /**
+     * Get the schema version recorded in the database
+     * @param connection Database connection
+     * @return highest applied version, or 0 if the database has never been migrated
+     * @throws SQLException if the lookup fails for a reason other than a missing table
+     */
+    public static int getCurrentVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_CURRENT_VERSION)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            if (e.getMessage() != null && e.getMessage().contains("no such table: schema_version")) {
+                return 0;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Get the version the code expects
+     * @return version of the last registered migration
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).getVersion();
+    }
+
+    /**
+     * Check whether a table has a column
+     */
+    static boolean columnExists(Connection connection, String table, String column) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add a column unless it already exists (databases created before versioning)
+     * @return true if the column was added
+     */
+    static boolean addColumnIfMissing(Connection connection, String table, String column, String definition)
+            throws SQLException {
+        if (columnExists(connection, table, column)) {
+            return false;
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+        return true;
+    }
+
+    // ------------------------------------------------------------------
+    // Migrations
+    // ------------------------------------------------------------------
+
+    /**
+     * v1: execute schema.sql. Statements that fail on databases created by older
+     * versions (e.g. indexes on columns added later) are reported and skipped.
+     */
+    private static void createBaseSchema(Connection connection) throws SQLException {
+        try (InputStream input = SchemaMigrator.class.getResourceAsStream(SCHEMA_FILE)) {
+            if (input == null) {
+                throw new SQLException(SCHEMA_FILE + " not found");
+            }
+
+            // Read the entire schema file
+            StringBuilder schemaBuilder = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    // Skip comments and empty lines
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("--")) {
+                        schemaBuilder.append(line).append(" ");
+                    }
+                }
+            }
+
+            // Split by semicolon to get individual SQL statements
+            String[] statements = schemaBuilder.toString().split(";");
+
+            try (Statement stmt = connection.createStatement()) {
+                for (String sql : statements) {
+                    sql = sql.trim();
+                    if (!sql.isEmpty()) {
+                        try {
+                            stmt.execute(sql);
+                        } catch (SQLException e) {
+                            System.err.println("Warning: Failed to execute SQL statement: " + sql);
+                            System.err.println("Error: " + e.getMessage());
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new SQLException("Error reading schema file", e);
+        }
+    }
+
+    /**
+     * v2: is_admin flag for databases created before user roles existed
+     */
+    private static void addAdminColumn(Connection connection) throws SQLException {
+        if (addColumnIfMissing(connection, "users", "is_admin", "BOOLEAN DEFAULT 0")) {
+            // Make the first user (typically admin) an admin
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("UPDATE users SET is_admin = 1 WHERE id = 1");
+            }
+        }
+    }
+
+    /**
+     * v3: analytics/recurrence columns for databases created before they existed
+     */
+    private static void addEnhancedTaskColumns(Connection connection) throws SQLException {
+        addColumnIfMissing(connection, "tasks", "completed_at", "DATETIME");
+        addColumnIfMissing(connection, "tasks", "estimated_minutes", "INTEGER DEFAULT 0");
+        addColumnIfMissing(connection, "tasks", "actual_minutes", "INTEGER DEFAULT 0");
+        addColumnIfMissing(connection, "tasks", "category_id", "INTEGER");
+        addColumnIfMissing(connection, "tasks", "recurrence_rule", "TEXT");
+        addColumnIfMissing(connection, "tasks", "parent_task_id", "INTEGER");
+        addColumnIfMissing(connection, "tasks", "last_worked_at", "DATETIME");
+        addColumnIfMissing(connection, "tasks", "tags", "TEXT DEFAULT ''");
+
+        // Indexes from schema.sql that could not be created before these columns existed
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_tasks_category_id ON tasks(category_id)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_tasks_completed_at ON tasks(completed_at)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_tasks_last_worked_at ON tasks(last_worked_at)");
+        }
+    }
+
+    /**
+     * v4: fill in defaults for rows created before the enhanced columns existed
+     */
+    private static void initializeTaskDefaults(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            // Update tasks with null or empty tags to have empty string
+            stmt.execute("UPDATE tasks SET tags = '' WHERE tags IS NULL");
+
+            // Set default estimated_minutes for tasks that don't have it set (1 hour default)
+            stmt.execute("UPDATE tasks SET estimated_minutes = 60 WHERE estimated_minutes = 0 OR estimated_minutes IS NULL");
+
+            // Set default actual_minutes to 0 for tasks that don't have it set
+            stmt.execute("UPDATE tasks SET actual_minutes = 0 WHERE actual_minutes IS NULL");
+
+            // Set default category_id to NULL for tasks that don't have a valid category
+            stmt.execute("UPDATE tasks SET category_id = NULL WHERE category_id = 0");
+
+            // Initialize completed_at for completed tasks that don't have it
+            stmt.execute("UPDATE tasks SET completed_at = datetime('now') WHERE status = 'COMPLETED' AND completed_at IS NULL");
+
+            // Initialize last_worked_at for in-progress tasks
+            stmt.execute("UPDATE tasks SET last_worked_at = datetime('now') WHERE status = 'IN_PROGRESS' AND last_worked_at IS NULL");
+        }
+    }
+
+    /**
+     * v5: sample users, plus the ten sample tasks unless they are already present
+     */
+    private static void insertSampleData(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("INSERT OR IGNORE INTO users (username, email, full_name, is_admin) VALUES " +
+                        "('admin', 'admin@trello.com', 'System Administrator', 1)");
+            stmt.execute("INSERT OR IGNORE INTO users (username, email, full_name, is_admin) VALUES " +
+                        "('john_doe', 'john.doe@example.com', 'John Doe', 0)");
+            stmt.execute("INSERT OR IGNORE INTO users (username, email, full_name, is_admin) VALUES " +
+                        "('jane_smith', 'jane.smith@example.com', 'Jane Smith', 0)");
+            stmt.execute("INSERT OR IGNORE INTO users (username, email, full_name, is_admin) VALUES " +
+                        "('mike_wilson', 'mike.wilson@example.com', 'Mike Wilson', 0)");
+
+            int sampleTaskCount = queryInt(stmt,
+                "SELECT COUNT(*) FROM tasks WHERE title IN (" +
+                "'Setup project environment', " +
+                "'Design database schema', " +
+                "'Implement user authentication', " +
+                "'Create task management UI', " +
+                "'Write unit tests'" +
+                ")");
+
+            // Only insert sample tasks if we have fewer than 5 sample tasks (to account for potential partial insertions)
+            if (sampleTaskCount >= 5) {
+                System.out.println("ℹ️  Sample tasks already exist (" + sampleTaskCount + " found), skipping insertion.");
+                return;
+            }
+
+            int userCount = queryInt(stmt, "SELECT COUNT(*) FROM users");
+            if (userCount < 4) {
+                System.out.println("⚠️  Skipping task insertion: insufficient users in database (found " + userCount + ", need at least 4)");
+                return;
+            }
+
+            try {
+                // Insert WITHOUT specifying IDs to let auto-increment work properly
+                stmt.execute("INSERT INTO tasks (title, description, priority, status, due_date, assigned_to, created_by) VALUES " +
+                            "('Setup project environment', 'Configure development environment and install necessary tools', 'HIGH', 'COMPLETED', '2024-01-15', 2, 1)");
+                stmt.execute("INSERT INTO tasks (title, description, priority, status, due_date, assigned_to, created_by) VALUES " +
+                            "('Design database schema', 'Create ERD and implement database tables', 'HIGH', 'COMPLETED', '2024-01-20', 2, 1)");
+                stmt.execute("INSERT INTO tasks (title, description, priority, status, due_date, assigned_to, created_by) VALUES " +
+                            "('Implement user authentication', 'Build login and registration functionality', 'MEDIUM', 'IN_PROGRESS', '2024-02-01', 3, 1)");
+                stmt.execute("INSERT INTO tasks (title, description, priority, status, due_date, assigned_to, created_by) VALUES " +
+                            "('Create task management UI', 'Design and implement user interface for task management', 'MEDIUM', 'TODO', '2024-02-15', 3, 1)");
+                stmt.execute("INSERT INTO tasks (title, description, priority, status, due_date, assigned_to, created_by) VALUES " +
+                            "('Write unit tests', 'Implement comprehensive test suite', 'LOW', 'TODO', '2024-03-01', 4, 1)");
+                stmt.execute("INSERT INTO tasks (title, description, priority, status, due_date, assigned_to, created_by) VALUES " +
+                            "('Deploy to production', 'Setup production environment and deploy application', 'URGENT', 'TODO', '2024-03-15', 2, 1)");
+                stmt.execute("INSERT INTO tasks (title, description, priority, status, due_date, assigned_to, created_by) VALUES " +
+                            "('Code review process', 'Establish code review guidelines and implement peer review workflow', 'MEDIUM', 'TODO', '2024-02-10', 3, 1)");
+                stmt.execute("INSERT INTO tasks (title, description, priority, status, due_date, assigned_to, created_by) VALUES " +
+                            "('Performance optimization', 'Analyze and optimize application performance bottlenecks', 'HIGH', 'TODO', '2024-02-28', 2, 1)");
+                stmt.execute("INSERT INTO tasks (title, description, priority, status, due_date, assigned_to, created_by) VALUES " +
+                            "('Documentation update', 'Update user manual and API documentation', 'LOW', 'TODO', '2024-03-10', 4, 1)");
+                stmt.execute("INSERT INTO tasks (title, description, priority, status, due_date, assigned_to, created_by) VALUES " +
+                            "('Security audit', 'Conduct comprehensive security audit and fix vulnerabilities', 'URGENT', 'TODO', '2024-02-20', 2, 1)");
+            } catch (SQLException taskError) {
+                System.err.println("⚠️  Warning: Could not insert sample tasks due to foreign key constraints. Users may not exist yet.");
+                System.err.println("Error details: " + taskError.getMessage());
+            }
+        }
+    }
+
+    /**
+     * v6: clean up tasks for demo (limit to 20 tasks)
+     */
+    private static void limitDemoTasks(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            int currentTaskCount = queryInt(stmt, "SELECT COUNT(*) FROM tasks");
+            if (currentTaskCount <= 20) {
+                return;
+            }
+
+            System.out.println("🔄 Reducing " + currentTaskCount + " tasks to 20 for demo purposes...");
+
+            // Delete excess tasks, keeping the first 20
+            stmt.execute("DELETE FROM task_tags WHERE task_id > 20");
+            stmt.execute("DELETE FROM tasks WHERE id > 20");
+
+            // Reset auto-increment to prevent large IDs
+            stmt.execute("DELETE FROM sqlite_sequence WHERE name='tasks'");
+            stmt.execute("INSERT INTO sqlite_sequence (name, seq) VALUES ('tasks', 20)");
+        }
+    }
+
+    /**
+     * v7: enhance existing tasks with realistic sample data
+     */
+    private static void enhanceDemoTasks(Connection connection) throws SQLException {
+        String[] devTags = {"development", "coding", "frontend", "backend", "database", "testing", "debugging"};
+
+        try (Statement stmt = connection.createStatement()) {
+            // Get list of existing tasks to enhance
+            List<Map<String, Object>> tasksToEnhance = new ArrayList<>();
+            try (ResultSet existingTasksRs = stmt.executeQuery("SELECT id, title, priority, status FROM tasks ORDER BY id")) {
+                while (existingTasksRs.next()) {
+                    Map<String, Object> task = new HashMap<>();
+                    task.put("id", existingTasksRs.getInt("id"));
+                    task.put("title", existingTasksRs.getString("title"));
+                    task.put("priority", existingTasksRs.getString("priority"));
+                    task.put("status", existingTasksRs.getString("status"));
+                    tasksToEnhance.add(task);
+                }
+            }
+
+            // Enhance each task with realistic data
+            for (Map<String, Object> task : tasksToEnhance) {
+                int taskId = (Integer) task.get("id");
+                String title = (String) task.get("title");
+                String priority = (String) task.get("priority");
+                String status = (String) task.get("status");
+
+                // Determine category and tags based on task title
+                int categoryId = 1; // Default to Work
+                String[] tagsToUse = devTags;
+                int estimatedMinutes = 120; // Default 2 hours
+                int actualMinutes = 0;
+
+                if (title.toLowerCase().contains("environment") || title.toLowerCase().contains("setup")) {
+                    tagsToUse = new String[]{"setup", "environment", "configuration", "tools"};
+                    estimatedMinutes = 180; // 3 hours
+                    actualMinutes = status.equals("COMPLETED") ? 165 : 45;
+                } else if (title.toLowerCase().contains("database") || title.toLowerCase().contains("schema")) {
+                    tagsToUse = new String[]{"database", "schema", "design", "sql"};
+                    estimatedMinutes = 240; // 4 hours
+                    actualMinutes = status.equals("COMPLETED") ? 220 : 80;
+                } else if (title.toLowerCase().contains("authentication") || title.toLowerCase().contains("login")) {
+                    tagsToUse = new String[]{"authentication", "security", "login", "backend"};
+                    estimatedMinutes = 300; // 5 hours
+                    actualMinutes = status.equals("IN_PROGRESS") ? 120 : (status.equals("COMPLETED") ? 285 : 0);
+                } else if (title.toLowerCase().contains("ui") || title.toLowerCase().contains("interface")) {
+                    tagsToUse = new String[]{"ui", "frontend", "design", "user-experience"};
+                    estimatedMinutes = 360; // 6 hours
+                    actualMinutes = status.equals("TODO") ? 0 : 60;
+                } else if (title.toLowerCase().contains("test")) {
+                    tagsToUse = new String[]{"testing", "quality", "automation", "coverage"};
+                    estimatedMinutes = 240; // 4 hours
+                    actualMinutes = status.equals("TODO") ? 0 : 30;
+                } else if (title.toLowerCase().contains("deploy") || title.toLowerCase().contains("production")) {
+                    tagsToUse = new String[]{"deployment", "production", "devops", "infrastructure"};
+                    estimatedMinutes = 180; // 3 hours
+                    actualMinutes = status.equals("TODO") ? 0 : 45;
+                } else if (title.toLowerCase().contains("review") || title.toLowerCase().contains("code")) {
+                    tagsToUse = new String[]{"code-review", "quality", "collaboration", "standards"};
+                    estimatedMinutes = 120; // 2 hours
+                    actualMinutes = status.equals("TODO") ? 0 : 30;
+                } else if (title.toLowerCase().contains("performance") || title.toLowerCase().contains("optimization")) {
+                    tagsToUse = new String[]{"performance", "optimization", "monitoring", "analysis"};
+                    estimatedMinutes = 300; // 5 hours
+                    actualMinutes = status.equals("TODO") ? 0 : 90;
+                } else if (title.toLowerCase().contains("documentation")) {
+                    tagsToUse = new String[]{"documentation", "writing", "manual", "guide"};
+                    estimatedMinutes = 180; // 3 hours
+                    actualMinutes = status.equals("TODO") ? 0 : 45;
+                } else if (title.toLowerCase().contains("security") || title.toLowerCase().contains("audit")) {
+                    tagsToUse = new String[]{"security", "audit", "vulnerability", "compliance"};
+                    estimatedMinutes = 240; // 4 hours
+                    actualMinutes = status.equals("TODO") ? 0 : 60;
+                }
+
+                // Adjust actual minutes based on priority and status
+                if (priority.equals("URGENT")) {
+                    estimatedMinutes = (int)(estimatedMinutes * 0.8); // Urgent tasks get less time
+                    if (!status.equals("TODO")) {
+                        actualMinutes = (int)(actualMinutes * 1.2); // But often take longer
+                    }
+                } else if (priority.equals("LOW")) {
+                    estimatedMinutes = (int)(estimatedMinutes * 1.5); // Low priority gets more generous time
+                }
+
+                stmt.execute("UPDATE tasks SET " +
+                            "estimated_minutes = " + estimatedMinutes + ", " +
+                            "actual_minutes = " + actualMinutes + ", " +
+                            "category_id = " + categoryId + " " +
+                            "WHERE id = " + taskId);
+
+                for (String tag : tagsToUse) {
+                    stmt.execute("INSERT OR IGNORE INTO task_tags (task_id, tag_name) VALUES (" + taskId + ", '" + tag + "')");
+                }
+            }
+
+            // Add some additional sample tasks with diverse categories (only if we have less than 20 tasks)
+            if (queryInt(stmt, "SELECT COUNT(*) FROM tasks") < 20) {
+                // Personal category tasks
+                stmt.execute("INSERT OR IGNORE INTO tasks (title, description, priority, status, due_date, assigned_to, created_by, estimated_minutes, category_id) VALUES " +
+                            "('Morning workout routine', 'Complete 30-minute cardio and strength training', 'MEDIUM', 'TODO', '2024-12-15', 2, 1, 30, 2)");
+
+                // Learning category tasks
+                stmt.execute("INSERT OR IGNORE INTO tasks (title, description, priority, status, due_date, assigned_to, created_by, estimated_minutes, category_id) VALUES " +
+                            "('Learn React Hooks', 'Study and practice React Hooks patterns and best practices', 'HIGH', 'IN_PROGRESS', '2024-12-20', 3, 1, 240, 3)");
+
+                // Health category tasks
+                stmt.execute("INSERT OR IGNORE INTO tasks (title, description, priority, status, due_date, assigned_to, created_by, estimated_minutes, category_id) VALUES " +
+                            "('Annual health checkup', 'Schedule and complete yearly medical examination', 'HIGH', 'TODO', '2024-12-30', 4, 1, 120, 4)");
+
+                // Add tags for the new diverse tasks
+                stmt.execute("INSERT OR IGNORE INTO task_tags (task_id, tag_name) VALUES " +
+                            "((SELECT MAX(id) FROM tasks WHERE title = 'Morning workout routine'), 'fitness')");
+                stmt.execute("INSERT OR IGNORE INTO task_tags (task_id, tag_name) VALUES " +
+                            "((SELECT MAX(id) FROM tasks WHERE title = 'Morning workout routine'), 'health')");
+                stmt.execute("INSERT OR IGNORE INTO task_tags (task_id, tag_name) VALUES " +
+                            "((SELECT MAX(id) FROM tasks WHERE title = 'Learn React Hooks'), 'learning')");
+                stmt.execute("INSERT OR IGNORE INTO task_tags (task_id, tag_name) VALUES " +
+                            "((SELECT MAX(id) FROM tasks WHERE title = 'Learn React Hooks'), 'javascript')");
+                stmt.execute("INSERT OR IGNORE INTO task_tags (task_id, tag_name) VALUES " +
+                            "((SELECT MAX(id) FROM tasks WHERE title = 'Annual health checkup'), 'health')");
+                stmt.execute("INSERT OR IGNORE INTO task_tags (task_id, tag_name) VALUES " +
+                            "((SELECT MAX(id) FROM tasks WHERE title = 'Annual health checkup'), 'medical')");
+            }
+        }
+    }
+
+    /**
+     * v8: FTS5 index over task title, description, tags and category name.
+     * The index rowid is the task id; triggers keep it in sync with tasks,
+     * task_tags and category renames, and existing rows are indexed once here.
+     */
+    private static void createTaskSearchIndex(Connection connection) throws SQLException {
+        String tagsOf = "(SELECT group_concat(tag_name, ' ') FROM task_tags WHERE task_id = %s)";
+        String categoryOf = "(SELECT name FROM categories WHERE id = %s)";
+        String indexRow = "INSERT INTO task_search (rowid, title, description, tags, category) VALUES " +
+            "(new.id, new.title, new.description, " + String.format(tagsOf, "new.id") + ", " +
+            String.format(categoryOf, "new.category_id") + ");";
+        String refreshTags = "UPDATE task_search SET tags = " + String.format(tagsOf, "%1$s") +
+            " WHERE rowid = %1$s;";
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE VIRTUAL TABLE IF NOT EXISTS task_search USING fts5(" +
+                         "title, description, tags, category, tokenize = 'unicode61 remove_diacritics 2')");
+
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS task_search_ai AFTER INSERT ON tasks BEGIN " +
+                         indexRow + " END");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS task_search_au AFTER UPDATE OF title, description, category_id ON tasks BEGIN " +
+                         "DELETE FROM task_search WHERE rowid = old.id; " + indexRow + " END");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS task_search_ad AFTER DELETE ON tasks BEGIN " +
+                         "DELETE FROM task_search WHERE rowid = old.id; END");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS task_search_tag_ai AFTER INSERT ON task_tags BEGIN " +
+                         String.format(refreshTags, "new.task_id") + " END");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS task_search_tag_ad AFTER DELETE ON task_tags BEGIN " +
+                         String.format(refreshTags, "old.task_id") + " END");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS task_search_category_au AFTER UPDATE OF name ON categories BEGIN " +
+                         "UPDATE task_search SET category = new.name " +
+                         "WHERE rowid IN (SELECT id FROM tasks WHERE category_id = new.id); END");
+
+            stmt.execute("DELETE FROM task_search");
+            stmt.execute("INSERT INTO task_search (rowid, title, description, tags, category) " +
+                         "SELECT t.id, t.title, t.description, " + String.format(tagsOf, "t.id") + ", c.name " +
+                         "FROM tasks t LEFT JOIN categories c ON t.category_id = c.id");
+        }
+    }
+
+    /**
+     * v9: index created_at for date-range analytics and newest-first listings
+     */
+    private static void addCreatedAtIndex(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_tasks_created_at ON tasks(created_at)");
+        }
+    }
+
+    /**
+     * v10: change feed for TaskDAO.findUpdatedSince. updated_at is indexed and
+     * always set, and deleted task ids are recorded in task_tombstones by a
+     * trigger so every delete path (including cascades) is captured.
+     */
+    private static void createTaskChangeTracking(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("UPDATE tasks SET updated_at = COALESCE(created_at, CURRENT_TIMESTAMP) WHERE updated_at IS NULL");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_tasks_updated_at ON tasks(updated_at)");
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS task_tombstones (" +
+                         "task_id INTEGER PRIMARY KEY, " +
+                         "deleted_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_task_tombstones_deleted_at ON task_tombstones(deleted_at)");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS task_tombstone_ad AFTER DELETE ON tasks BEGIN " +
+                         "INSERT OR REPLACE INTO task_tombstones (task_id, deleted_at) VALUES (old.id, CURRENT_TIMESTAMP); " +
+                         "END");
+        }
+    }
+
+    /**
+     * v11: index the keyset used by TaskDAO's paged finders, which treat a
+     * missing created_at as '' so such tasks are not skipped
+     */
+    private static void addPageKeyIndex(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_tasks_page_key ON tasks(COALESCE(created_at, ''))");
+        }
+    }
+
+    /**
+     * v12: task_tombstones is pruned after a retention window; this single
+     * row holds the newest deleted_at removed, so a change feed started
+     * before it knows it may have missed deletions
+     */
+    private static void createTombstoneHorizon(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS task_tombstone_horizon (" +
+                         "id INTEGER PRIMARY KEY CHECK (id = 1), " +
+                         "pruned_through DATETIME NOT NULL)");
+        }
+    }
+
+    private static int queryInt(Statement stmt, String sql) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
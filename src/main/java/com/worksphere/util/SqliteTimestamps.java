@@ -0,0 +1,118 @@
+package com.worksphere.util;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Reads timestamp columns written by SQLite's CURRENT_TIMESTAMP.
+ *
+ * The text layout is fixed ("YYYY-MM-DD HH:MM:SS" with an optional fraction),
+ * so it is decoded by character position instead of regexes or exceptions.
+ * A 'T' separator and date-only values are accepted too.
+ */
+public final class SqliteTimestamps {
+
+    private SqliteTimestamps() {
+    }
+
+    /**
+     * Read a timestamp column stored as text or as epoch milliseconds
+     * @param resultSet Result set positioned on a row
+     * @param column Column label
+     * @return the timestamp, or null if the column is NULL or not a timestamp
+     * @throws SQLException if the column cannot be read
+     */
+    public static LocalDateTime read(ResultSet resultSet, String column) throws SQLException {
+        Object value = resultSet.getObject(column);
+        if (value instanceof String) {
+            return parse((String) value);
+        }
+        if (value instanceof Number) {
+            // Same local-time interpretation as ResultSet.getTimestamp
+            return new Timestamp(((Number) value).longValue()).toLocalDateTime();
+        }
+        return null;
+    }
+
+    /**
+     * Parse "YYYY-MM-DD[( |T)HH:MM:SS[.fraction]]", ignoring surrounding whitespace
+     * @param text Text to parse
+     * @return the timestamp, or null if the text does not have that layout or is not a valid date
+     */
+    public static LocalDateTime parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int length = end - start;
+        if (length < 10 || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-') {
+            return null;
+        }
+
+        int year = digits(text, start, 4);
+        int month = digits(text, start + 5, 2);
+        int day = digits(text, start + 8, 2);
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int nanos = 0;
+
+        if (length > 10) {
+            char separator = text.charAt(start + 10);
+            if (length < 19 || (separator != ' ' && separator != 'T')
+                    || text.charAt(start + 13) != ':' || text.charAt(start + 16) != ':') {
+                return null;
+            }
+            hour = digits(text, start + 11, 2);
+            minute = digits(text, start + 14, 2);
+            second = digits(text, start + 17, 2);
+
+            if (length > 19) {
+                int fractionDigits = length - 20;
+                if (text.charAt(start + 19) != '.' || fractionDigits < 1 || fractionDigits > 9) {
+                    return null;
+                }
+                nanos = digits(text, start + 20, fractionDigits);
+                if (nanos < 0) {
+                    return null;
+                }
+                for (int i = fractionDigits; i < 9; i++) {
+                    nanos *= 10;
+                }
+            }
+        }
+
+        if (year < 0 || month < 1 || month > 12 || day < 1
+                || day > Month.of(month).length(Year.isLeap(year))
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nanos);
+    }
+
+    /**
+     * @return the value of count decimal digits starting at offset, or -1 if any is not a digit
+     */
+    private static int digits(String text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
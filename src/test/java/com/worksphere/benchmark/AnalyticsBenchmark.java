@@ -0,0 +1,137 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.model.Priority;
+import com.worksphere.model.Task;
+import com.worksphere.model.TaskStatus;
+import com.worksphere.service.AnalyticsEngine;
+import com.worksphere.service.AnalyticsService;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the single-pass AnalyticsEngine against the previous per-method
+ * approach, where the dashboard's statistics (productivity metrics twice,
+ * priority distribution, overdue analysis, productive hours, user performance)
+ * each loaded every task and made several stream passes.
+ *
+ * Only times the two; AnalyticsServiceTest checks that they agree.
+ *
+ * Sizes default to 10k, 100k and 1M tasks; pass other sizes as arguments.
+ * The 1M run needs a larger heap, e.g. -Xmx3g.
+ */
+public class AnalyticsBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = args.length > 0 ?
+            java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray() :
+            new int[] {10_000, 100_000, 1_000_000};
+
+        BenchmarkSupport.useScratchDatabase();
+        TaskDAO taskDAO = new TaskDAO();
+        AnalyticsService analyticsService = new AnalyticsService();
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(30);
+
+        System.out.println();
+        System.out.printf("%10s %16s %16s %18s %18s%n",
+            "tasks", "per-method (ms)", "one scan (ms)", "per-method CPU", "one scan CPU");
+        for (int size : sizes) {
+            int count = BenchmarkSupport.seedTasks(size);
+            int runs = count >= 1_000_000 ? 1 : 3;
+
+            List<Task> tasks = taskDAO.findAll();
+
+            double legacyCpu = BenchmarkSupport.medianMillis(runs, () -> legacyDashboard(() -> tasks, startDate, endDate));
+            double engineCpu = BenchmarkSupport.medianMillis(runs, () -> AnalyticsEngine.analyze(tasks, startDate, endDate));
+            tasks.clear();
+
+            double legacy = BenchmarkSupport.medianMillis(runs, () -> legacyDashboard(taskDAO::findAll, startDate, endDate));
+            double engine = BenchmarkSupport.medianMillis(runs, () -> analyticsService.getAnalyticsSnapshot(startDate, endDate));
+            System.out.printf("%10d %16.1f %16.1f %18.1f %18.1f%n", count, legacy, engine, legacyCpu, engineCpu);
+        }
+    }
+
+    @FunctionalInterface
+    private interface TaskSource {
+        List<Task> load() throws Exception;
+    }
+
+    /**
+     * The work AnalyticsDashboardPanel and the reports used to trigger, one load per statistic
+     */
+    private static Object[] legacyDashboard(TaskSource source, LocalDate startDate, LocalDate endDate) throws Exception {
+        return new Object[] {
+            legacyProductivity(source.load(), startDate, endDate),
+            legacyProductivity(source.load(), startDate, endDate),
+            legacyPriorities(source.load()),
+            legacyOverdue(source.load()),
+            legacyHours(source.load()),
+            legacyUsers(source.load())
+        };
+    }
+
+    private static int[] legacyProductivity(List<Task> allTasks, LocalDate startDate, LocalDate endDate) {
+        List<Task> tasks = allTasks.stream()
+            .filter(task -> task.getCreatedAt() != null &&
+                !task.getCreatedAt().toLocalDate().isBefore(startDate) &&
+                !task.getCreatedAt().toLocalDate().isAfter(endDate))
+            .collect(java.util.stream.Collectors.toList());
+        int completed = (int) tasks.stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).count();
+        int inProgress = (int) tasks.stream().filter(t -> t.getStatus() == TaskStatus.IN_PROGRESS).count();
+        int todo = (int) tasks.stream().filter(t -> t.getStatus() == TaskStatus.TODO).count();
+        double avgDays = tasks.stream()
+            .filter(t -> t.getStatus() == TaskStatus.COMPLETED && t.getCreatedAt() != null && t.getCompletedAt() != null)
+            .mapToLong(t -> ChronoUnit.DAYS.between(t.getCreatedAt(), t.getCompletedAt()))
+            .average().orElse(0.0);
+        int spent = tasks.stream().mapToInt(Task::getActualMinutes).sum();
+        int estimated = tasks.stream().mapToInt(Task::getEstimatedMinutes).sum();
+        return new int[] {tasks.size(), completed, inProgress, todo, (int) avgDays, spent, estimated};
+    }
+
+    private static Map<Priority, Integer> legacyPriorities(List<Task> tasks) {
+        Map<Priority, Integer> distribution = new HashMap<>();
+        for (Priority priority : Priority.values()) {
+            distribution.put(priority, (int) tasks.stream().filter(t -> t.getPriority() == priority).count());
+        }
+        return distribution;
+    }
+
+    private static int[] legacyOverdue(List<Task> tasks) {
+        LocalDate today = LocalDate.now();
+        int overdue = (int) tasks.stream().filter(Task::isOverdue).count();
+        int dueToday = (int) tasks.stream()
+            .filter(t -> t.getDueDate() != null && t.getDueDate().equals(today) && t.getStatus() != TaskStatus.COMPLETED)
+            .count();
+        int dueThisWeek = (int) tasks.stream()
+            .filter(t -> t.getDueDate() != null && t.getDueDate().isAfter(today) &&
+                t.getDueDate().isBefore(today.plusWeeks(1)) && t.getStatus() != TaskStatus.COMPLETED)
+            .count();
+        double avgOverdueDays = tasks.stream().filter(Task::isOverdue)
+            .mapToLong(t -> ChronoUnit.DAYS.between(t.getDueDate(), today))
+            .average().orElse(0.0);
+        return new int[] {overdue, dueToday, dueThisWeek, (int) avgOverdueDays};
+    }
+
+    private static int[] legacyHours(List<Task> tasks) {
+        int[] hours = new int[24];
+        tasks.stream().filter(t -> t.getCompletedAt() != null).forEach(t -> hours[t.getCompletedAt().getHour()]++);
+        return hours;
+    }
+
+    private static Map<Integer, int[]> legacyUsers(List<Task> tasks) {
+        Map<Integer, int[]> users = new HashMap<>();
+        for (Task task : tasks) {
+            if (task.getAssignedTo() == null) continue;
+            int[] perf = users.computeIfAbsent(task.getAssignedTo(), id -> new int[3]);
+            perf[0]++;
+            if (task.getStatus() == TaskStatus.COMPLETED) perf[1]++;
+            perf[2] += task.getActualMinutes();
+        }
+        return users;
+    }
+}
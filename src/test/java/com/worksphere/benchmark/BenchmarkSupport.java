@@ -0,0 +1,127 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.util.DatabaseConnection;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * Shared helpers for the command-line benchmarks in this package.
+ *
+ * Benchmarks run against a throw-away SQLite file so they never touch the
+ * database in ~/.worksphere. Run them on the test classpath, e.g.
+ * {@code mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt} followed by
+ * {@code java -cp target/classes:target/test-classes:$(cat cp.txt) com.worksphere.benchmark.<Benchmark>}.
+ */
+final class BenchmarkSupport {
+    
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "COMPLETED"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "URGENT"};
+    private static final String[] TAGS = {"backend", "frontend", "database", "testing", "planning", "review"};
+    
+    private BenchmarkSupport() {
+    }
+    
+    /**
+     * Point DatabaseConnection at a fresh temporary database file.
+     * Must be called before anything touches DatabaseConnection.
+     */
+    static File useScratchDatabase() throws IOException {
+        File dbFile = File.createTempFile("worksphere-bench-", ".db");
+        dbFile.deleteOnExit();
+        System.setProperty("db.url", "jdbc:sqlite:" + dbFile.getAbsolutePath());
+        return dbFile;
+    }
+    
+    /**
+     * Grow the tasks table to the requested size, giving each new task two tags
+     * @param targetCount total number of tasks wanted
+     * @return number of tasks in the table afterwards
+     */
+    static int seedTasks(int targetCount) throws SQLException {
+        return DatabaseConnection.executeWrite(connection -> {
+            int existing = countTasks(connection);
+            if (existing >= targetCount) {
+                return existing;
+            }
+            
+            connection.setAutoCommit(false);
+            try (PreparedStatement insertTask = connection.prepareStatement(
+                     "INSERT INTO tasks (title, description, priority, status, due_date, assigned_to, created_by, " +
+                     "estimated_minutes, actual_minutes, category_id, created_at, completed_at) " +
+                     "VALUES (?, ?, ?, ?, date('now', ?), ?, 1, ?, ?, ?, datetime('now', ?), ?)");
+                 PreparedStatement insertTag = connection.prepareStatement(
+                     "INSERT OR IGNORE INTO task_tags (task_id, tag_name) VALUES (?, ?)")) {
+                
+                int maxIdBefore = maxTaskId(connection);
+                for (int i = existing; i < targetCount; i++) {
+                    String status = STATUSES[i % STATUSES.length];
+                    insertTask.setString(1, "Benchmark task " + i);
+                    insertTask.setString(2, "Generated task number " + i + " for benchmarking");
+                    insertTask.setString(3, PRIORITIES[i % PRIORITIES.length]);
+                    insertTask.setString(4, status);
+                    insertTask.setString(5, ((i % 60) - 30) + " days");
+                    insertTask.setInt(6, 1 + (i % 4));
+                    insertTask.setInt(7, 30 + (i % 8) * 15);
+                    insertTask.setInt(8, (i % 5) * 20);
+                    insertTask.setInt(9, 1 + (i % 6));
+                    insertTask.setString(10, "-" + (i % 365) + " days");
+                    insertTask.setString(11, "COMPLETED".equals(status) ? "2024-06-01 10:15:00" : null);
+                    insertTask.addBatch();
+                }
+                insertTask.executeBatch();
+                
+                int maxIdAfter = maxTaskId(connection);
+                for (int taskId = maxIdBefore + 1; taskId <= maxIdAfter; taskId++) {
+                    insertTag.setInt(1, taskId);
+                    insertTag.setString(2, TAGS[taskId % TAGS.length]);
+                    insertTag.addBatch();
+                    insertTag.setInt(1, taskId);
+                    insertTag.setString(2, TAGS[(taskId + 1) % TAGS.length]);
+                    insertTag.addBatch();
+                }
+                insertTag.executeBatch();
+                connection.commit();
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            return countTasks(connection);
+        });
+    }
+    
+    /**
+     * Run an operation a few times after a warm-up and return the median in milliseconds
+     */
+    static double medianMillis(int runs, Callable<?> operation) throws Exception {
+        operation.call();
+        double[] samples = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            operation.call();
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[runs / 2];
+    }
+    
+    private static int maxTaskId(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(id), 0) FROM tasks")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+    
+    private static int countTasks(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM tasks")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
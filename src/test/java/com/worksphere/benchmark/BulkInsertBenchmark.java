@@ -0,0 +1,80 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.model.Priority;
+import com.worksphere.model.Task;
+import com.worksphere.model.TaskStatus;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares inserting tasks (two tags each) one createTask call at a time
+ * against a single TaskDAO.createTasks batch, for 1k, 10k and 100k tasks.
+ *
+ * createTask logs every insert to stdout; that output is discarded during the
+ * per-task runs so the numbers measure the database work. Pass "skip-single"
+ * to only time createTasks. TaskDAOTest checks what createTasks stores.
+ */
+public class BulkInsertBenchmark {
+
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+
+    public static void main(String[] args) throws Exception {
+        boolean skipSingle = Arrays.asList(args).contains("skip-single");
+
+        BenchmarkSupport.useScratchDatabase();
+        TaskDAO taskDAO = new TaskDAO();
+        BenchmarkSupport.seedTasks(0);
+
+        // Warm up both paths
+        createOneByOne(taskDAO, newTasks(200));
+        taskDAO.createTasks(newTasks(200));
+
+        System.out.println();
+        System.out.printf("%-10s %16s %16s%n", "tasks", "createTask (ms)", "createTasks (ms)");
+        for (int size : SIZES) {
+            String single = "-";
+            if (!skipSingle) {
+                List<Task> tasks = newTasks(size);
+                long start = System.nanoTime();
+                createOneByOne(taskDAO, tasks);
+                single = String.format("%.1f", (System.nanoTime() - start) / 1_000_000.0);
+            }
+
+            List<Task> tasks = newTasks(size);
+            long start = System.nanoTime();
+            taskDAO.createTasks(tasks);
+            double batched = (System.nanoTime() - start) / 1_000_000.0;
+
+            System.out.printf("%-10d %16s %16.1f%n", size, single, batched);
+        }
+    }
+
+    private static void createOneByOne(TaskDAO taskDAO, List<Task> tasks) throws Exception {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            for (Task task : tasks) {
+                taskDAO.createTask(task);
+            }
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    private static List<Task> newTasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task("Bulk task " + i, "Inserted by BulkInsertBenchmark", Priority.values()[i % 4],
+                TaskStatus.TODO, LocalDate.now().plusDays(i % 30), 1 + (i % 4), 1);
+            task.setTags(new ArrayList<>(List.of("bulk", "batch-" + (i % 10))));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
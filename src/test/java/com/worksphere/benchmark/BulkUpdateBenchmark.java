@@ -0,0 +1,61 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.model.TaskStatus;
+import com.worksphere.model.TaskSummary;
+import com.worksphere.service.TaskService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compares changing the status of a set of tasks one TaskService call at a
+ * time (findById + update per task) against TaskService.updateStatusForTasks,
+ * and deleting them one by one against TaskService.deleteTasks. TaskDAOTest
+ * checks what the bulk statements change.
+ */
+public class BulkUpdateBenchmark {
+
+    private static final int TASK_COUNT = 20_000;
+    private static final int[] SET_SIZES = {200, 2_000};
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.useScratchDatabase();
+        TaskDAO taskDAO = new TaskDAO();
+        TaskService taskService = new TaskService();
+        BenchmarkSupport.seedTasks(TASK_COUNT);
+
+        List<Integer> allIds = taskDAO.findAllSummaries().stream()
+            .map(TaskSummary::getId)
+            .collect(Collectors.toList());
+
+        System.out.println();
+        System.out.printf("%-10s %-8s %16s %16s%n", "tasks", "op", "per task (ms)", "bulk (ms)");
+        int offset = 0;
+        for (int size : SET_SIZES) {
+            List<Integer> perTask = allIds.subList(offset, offset + size);
+            List<Integer> bulk = allIds.subList(offset + size, offset + 2 * size);
+            offset += 2 * size;
+
+            long start = System.nanoTime();
+            for (int id : perTask) {
+                taskService.updateTaskStatus(id, TaskStatus.COMPLETED);
+            }
+            double single = (System.nanoTime() - start) / 1_000_000.0;
+            start = System.nanoTime();
+            int updated = taskService.updateStatusForTasks(bulk, TaskStatus.COMPLETED);
+            double batched = (System.nanoTime() - start) / 1_000_000.0;
+            System.out.printf("%-10d %-8s %16.1f %16.1f  (%d updated)%n", size, "status", single, batched, updated);
+
+            start = System.nanoTime();
+            for (int id : perTask) {
+                taskService.deleteTask(id);
+            }
+            single = (System.nanoTime() - start) / 1_000_000.0;
+            start = System.nanoTime();
+            int deleted = taskService.deleteTasks(bulk);
+            batched = (System.nanoTime() - start) / 1_000_000.0;
+            System.out.printf("%-10d %-8s %16.1f %16.1f  (%d deleted)%n", size, "delete", single, batched, deleted);
+        }
+    }
+}
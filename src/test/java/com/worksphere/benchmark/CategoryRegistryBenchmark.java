@@ -0,0 +1,69 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.CategoryDAO;
+import com.worksphere.dao.CategoryRegistry;
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.model.Category;
+import com.worksphere.model.Task;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compares the category lookups the task list and dialogs make (the full
+ * list for combo boxes, one category per table row) when every call reloads
+ * from the database against the shared CategoryRegistry snapshot, and
+ * counts the Category objects behind a full task load.
+ */
+public class CategoryRegistryBenchmark {
+
+    private static final int TASK_COUNT = 100_000;
+    private static final int LOOKUPS = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.useScratchDatabase();
+        TaskDAO taskDAO = new TaskDAO();
+        CategoryDAO categoryDAO = new CategoryDAO();
+        BenchmarkSupport.seedTasks(TASK_COUNT);
+
+        List<Task> tasks = taskDAO.findAll();
+        Set<Category> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        int withCategory = 0;
+        for (Task task : tasks) {
+            if (task.getCategory() != null) {
+                instances.add(task.getCategory());
+                withCategory++;
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%-40s %10s %10s%n", LOOKUPS + " lookups", "reload", "registry");
+        System.out.printf("%-40s %10.1f %10.1f%n", "getAllCategories (ms)",
+            BenchmarkSupport.medianMillis(5, () -> lookups(() -> categoryDAO.getAllCategories(), true)),
+            BenchmarkSupport.medianMillis(5, () -> lookups(() -> categoryDAO.getAllCategories(), false)));
+        System.out.printf("%-40s %10.1f %10.1f%n", "getCategoryById (ms)",
+            BenchmarkSupport.medianMillis(5, () -> lookups(() -> categoryDAO.getCategoryById(3), true)),
+            BenchmarkSupport.medianMillis(5, () -> lookups(() -> categoryDAO.getCategoryById(3), false)));
+        System.out.printf("%d tasks with a category share %d Category objects (%s)%n",
+            withCategory, instances.size(), CategoryRegistry.current());
+    }
+
+    private interface Lookup {
+        Object find() throws Exception;
+    }
+
+    private static int lookups(Lookup lookup, boolean reload) throws Exception {
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (reload) {
+                CategoryRegistry.invalidate();
+            }
+            if (lookup.find() != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,52 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.model.TaskStatus;
+import com.worksphere.model.TaskSummary;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the full summary reload the board and dashboard used to do on every
+ * refresh against reading only the changes since the last refresh, after
+ * updating and deleting a handful of tasks.
+ *
+ * updated_at has one-second resolution and the feed re-delivers the watermark's
+ * own second, so the run sleeps between steps to keep the seed out of the delta.
+ * TaskDAOTest checks what the feed reports.
+ */
+public class ChangeFeedBenchmark {
+
+    private static final int TASK_COUNT = 100_000;
+    private static final int UPDATED = 50;
+    private static final int DELETED = 10;
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.useScratchDatabase();
+        TaskDAO taskDAO = new TaskDAO();
+        BenchmarkSupport.seedTasks(TASK_COUNT);
+
+        List<Integer> ids = taskDAO.findAllSummaries().stream()
+            .map(TaskSummary::getId)
+            .collect(Collectors.toList());
+        Thread.sleep(1100);
+        taskDAO.updateTaskStatus(ids.get(0), TaskStatus.IN_PROGRESS);
+        String watermark = taskDAO.currentWatermark();
+        Thread.sleep(1100);
+
+        List<Integer> updated = ids.subList(1, 1 + UPDATED);
+        List<Integer> deleted = ids.subList(1 + UPDATED, 1 + UPDATED + DELETED);
+        taskDAO.updateStatusForTasks(updated, TaskStatus.COMPLETED);
+        taskDAO.deleteTasks(deleted);
+
+        System.out.println();
+        System.out.printf("%-36s %10s%n", ids.size() + " tasks, " + (UPDATED + DELETED) + " changed", "ms");
+        System.out.printf("%-36s %10.1f%n", "findAllSummaries",
+            BenchmarkSupport.medianMillis(5, taskDAO::findAllSummaries));
+        System.out.printf("%-36s %10.1f%n", "findSummariesUpdatedSince",
+            BenchmarkSupport.medianMillis(5, () -> taskDAO.findSummariesUpdatedSince(watermark, null)));
+        System.out.printf("%-36s %10.1f%n", "findUpdatedSince (full tasks)",
+            BenchmarkSupport.medianMillis(5, () -> taskDAO.findUpdatedSince(watermark, null)));
+    }
+}
@@ -0,0 +1,55 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.model.Task;
+import com.worksphere.model.TrendGranularity;
+import com.worksphere.service.AnalyticsService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the GROUP BY completion trend against the previous approach of
+ * streaming findAll() twice per day, for a one-year range. AnalyticsServiceTest
+ * checks that the buckets match the per-day counts.
+ */
+public class CompletionTrendBenchmark {
+
+    private static final int TASK_COUNT = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.useScratchDatabase();
+        TaskDAO taskDAO = new TaskDAO();
+        AnalyticsService analyticsService = new AnalyticsService();
+        BenchmarkSupport.seedTasks(TASK_COUNT);
+
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusYears(1);
+
+        System.out.println();
+        System.out.printf("%-28s %10s%n", "one-year trend", "ms");
+        System.out.printf("%-28s %10.1f%n", "per-day scan of findAll()",
+            BenchmarkSupport.medianMillis(1, () -> perDayScan(taskDAO.findAll(), startDate, endDate)));
+        for (TrendGranularity granularity : TrendGranularity.values()) {
+            System.out.printf("%-28s %10.1f%n", "GROUP BY " + granularity.getDisplayName().toLowerCase(),
+                BenchmarkSupport.medianMillis(5, () -> analyticsService.getCompletionTrend(startDate, endDate, granularity)));
+        }
+    }
+
+    /**
+     * The loop previously in AnalyticsService.getCompletionTrend
+     */
+    private static List<int[]> perDayScan(List<Task> tasks, LocalDate startDate, LocalDate endDate) {
+        List<int[]> days = new ArrayList<>();
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            LocalDate current = day;
+            int completed = (int) tasks.stream()
+                .filter(t -> t.getCompletedAt() != null && t.getCompletedAt().toLocalDate().equals(current)).count();
+            int created = (int) tasks.stream()
+                .filter(t -> t.getCreatedAt() != null && t.getCreatedAt().toLocalDate().equals(current)).count();
+            days.add(new int[] {created, completed});
+        }
+        return days;
+    }
+}
@@ -0,0 +1,101 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.model.Priority;
+import com.worksphere.model.Task;
+import com.worksphere.model.TaskFilterCriteria;
+import com.worksphere.model.TaskStatus;
+import com.worksphere.util.DatabaseConnection;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Compares SQL-evaluated TaskFilterCriteria (TaskDAO.findByCriteria) against
+ * the previous approach of filtering findAll() in memory. TaskDAOTest checks
+ * that both return the same tasks.
+ */
+public class FilterPushdownBenchmark {
+    
+    private static final int TASK_COUNT = 100_000;
+    
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.useScratchDatabase();
+        TaskDAO taskDAO = new TaskDAO();
+        BenchmarkSupport.seedTasks(TASK_COUNT);
+        addTasksWithJdbcDueDates();
+        
+        LocalDate today = LocalDate.now();
+        Map<String, TaskFilterCriteria> filters = new LinkedHashMap<>();
+        filters.put("urgent, assignee 2, category 3", new TaskFilterCriteria()
+            .withPriorities(List.of(Priority.URGENT)).withAssignees(List.of(2)).withCategories(List.of(3)));
+        filters.put("overdue only", new TaskFilterCriteria().withOverdueOnly(true));
+        filters.put("due in next 3 days", new TaskFilterCriteria()
+            .withStatuses(List.of(TaskStatus.TODO)).withDateRange(today, today.plusDays(3)));
+        filters.put("text 'number 4242'", new TaskFilterCriteria().withSearchText("number 4242"));
+        
+        System.out.println();
+        System.out.printf("%-32s %8s %16s %14s%n", "filter", "matches", "in-memory (ms)", "SQL (ms)");
+        for (Map.Entry<String, TaskFilterCriteria> entry : filters.entrySet()) {
+            TaskFilterCriteria criteria = entry.getValue();
+            int matches = taskDAO.findByCriteria(criteria).size();
+            
+            double inMemory = BenchmarkSupport.medianMillis(3, () -> filterInMemory(taskDAO.findAll(), criteria));
+            double pushedDown = BenchmarkSupport.medianMillis(5, () -> taskDAO.findByCriteria(criteria));
+            System.out.printf("%-32s %8d %16.1f %14.1f%n", entry.getKey(), matches, inMemory, pushedDown);
+        }
+    }
+    
+    /**
+     * Due dates written through TaskDAO are stored as epoch milliseconds
+     */
+    private static void addTasksWithJdbcDueDates() throws Exception {
+        DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO tasks (title, priority, status, due_date, assigned_to, created_by, category_id) " +
+                     "VALUES (?, 'URGENT', ?, ?, 2, 1, 3)")) {
+                for (int offset = -5; offset <= 5; offset++) {
+                    statement.setString(1, "JDBC dated task " + offset);
+                    statement.setString(2, offset % 2 == 0 ? "TODO" : "IN_PROGRESS");
+                    statement.setDate(3, Date.valueOf(LocalDate.now().plusDays(offset)));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * The filtering previously done by SearchService.matchesCriteria
+     */
+    private static List<Integer> filterInMemory(List<Task> tasks, TaskFilterCriteria criteria) {
+        return tasks.stream().filter(task -> {
+            if (criteria.getStatuses() != null && !criteria.getStatuses().contains(task.getStatus())) return false;
+            if (criteria.getPriorities() != null && !criteria.getPriorities().contains(task.getPriority())) return false;
+            if (criteria.getCategoryIds() != null && !criteria.getCategoryIds().contains(task.getCategoryId())) return false;
+            if (criteria.getAssigneeIds() != null &&
+                (task.getAssignedTo() == null || !criteria.getAssigneeIds().contains(task.getAssignedTo()))) return false;
+            if (criteria.getStartDate() != null && task.getDueDate() != null &&
+                task.getDueDate().isBefore(criteria.getStartDate())) return false;
+            if (criteria.getEndDate() != null && task.getDueDate() != null &&
+                task.getDueDate().isAfter(criteria.getEndDate())) return false;
+            if (criteria.isOverdueOnly() && !task.isOverdue()) return false;
+            if (criteria.getSearchText() != null) {
+                String term = criteria.getSearchText().toLowerCase();
+                boolean found = (task.getTitle() != null && task.getTitle().toLowerCase().contains(term)) ||
+                    (task.getDescription() != null && task.getDescription().toLowerCase().contains(term)) ||
+                    task.getTags().stream().anyMatch(tag -> tag.toLowerCase().contains(term)) ||
+                    (task.getCategory() != null && task.getCategory().getName() != null &&
+                     task.getCategory().getName().toLowerCase().contains(term));
+                if (!found) return false;
+            }
+            return true;
+        }).map(Task::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,50 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.model.Task;
+import com.worksphere.service.SearchService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compares SearchService.searchTasks on the task_search FTS5 index against the
+ * previous approach of scanning findAll() with toLowerCase().contains().
+ */
+public class FullTextSearchBenchmark {
+
+    private static final int TASK_COUNT = 100_000;
+    private static final String[] QUERIES = {"revi", "front data", "number 9999", "generated"};
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.useScratchDatabase();
+        TaskDAO taskDAO = new TaskDAO();
+        SearchService searchService = new SearchService();
+        BenchmarkSupport.seedTasks(TASK_COUNT);
+
+        System.out.println();
+        System.out.printf("%-16s %10s %10s %16s %14s%n", "query", "scan hits", "fts hits", "in-memory (ms)", "FTS5 (ms)");
+        for (String query : QUERIES) {
+            int scanHits = scan(taskDAO.findAll(), query).size();
+            int ftsHits = searchService.searchTasks(query).size();
+
+            double inMemory = BenchmarkSupport.medianMillis(3, () -> scan(taskDAO.findAll(), query));
+            double indexed = BenchmarkSupport.medianMillis(5, () -> searchService.searchTasks(query));
+            System.out.printf("%-16s %10d %10d %16.1f %14.1f%n", query, scanHits, ftsHits, inMemory, indexed);
+        }
+    }
+
+    /**
+     * The search previously done by SearchService.matchesSearchTerm
+     */
+    private static List<Task> scan(List<Task> tasks, String query) {
+        String term = query.toLowerCase();
+        return tasks.stream()
+            .filter(task -> (task.getTitle() != null && task.getTitle().toLowerCase().contains(term)) ||
+                (task.getDescription() != null && task.getDescription().toLowerCase().contains(term)) ||
+                task.getTags().stream().anyMatch(tag -> tag.toLowerCase().contains(term)) ||
+                (task.getCategory() != null && task.getCategory().getName() != null &&
+                 task.getCategory().getName().toLowerCase().contains(term)))
+            .collect(Collectors.toList());
+    }
+}
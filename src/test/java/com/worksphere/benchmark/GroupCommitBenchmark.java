@@ -0,0 +1,49 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.dao.TaskWriteQueue;
+import com.worksphere.model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Compares autocommit updateTaskTime() calls with the same updates sent
+ * through a TaskWriteQueue (coalescing + group commit).
+ */
+public class GroupCommitBenchmark {
+    
+    private static final int TASKS = 200;
+    private static final int UPDATES = 5_000;
+    
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.useScratchDatabase();
+        TaskDAO taskDAO = new TaskDAO();
+        BenchmarkSupport.seedTasks(TASKS);
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < UPDATES; i++) {
+            taskDAO.updateTaskTime(1 + (i % TASKS), i);
+        }
+        double directMillis = (System.nanoTime() - start) / 1_000_000.0;
+        
+        try (TaskWriteQueue queue = new TaskWriteQueue(taskDAO, 50, 500)) {
+            start = System.nanoTime();
+            List<CompletableFuture<Void>> commits = new ArrayList<>();
+            for (int i = 0; i < UPDATES; i++) {
+                commits.add(queue.updateTaskTime(1 + (i % TASKS), UPDATES + i));
+            }
+            CompletableFuture.allOf(commits.toArray(new CompletableFuture[0])).join();
+            double queuedMillis = (System.nanoTime() - start) / 1_000_000.0;
+            
+            Task last = taskDAO.findById(1 + ((UPDATES - 1) % TASKS)).orElseThrow();
+            System.out.println();
+            System.out.printf("Autocommit:   %d updates in %.1f ms (%.0f updates/s)%n",
+                UPDATES, directMillis, UPDATES / directMillis * 1000);
+            System.out.printf("Group commit: %d updates in %.1f ms (%.0f updates/s), %d transactions, %d rows written%n",
+                UPDATES, queuedMillis, UPDATES / queuedMillis * 1000, queue.getCommittedBatches(), queue.getWrittenRows());
+            System.out.println("Last value persisted: " + (last.getActualMinutes() == 2 * UPDATES - 1));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.model.TaskPage;
+import com.worksphere.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Times a walk over every page of TaskDAO.findAllPage, then compares fetching
+ * a deep page by keyset against the equivalent LIMIT/OFFSET query.
+ * TaskDAOTest checks that a walk returns each task exactly once.
+ */
+public class KeysetPaginationBenchmark {
+
+    private static final int TASK_COUNT = 100_000;
+    private static final int PAGE_SIZE = 100;
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.useScratchDatabase();
+        TaskDAO taskDAO = new TaskDAO();
+        int count = BenchmarkSupport.seedTasks(TASK_COUNT);
+
+        String token = null;
+        String deepToken = null;
+        int pages = 0;
+        long start = System.nanoTime();
+        do {
+            TaskPage page = taskDAO.findAllPage(token, PAGE_SIZE);
+            token = page.getNextPageToken();
+            if (++pages == 900) {
+                deepToken = token;
+            }
+        } while (token != null);
+        double walkMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        String pageToken = deepToken;
+        int offset = 900 * PAGE_SIZE;
+        System.out.println();
+        System.out.printf("Walked %d tasks in %d pages: %.1f ms%n", count, pages, walkMillis);
+        for (int depth : new int[] {offset, count - PAGE_SIZE}) {
+            Object[] key = keyBefore(depth);
+            System.out.printf("%-34s %10s%n", "ids of page at row " + depth, "ms");
+            System.out.printf("%-34s %10.2f%n", "  LIMIT/OFFSET",
+                BenchmarkSupport.medianMillis(9, () -> offsetPageIds(depth)));
+            System.out.printf("%-34s %10.2f%n", "  keyset (created_at, id)",
+                BenchmarkSupport.medianMillis(9, () -> keysetPageIds(key)));
+        }
+        System.out.printf("%-34s %10.2f%n", "findAllPage at row " + offset + " (full rows)",
+            BenchmarkSupport.medianMillis(9, () -> taskDAO.findAllPage(pageToken, PAGE_SIZE)));
+    }
+
+    /**
+     * The (created_at, id) of the row just before a position
+     */
+    private static Object[] keyBefore(int position) throws Exception {
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "SELECT COALESCE(created_at, ''), id FROM tasks ORDER BY COALESCE(created_at, '') DESC, id DESC LIMIT 1 OFFSET ?")) {
+            statement.setInt(1, position - 1);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return new Object[] {resultSet.getString(1), resultSet.getInt(2)};
+            }
+        }
+    }
+
+    private static int keysetPageIds(Object[] key) throws Exception {
+        int rows = 0;
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "SELECT id FROM tasks WHERE COALESCE(created_at, '') <= ? AND (COALESCE(created_at, '') < ? OR id < ?) " +
+                 "ORDER BY COALESCE(created_at, '') DESC, id DESC LIMIT ?")) {
+            statement.setString(1, (String) key[0]);
+            statement.setString(2, (String) key[0]);
+            statement.setInt(3, (Integer) key[1]);
+            statement.setInt(4, PAGE_SIZE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Only reads ids, so the difference is the OFFSET scan rather than row mapping
+     */
+    private static int offsetPageIds(int offset) throws Exception {
+        int rows = 0;
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "SELECT id FROM tasks ORDER BY COALESCE(created_at, '') DESC, id DESC LIMIT ? OFFSET ?")) {
+            statement.setInt(1, PAGE_SIZE);
+            statement.setInt(2, offset);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,95 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.service.AnalyticsEngine;
+import com.worksphere.service.ExportService;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.LocalDate;
+import java.util.concurrent.Callable;
+
+/**
+ * Compares peak live heap of analytics and CSV export over TaskDAO.findAll()
+ * against the streaming TaskDAO.streamAll/forEachTask path.
+ *
+ * Defaults to 1M tasks; pass another size as the first argument. The findAll
+ * runs need a large heap at 1M tasks, e.g. -Xmx3g.
+ */
+public class StreamingReadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        BenchmarkSupport.useScratchDatabase();
+        TaskDAO taskDAO = new TaskDAO();
+        ExportService exportService = new ExportService();
+        int count = BenchmarkSupport.seedTasks(size);
+        File csv = File.createTempFile("worksphere-export-", ".csv");
+        csv.deleteOnExit();
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(30);
+
+        System.out.println();
+        System.out.printf("%d tasks%n", count);
+        System.out.printf("%-28s %10s %16s%n", "operation", "ms", "peak heap (MB)");
+        measure("analytics via findAll", () -> AnalyticsEngine.analyze(taskDAO.findAll(), startDate, endDate));
+        measure("analytics via forEachTask", () -> {
+            AnalyticsEngine engine = new AnalyticsEngine(startDate, endDate);
+            taskDAO.forEachTask(engine::accept);
+            return engine.getSnapshot();
+        });
+        measure("CSV export via findAll", () -> {
+            exportService.exportTasksToCSV(taskDAO.findAll(), csv.getAbsolutePath());
+            return null;
+        });
+        measure("CSV export streamed", () -> {
+            exportService.exportAllTasksToCSV(csv.getAbsolutePath());
+            return null;
+        });
+    }
+
+    /**
+     * Run an operation once while sampling the live heap (usage measured right
+     * after each garbage collection) from a background thread
+     */
+    private static void measure(String name, Callable<?> operation) throws Exception {
+        System.gc();
+        long baseline = liveHeap();
+        long[] peak = {baseline};
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peak[0] = Math.max(peak[0], liveHeap());
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+
+        long start = System.nanoTime();
+        operation.call();
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+        sampler.interrupt();
+        sampler.join();
+
+        System.out.printf("%-28s %10.1f %16.1f%n", name, millis, (peak[0] - baseline) / (1024.0 * 1024.0));
+    }
+
+    private static long liveHeap() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage afterGc = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+            if (afterGc != null) {
+                used += afterGc.getUsed();
+            }
+        }
+        return used;
+    }
+}
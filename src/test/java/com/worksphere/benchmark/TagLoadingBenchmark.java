@@ -0,0 +1,67 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares TaskDAO.findAll() with batched tag loading against the previous
+ * per-row strategy (a fresh connection plus a tag query for every task).
+ */
+public class TagLoadingBenchmark {
+    
+    private static final int[] ROW_COUNTS = {100, 1_000, 10_000, 40_000};
+    
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.useScratchDatabase();
+        TaskDAO taskDAO = new TaskDAO();
+        
+        System.out.println();
+        System.out.printf("%10s %18s %18s %10s%n", "rows", "per-row tags (ms)", "batched tags (ms)", "speedup");
+        for (int rowCount : ROW_COUNTS) {
+            int rows = BenchmarkSupport.seedTasks(rowCount);
+            int runs = rows > 10_000 ? 3 : 5;
+            
+            double legacy = BenchmarkSupport.medianMillis(runs, TagLoadingBenchmark::findAllWithPerRowTags);
+            double batched = BenchmarkSupport.medianMillis(runs, taskDAO::findAll);
+            
+            System.out.printf("%10d %18.1f %18.1f %9.1fx%n", rows, legacy, batched, legacy / batched);
+        }
+    }
+    
+    /**
+     * Reproduces the old access pattern: one query for the rows, then a new
+     * connection and a tag query for each row
+     */
+    private static List<List<String>> findAllWithPerRowTags() throws SQLException {
+        List<List<String>> tagsPerTask = new ArrayList<>();
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "SELECT id FROM tasks ORDER BY created_at DESC");
+             ResultSet resultSet = statement.executeQuery()) {
+            
+            while (resultSet.next()) {
+                int taskId = resultSet.getInt(1);
+                try (Connection conn = DatabaseConnection.getConnection();
+                     PreparedStatement tagStmt = conn.prepareStatement(
+                         "SELECT tag_name FROM task_tags WHERE task_id = ? ORDER BY tag_name")) {
+                    tagStmt.setInt(1, taskId);
+                    List<String> tags = new ArrayList<>();
+                    try (ResultSet rs = tagStmt.executeQuery()) {
+                        while (rs.next()) {
+                            tags.add(rs.getString(1));
+                        }
+                    }
+                    tagsPerTask.add(tags);
+                }
+            }
+        }
+        return tagsPerTask;
+    }
+}
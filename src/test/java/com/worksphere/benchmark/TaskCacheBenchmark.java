@@ -0,0 +1,70 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.dao.UserDAO;
+import com.worksphere.model.TaskStatus;
+import com.worksphere.model.TaskSummary;
+import com.worksphere.service.TaskCache;
+import com.worksphere.service.TaskService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the lookup pattern of the task dialogs and status changes
+ * (findById for the existence check, then getTaskById again for the dialog)
+ * against a working set of tasks, with and without the task cache. Each
+ * status change invalidates its task, so the next lookup is a miss.
+ */
+public class TaskCacheBenchmark {
+
+    private static final int TASK_COUNT = 20_000;
+    private static final int WORKING_SET = 200;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.useScratchDatabase();
+        TaskDAO taskDAO = new TaskDAO();
+        BenchmarkSupport.seedTasks(TASK_COUNT);
+        List<Integer> ids = taskDAO.findAllSummaries().stream()
+            .limit(WORKING_SET)
+            .map(TaskSummary::getId)
+            .collect(Collectors.toList());
+
+        TaskCache cache = new TaskCache(WORKING_SET * 2);
+        TaskDAO.addWriteListener(cache);
+        TaskService cached = new TaskService(taskDAO, new UserDAO(), cache);
+
+        System.out.println();
+        System.out.printf("%-32s %10s%n", ROUNDS + " rounds x " + WORKING_SET + " tasks", "ms");
+        System.out.printf("%-32s %10.1f%n", "TaskDAO.findById",
+            BenchmarkSupport.medianMillis(5, () -> lookups(id -> taskDAO.findById(id).orElseThrow(), ids)));
+        System.out.printf("%-32s %10.1f%n", "TaskService.getTaskById (cache)",
+            BenchmarkSupport.medianMillis(5, () -> lookups(cached::getTaskById, ids)));
+
+        // Every tenth task changes status between rounds
+        System.out.printf("%-32s %10.1f%n", "cache with 10% writes", BenchmarkSupport.medianMillis(5, () -> {
+            for (int i = 0; i < ids.size(); i += 10) {
+                cached.updateTaskStatus(ids.get(i), TaskStatus.values()[i % 3]);
+            }
+            return lookups(cached::getTaskById, ids);
+        }));
+        System.out.println(cached.getTaskCacheStats());
+    }
+
+    private interface Lookup {
+        Object find(int id) throws Exception;
+    }
+
+    private static int lookups(Lookup lookup, List<Integer> ids) throws Exception {
+        int found = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int id : ids) {
+                if (lookup.find(id) != null) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,56 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.model.TaskSnapshot;
+import com.worksphere.model.TaskStatus;
+import com.worksphere.model.TaskSummary;
+import com.worksphere.service.TaskService;
+import com.worksphere.service.TaskStore;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares what one task edit cost when the dashboard, task list, board and
+ * timer each reloaded their own copy of the task list against refreshing
+ * the shared TaskStore, which reads only the change and notifies the views.
+ * TaskStoreTest checks that a refresh picks up the edit.
+ */
+public class TaskStoreBenchmark {
+
+    private static final int TASK_COUNT = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.useScratchDatabase();
+        TaskService taskService = new TaskService();
+        BenchmarkSupport.seedTasks(TASK_COUNT);
+
+        TaskStore store = new TaskStore(taskService);
+        AtomicInteger notifications = new AtomicInteger();
+        for (int view = 0; view < 3; view++) {
+            store.addListener((snapshot, changes) -> notifications.incrementAndGet());
+        }
+        List<TaskSummary> tasks = store.refresh().getSummaries();
+        int[] next = {0};
+
+        double perPanel = BenchmarkSupport.medianMillis(5, () -> {
+            taskService.updateTaskStatus(tasks.get(next[0]++).getId(), TaskStatus.IN_PROGRESS);
+            int rows = taskService.getAllTaskSummaries().size();    // dashboard
+            rows += taskService.getAllTasks().size();               // task list
+            rows += taskService.getAllTaskSummaries().size();       // board
+            rows += taskService.getAllTaskSummaries().size();       // timer
+            return rows;
+        });
+        double shared = BenchmarkSupport.medianMillis(5, () -> {
+            taskService.updateTaskStatus(tasks.get(next[0]++).getId(), TaskStatus.COMPLETED);
+            return store.refresh().size();
+        });
+
+        TaskSnapshot snapshot = store.refresh();
+
+        System.out.println();
+        System.out.printf("%-36s %10s%n", "one edit, " + TASK_COUNT + " tasks", "ms");
+        System.out.printf("%-36s %10.1f%n", "each view reloads", perPanel);
+        System.out.printf("%-36s %10.1f%n", "shared store refresh", shared);
+        System.out.printf("%s, %d listener notifications%n", snapshot, notifications.get());
+    }
+}
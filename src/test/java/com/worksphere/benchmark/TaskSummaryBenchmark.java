@@ -0,0 +1,26 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.TaskDAO;
+
+/**
+ * Compares loading full tasks (joins, six timestamps, tags) against the
+ * TaskSummary projection used by the board, dashboard and Pomodoro picker.
+ * TaskDAOTest checks that the summaries match the tasks.
+ */
+public class TaskSummaryBenchmark {
+
+    private static final int TASK_COUNT = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.useScratchDatabase();
+        TaskDAO taskDAO = new TaskDAO();
+        int count = BenchmarkSupport.seedTasks(TASK_COUNT);
+
+        System.out.println();
+        System.out.printf("%-28s %10s%n", count + " tasks", "ms");
+        System.out.printf("%-28s %10.1f%n", "findAll (full tasks)",
+            BenchmarkSupport.medianMillis(5, taskDAO::findAll));
+        System.out.printf("%-28s %10.1f%n", "findAllSummaries",
+            BenchmarkSupport.medianMillis(5, taskDAO::findAllSummaries));
+    }
+}
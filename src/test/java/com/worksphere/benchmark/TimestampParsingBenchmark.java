@@ -0,0 +1,136 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.util.DatabaseConnection;
+import com.worksphere.util.SqliteTimestamps;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Compares the old timestamp handling of TaskDAO row mapping (getTimestamp
+ * inside try/catch, then getString and regex matching) against
+ * SqliteTimestamps, first on bare strings and then while reading the four
+ * timestamp columns of every task row. SqliteTimestampsTest checks what the
+ * parser returns.
+ *
+ * This is a plain main-method benchmark like the others in this package; the
+ * warm-up pass and median of several runs stand in for a JMH harness.
+ */
+public class TimestampParsingBenchmark {
+
+    private static final int TASK_COUNT = 100_000;
+    private static final int STRING_COUNT = 1_000_000;
+    private static final String[] COLUMNS = {"created_at", "updated_at", "completed_at", "last_worked_at"};
+    private static final String SELECT_TIMESTAMPS =
+        "SELECT created_at, updated_at, completed_at, last_worked_at FROM tasks";
+    private static final DateTimeFormatter SQLITE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static long sink;
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.useScratchDatabase();
+        BenchmarkSupport.seedTasks(TASK_COUNT);
+
+        String[] samples = new String[STRING_COUNT];
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < samples.length; i++) {
+            String text = base.plusSeconds(i * 37L).format(SQLITE_FORMAT);
+            samples[i] = i % 4 == 0 ? text + ".250" : text;
+        }
+
+        System.out.println();
+        System.out.printf("%-34s %12s %12s%n", "", "legacy (ms)", "fixed (ms)");
+        double legacy = BenchmarkSupport.medianMillis(5, () -> {
+            for (String sample : samples) {
+                sink += legacyParse(sample).getSecond();
+            }
+            return sink;
+        });
+        double fixed = BenchmarkSupport.medianMillis(5, () -> {
+            for (String sample : samples) {
+                sink += SqliteTimestamps.parse(sample).getSecond();
+            }
+            return sink;
+        });
+        System.out.printf("%-34s %12.1f %12.1f%n", "parse " + STRING_COUNT + " strings", legacy, fixed);
+
+        legacy = BenchmarkSupport.medianMillis(5, () -> mapRows(true));
+        fixed = BenchmarkSupport.medianMillis(5, () -> mapRows(false));
+        System.out.printf("%-34s %12.1f %12.1f%n", "map 4 columns x " + TASK_COUNT + " rows", legacy, fixed);
+        System.out.printf("%-34s %12.0f %12.0f%n", "rows per second",
+            TASK_COUNT / legacy * 1000, TASK_COUNT / fixed * 1000);
+    }
+
+    private static int mapRows(boolean legacy) throws SQLException {
+        int rows = 0;
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_TIMESTAMPS);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                for (String column : COLUMNS) {
+                    LocalDateTime value = legacy ? legacyRead(resultSet, column)
+                                                 : SqliteTimestamps.read(resultSet, column);
+                    if (value != null) {
+                        sink += value.getSecond();
+                    }
+                }
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * The per-column pattern TaskDAO.mapResultSetToTask used before SqliteTimestamps
+     */
+    private static LocalDateTime legacyRead(ResultSet resultSet, String column) throws SQLException {
+        try {
+            Timestamp timestamp = resultSet.getTimestamp(column);
+            if (timestamp != null) {
+                return timestamp.toLocalDateTime();
+            }
+        } catch (SQLException e) {
+            // Fall through to string parsing
+        }
+        String text = resultSet.getString(column);
+        return text != null && !text.trim().isEmpty() ? legacyParse(text) : null;
+    }
+
+    /**
+     * The regex-based parseTimestampString TaskDAO used before SqliteTimestamps
+     */
+    private static LocalDateTime legacyParse(String timestampStr) {
+        if (timestampStr == null || timestampStr.trim().isEmpty()) {
+            return null;
+        }
+        String cleanStr = timestampStr.trim();
+        try {
+            if (cleanStr.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}")) {
+                return LocalDateTime.parse(cleanStr.replace(" ", "T"));
+            }
+            if (cleanStr.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d{3}")) {
+                return LocalDateTime.parse(cleanStr.replace(" ", "T"));
+            }
+            if (cleanStr.matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}")) {
+                return LocalDateTime.parse(cleanStr);
+            }
+            try {
+                return Timestamp.valueOf(cleanStr).toLocalDateTime();
+            } catch (Exception e) {
+                // Continue to next method
+            }
+            if (cleanStr.matches("\\d{4}-\\d{2}-\\d{2}")) {
+                return LocalDate.parse(cleanStr).atStartOfDay();
+            }
+        } catch (Exception e) {
+            // All parsing methods failed
+        }
+        return null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.UserDAO;
+import com.worksphere.model.Priority;
+import com.worksphere.service.TaskService;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+
+/**
+ * Times TaskService.createTask through the GUI overload, which resolves the
+ * assignee and the "admin" creator by username and then validates both IDs,
+ * with the UserDAO cache cleared before every call (the old cost of four user
+ * queries per task) and with it warm (the insert alone).
+ *
+ * createTask logs every insert to stdout; that output is discarded while timing.
+ */
+public class UserLookupBenchmark {
+
+    private static final int TASKS = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.useScratchDatabase();
+        BenchmarkSupport.seedTasks(0);
+        TaskService taskService = new TaskService();
+
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        double cold;
+        double warm;
+        try {
+            cold = BenchmarkSupport.medianMillis(3, () -> createTasks(taskService, true));
+            warm = BenchmarkSupport.medianMillis(3, () -> createTasks(taskService, false));
+        } finally {
+            System.setOut(out);
+        }
+
+        System.out.println();
+        System.out.printf("%-34s %10s%n", TASKS + " x createTask(..., username, ...)", "ms");
+        System.out.printf("%-34s %10.1f%n", "user cache cleared each call", cold);
+        System.out.printf("%-34s %10.1f%n", "user cache warm", warm);
+    }
+
+    private static int createTasks(TaskService taskService, boolean clearCache) throws Exception {
+        for (int i = 0; i < TASKS; i++) {
+            if (clearCache) {
+                UserDAO.invalidateCache();
+            }
+            taskService.createTask("User lookup task " + i, "Created by UserLookupBenchmark",
+                Priority.MEDIUM, "john_doe", LocalDate.now().plusDays(1));
+        }
+        return TASKS;
+    }
+}
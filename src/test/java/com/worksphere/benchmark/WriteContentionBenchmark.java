@@ -0,0 +1,81 @@
+package com.worksphere.benchmark;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.util.DatabaseConnection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures Pomodoro-style updateTaskTime() latency while other threads run
+ * findAll() in a loop. Run once per storage mode, e.g. with
+ * {@code -Ddb.storageMode=pooled} and {@code -Ddb.storageMode=single-writer}.
+ */
+public class WriteContentionBenchmark {
+    
+    private static final int TASK_COUNT = 10_000;
+    private static final int READER_THREADS = 3;
+    private static final long DURATION_MILLIS = 10_000;
+    
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.useScratchDatabase();
+        TaskDAO taskDAO = new TaskDAO();
+        int rows = BenchmarkSupport.seedTasks(TASK_COUNT);
+        
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger reads = new AtomicInteger();
+        AtomicInteger readErrors = new AtomicInteger();
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < READER_THREADS; i++) {
+            Thread reader = new Thread(() -> {
+                while (running.get()) {
+                    try {
+                        taskDAO.findAll();
+                        reads.incrementAndGet();
+                    } catch (Exception e) {
+                        readErrors.incrementAndGet();
+                    }
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+        
+        List<Double> writeLatencies = new ArrayList<>();
+        int writeErrors = 0;
+        long end = System.currentTimeMillis() + DURATION_MILLIS;
+        for (int i = 0; System.currentTimeMillis() < end; i++) {
+            long start = System.nanoTime();
+            try {
+                taskDAO.updateTaskTime(1 + (i % rows), i % 240);
+                writeLatencies.add((System.nanoTime() - start) / 1_000_000.0);
+            } catch (Exception e) {
+                writeErrors++;
+            }
+        }
+        
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        
+        Collections.sort(writeLatencies);
+        System.out.println();
+        System.out.println("Storage mode:  " + (DatabaseConnection.isSingleWriterMode() ? "single-writer (WAL)" : "pooled"));
+        System.out.printf("Reads:         %d findAll() calls, %d errors%n", reads.get(), readErrors.get());
+        System.out.printf("Writes:        %d updateTaskTime() calls, %d errors%n", writeLatencies.size(), writeErrors);
+        if (!writeLatencies.isEmpty()) {
+            System.out.printf("Write latency: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(writeLatencies, 0.50), percentile(writeLatencies, 0.99),
+                writeLatencies.get(writeLatencies.size() - 1));
+        }
+    }
+    
+    private static double percentile(List<Double> sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+}
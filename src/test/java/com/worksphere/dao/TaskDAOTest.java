@@ -0,0 +1,657 @@
+package com.worksphere.dao;
+
+import com.worksphere.model.CategorySnapshot;
+import com.worksphere.model.Priority;
+import com.worksphere.model.Task;
+import com.worksphere.model.TaskChangeSet;
+import com.worksphere.model.TaskFilterCriteria;
+import com.worksphere.model.TaskPage;
+import com.worksphere.model.TaskStatus;
+import com.worksphere.model.TaskSummary;
+import com.worksphere.util.DatabaseConnection;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TaskDAO, run against the scratch database configured for
+ * the test JVM. Rows left by earlier tests or runs are tolerated.
+ */
+public class TaskDAOTest {
+
+    private static final TaskDAO taskDAO = new TaskDAO();
+
+    @BeforeAll
+    static void addTasksWithBothDueDateForms() throws SQLException {
+        DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO tasks (title, priority, status, due_date, assigned_to, created_by, category_id) " +
+                     "VALUES (?, ?, ?, ?, ?, 1, ?)")) {
+                Priority[] priorities = Priority.values();
+                TaskStatus[] statuses = TaskStatus.values();
+                for (int offset = -6; offset <= 6; offset++) {
+                    int row = offset + 6;
+                    LocalDate dueDate = LocalDate.now().plusDays(offset);
+                    // Written through JDBC: epoch milliseconds
+                    bind(statement, "Millis dated task " + offset, priorities[row % priorities.length],
+                         statuses[row % statuses.length], Date.valueOf(dueDate), row % 3, row % 2);
+                    // Seeded rows: 'YYYY-MM-DD' text
+                    bind(statement, "Text dated task " + offset, priorities[(row + 1) % priorities.length],
+                         statuses[(row + 1) % statuses.length], dueDate.toString(), (row + 1) % 3, (row + 1) % 2);
+                }
+                bind(statement, "Undated task", Priority.HIGH, TaskStatus.TODO, null, 1, 1);
+                statement.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    private static void bind(PreparedStatement statement, String title, Priority priority, TaskStatus status,
+                             Object dueDate, int assignee, int category) throws SQLException {
+        statement.setString(1, title);
+        statement.setString(2, priority.name());
+        statement.setString(3, status.name());
+        statement.setObject(4, dueDate);
+        statement.setObject(5, assignee == 0 ? null : assignee);
+        statement.setObject(6, category == 0 ? null : category);
+        statement.addBatch();
+    }
+
+    @Test
+    void testFindByCriteria_MatchesInMemoryFilterForBothDueDateForms() throws SQLException {
+        assertTrue(hasDueDateStoredAs("integer") && hasDueDateStoredAs("text"));
+
+        LocalDate today = LocalDate.now();
+        Map<String, TaskFilterCriteria> filters = new LinkedHashMap<>();
+        filters.put("status", new TaskFilterCriteria().withStatuses(List.of(TaskStatus.TODO, TaskStatus.COMPLETED)));
+        filters.put("priority", new TaskFilterCriteria().withPriorities(List.of(Priority.URGENT)));
+        filters.put("category", new TaskFilterCriteria().withCategories(List.of(1)));
+        filters.put("assignee", new TaskFilterCriteria().withAssignees(List.of(2)));
+        filters.put("due from", new TaskFilterCriteria().withDateRange(today.plusDays(2), null));
+        filters.put("due until", new TaskFilterCriteria().withDateRange(null, today.minusDays(2)));
+        filters.put("due between", new TaskFilterCriteria().withDateRange(today.minusDays(3), today.plusDays(3)));
+        filters.put("due today", new TaskFilterCriteria().withDateRange(today, today));
+        filters.put("overdue", new TaskFilterCriteria().withOverdueOnly(true));
+        filters.put("combined", new TaskFilterCriteria().withStatuses(List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS))
+            .withPriorities(List.of(Priority.LOW, Priority.HIGH)).withDateRange(today.minusDays(4), today.plusDays(1)));
+        filters.put("empty lists", new TaskFilterCriteria().withStatuses(List.of()).withAssignees(List.of()));
+        filters.put("text", new TaskFilterCriteria().withSearchText("Undated task"));
+        filters.put("text and status", new TaskFilterCriteria().withSearchText("text dated")
+            .withStatuses(List.of(TaskStatus.IN_PROGRESS)));
+
+        List<Task> allTasks = taskDAO.findAll();
+        for (Map.Entry<String, TaskFilterCriteria> entry : filters.entrySet()) {
+            TaskFilterCriteria criteria = entry.getValue();
+            List<Integer> expected = allTasks.stream().filter(task -> matchesInMemory(task, criteria))
+                .map(Task::getId).sorted().collect(Collectors.toList());
+            List<Integer> actual = taskDAO.findByCriteria(criteria).stream()
+                .map(Task::getId).sorted().collect(Collectors.toList());
+
+            assertFalse(expected.isEmpty(), entry.getKey() + " matches nothing");
+            assertEquals(expected, actual, entry.getKey());
+        }
+    }
+
+    @Test
+    void testFindTasksForUserPage_WalksTiesAndMissingCreatedAtOnce() throws SQLException {
+        int userId = createUser("pager");
+        // Newest first, ties broken by id; a missing created_at sorts last
+        List<Integer> newestFirst = new ArrayList<>();
+        for (String createdAt : new String[] {"2024-02-01 09:00:00", "2024-01-01 10:00:00", null}) {
+            List<Integer> ids = insertTasksCreatedAt(userId, createdAt, createdAt == null ? 2 : 3);
+            Collections.reverse(ids);
+            newestFirst.addAll(ids);
+        }
+
+        List<Integer> walked = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            TaskPage page = taskDAO.findTasksForUserPage(userId, token, 2);
+            page.getTasks().forEach(task -> walked.add(task.getId()));
+            token = page.getNextPageToken();
+            pages++;
+        } while (token != null);
+
+        assertEquals(newestFirst, walked);
+        assertEquals(4, pages);
+    }
+
+    @Test
+    void testFindAllPage_WalksEveryTaskOnce() throws SQLException {
+        insertTasksCreatedAt(1, null, 2);
+        Set<Integer> expected = taskDAO.findAll().stream().map(Task::getId).collect(Collectors.toSet());
+
+        List<Integer> walked = new ArrayList<>();
+        String token = null;
+        do {
+            TaskPage page = taskDAO.findAllPage(token, 250);
+            page.getTasks().forEach(task -> walked.add(task.getId()));
+            token = page.getNextPageToken();
+        } while (token != null);
+
+        assertEquals(walked.size(), new HashSet<>(walked).size(), "a task was returned twice");
+        assertEquals(expected, new HashSet<>(walked));
+    }
+
+    @Test
+    void testFindAllPage_RejectsInvalidToken() {
+        String notBase64 = "not a token!";
+        String notAnId = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("abc|2024-01-01 10:00:00".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> taskDAO.findAllPage(notBase64, 10));
+        assertThrows(IllegalArgumentException.class, () -> taskDAO.findAllPage(notAnId, 10));
+    }
+
+    @Test
+    void testCreateTasks_ReturnedIdsReadBackWithTags() throws SQLException {
+        // More than one JDBC batch of tasks and of tags
+        String run = "Bulk " + System.nanoTime();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            Task task = new Task(run + " #" + i, "Bulk inserted", Priority.LOW, TaskStatus.TODO, null, null, 1);
+            task.setTags(i % 3 == 0 ? List.of("bulk", "tag-" + i) : List.of());
+            tasks.add(task);
+        }
+
+        List<Integer> ids = taskDAO.createTasks(tasks);
+
+        assertEquals(tasks.size(), ids.size());
+        Map<Integer, Task> stored = taskDAO.findByIds(ids).stream()
+            .collect(Collectors.toMap(Task::getId, task -> task));
+        assertEquals(tasks.size(), stored.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(ids.get(i).intValue(), tasks.get(i).getId());
+            Task task = stored.get(ids.get(i));
+            assertEquals(run + " #" + i, task.getTitle());
+            assertEquals(new HashSet<>(tasks.get(i).getTags()), new HashSet<>(task.getTags()), task.getTitle());
+        }
+    }
+
+    @Test
+    void testStreamAll_MatchesFindAllAcrossChunks() throws SQLException {
+        int taskId = insertTasksCreatedAt(1, "2024-06-01 08:00:00", 1).get(0);
+        taskDAO.updateTaskTags(taskId, List.of("streamed", "chunked"));
+        // Several chunks of STREAM_CHUNK_SIZE rows, each loading its own tags
+        int missing = 1200 - taskDAO.findAll().size();
+        if (missing > 0) {
+            insertTasksCreatedAt(1, "2024-06-01 09:00:00", missing);
+        }
+        Map<Integer, String> expected = taskDAO.findAll().stream()
+            .collect(Collectors.toMap(Task::getId, TaskDAOTest::describe));
+
+        Map<Integer, String> streamed;
+        try (Stream<Task> tasks = taskDAO.streamAll()) {
+            streamed = tasks.collect(Collectors.toMap(Task::getId, TaskDAOTest::describe));
+        }
+        List<Integer> firstIds;
+        try (Stream<Task> tasks = taskDAO.streamAll()) {
+            // Closing a partly read stream releases its connection
+            firstIds = tasks.limit(3).map(Task::getId).collect(Collectors.toList());
+        }
+
+        assertEquals(expected, streamed);
+        assertTrue(streamed.get(taskId).contains("[chunked, streamed]"));
+        assertEquals(3, firstIds.size());
+    }
+
+    @Test
+    void testFindAllSummaries_MatchTheFullTasks() throws SQLException {
+        Map<Integer, Task> tasks = taskDAO.findAll().stream()
+            .collect(Collectors.toMap(Task::getId, task -> task));
+
+        List<TaskSummary> summaries = taskDAO.findAllSummaries();
+
+        assertEquals(tasks.keySet(), summaries.stream().map(TaskSummary::getId).collect(Collectors.toSet()));
+        for (TaskSummary summary : summaries) {
+            Task task = tasks.get(summary.getId());
+            assertEquals(task.getTitle(), summary.getTitle());
+            assertEquals(task.getStatus(), summary.getStatus());
+            assertEquals(task.getPriority(), summary.getPriority());
+            assertEquals(task.getDueDate(), summary.getDueDate(), task.getTitle());
+            assertEquals(task.getAssignedTo(), summary.getAssignedTo());
+            assertEquals(task.getCreatedBy(), summary.getCreatedBy());
+            assertEquals(task.getUpdatedAt(), summary.getUpdatedAt());
+            if (summary.getCreatedAt() != null) {
+                assertEquals(task.getCreatedAt(), summary.getCreatedAt());
+            }
+        }
+        List<Integer> forUser = taskDAO.findSummariesForUser(2).stream()
+            .map(TaskSummary::getId).sorted().collect(Collectors.toList());
+        assertEquals(taskDAO.findTasksForUser(2).stream().map(Task::getId).sorted().collect(Collectors.toList()), forUser);
+        assertFalse(forUser.isEmpty());
+    }
+
+    @Test
+    void testUpdateStatusForTasks_ChunksLargeIdSetInOneWrite() throws SQLException {
+        List<Integer> ids = createTodoTasks(2 * TaskDAO.MAX_IN_LIST_PARAMETERS + 1);
+        List<Collection<Integer>> written = new CopyOnWriteArrayList<>();
+        TaskWriteListener listener = recordingListener(written);
+        TaskDAO.addWriteListener(listener);
+        try {
+            assertEquals(ids.size(), taskDAO.updateStatusForTasks(ids, TaskStatus.IN_PROGRESS));
+        } finally {
+            TaskDAO.removeWriteListener(listener);
+        }
+
+        assertTrue(taskDAO.findByIds(ids).stream().allMatch(task -> task.getStatus() == TaskStatus.IN_PROGRESS));
+        // One notification for the whole set, after the commit
+        assertEquals(1, written.size());
+        assertEquals(new HashSet<>(ids), new HashSet<>(written.get(0)));
+        taskDAO.deleteTasks(ids);
+    }
+
+    @Test
+    void testUpdateStatusForTasks_StampsCompletedAtOnlyWhenEnteringCompleted() throws SQLException {
+        List<Integer> ids = createTodoTasks(3);
+        int todo = ids.get(0);
+        int alreadyCompleted = ids.get(1);
+        int startedOnly = ids.get(2);
+        DatabaseConnection.executeWrite(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("UPDATE tasks SET status = 'COMPLETED', completed_at = '2020-01-01 00:00:00' " +
+                                  "WHERE id = " + alreadyCompleted);
+            }
+            return null;
+        });
+
+        taskDAO.updateStatusForTasks(List.of(startedOnly), TaskStatus.IN_PROGRESS);
+        taskDAO.updateStatusForTasks(List.of(todo, alreadyCompleted), TaskStatus.COMPLETED);
+
+        Map<Integer, Task> tasks = taskDAO.findByIds(ids).stream().collect(Collectors.toMap(Task::getId, task -> task));
+        assertNotNull(tasks.get(todo).getCompletedAt());
+        assertEquals(LocalDate.of(2020, 1, 1), tasks.get(alreadyCompleted).getCompletedAt().toLocalDate());
+        assertNull(tasks.get(startedOnly).getCompletedAt());
+        taskDAO.deleteTasks(ids);
+    }
+
+    @Test
+    void testUpdateStatusForTasks_FailedChunkRollsBackEveryChunk() throws SQLException {
+        List<Integer> ids = createTodoTasks(2 * TaskDAO.MAX_IN_LIST_PARAMETERS + 1);
+        // Fails the last chunk, after the first two were applied
+        String trigger = "fail_bulk_" + System.nanoTime();
+        executeStatement("CREATE TRIGGER " + trigger + " BEFORE UPDATE OF status ON tasks " +
+                         "WHEN new.id = " + ids.get(ids.size() - 1) + " BEGIN SELECT RAISE(ABORT, 'chunk failed'); END");
+        List<Collection<Integer>> written = new CopyOnWriteArrayList<>();
+        TaskWriteListener listener = recordingListener(written);
+        TaskDAO.addWriteListener(listener);
+        try {
+            assertThrows(SQLException.class, () -> taskDAO.updateStatusForTasks(ids, TaskStatus.COMPLETED));
+        } finally {
+            TaskDAO.removeWriteListener(listener);
+            executeStatement("DROP TRIGGER " + trigger);
+        }
+
+        List<Task> tasks = taskDAO.findByIds(ids);
+        assertEquals(ids.size(), tasks.size());
+        assertTrue(tasks.stream().allMatch(task -> task.getStatus() == TaskStatus.TODO && task.getCompletedAt() == null));
+        assertTrue(written.isEmpty());
+        taskDAO.deleteTasks(ids);
+    }
+
+    @Test
+    void testDeleteTasks_RecordsTombstonesAndNotifiesListeners() throws SQLException {
+        List<Integer> ids = createTodoTasks(TaskDAO.MAX_IN_LIST_PARAMETERS + 1);
+        String watermark = taskDAO.currentWatermark();
+        List<Collection<Integer>> written = new CopyOnWriteArrayList<>();
+        TaskWriteListener listener = recordingListener(written);
+        TaskDAO.addWriteListener(listener);
+        try {
+            assertEquals(ids.size(), taskDAO.deleteTasks(ids));
+        } finally {
+            TaskDAO.removeWriteListener(listener);
+        }
+
+        assertTrue(taskDAO.findByIds(ids).isEmpty());
+        String idList = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        assertEquals(ids.size(), countTombstones("task_id IN (" + idList + ")"));
+        assertTrue(taskDAO.findUpdatedSince(watermark, null).getRemovedIds().containsAll(ids));
+        assertEquals(1, written.size());
+        assertEquals(new HashSet<>(ids), new HashSet<>(written.get(0)));
+    }
+
+    @Test
+    void testFindUpdatedSince_DeletedTaskIsReportedAsRemoved() throws SQLException {
+        String watermark = taskDAO.currentWatermark();
+        int taskId = insertTasksCreatedAt(1, "2024-03-01 08:00:00", 1).get(0);
+        assertTrue(taskDAO.findSummariesUpdatedSince(watermark, null).getChanged().stream()
+            .anyMatch(summary -> summary.getId() == taskId));
+
+        assertTrue(taskDAO.deleteTask(taskId));
+
+        assertEquals(1, countTombstones("task_id = " + taskId));
+        TaskChangeSet<Task> tasks = taskDAO.findUpdatedSince(watermark, null);
+        TaskChangeSet<TaskSummary> summaries = taskDAO.findSummariesUpdatedSince(watermark, null);
+        assertTrue(tasks.getRemovedIds().contains(taskId));
+        assertTrue(summaries.getRemovedIds().contains(taskId));
+        assertTrue(tasks.getChanged().stream().noneMatch(task -> task.getId() == taskId));
+        assertTrue(summaries.getChanged().stream().noneMatch(summary -> summary.getId() == taskId));
+        assertFalse(tasks.isReloadRequired());
+    }
+
+    @Test
+    void testFindSummariesUpdatedSince_ReportsBulkChangesAndDeletes() throws SQLException {
+        List<Integer> ids = createTodoTasks(6);
+        List<Integer> updated = ids.subList(0, 3);
+        List<Integer> deleted = ids.subList(3, 6);
+        String watermark = taskDAO.currentWatermark();
+
+        taskDAO.updateStatusForTasks(updated, TaskStatus.COMPLETED);
+        taskDAO.deleteTasks(deleted);
+
+        TaskChangeSet<TaskSummary> changes = taskDAO.findSummariesUpdatedSince(watermark, null);
+        Map<Integer, TaskSummary> changed = changes.getChanged().stream()
+            .collect(Collectors.toMap(TaskSummary::getId, summary -> summary));
+        for (int id : updated) {
+            assertEquals(TaskStatus.COMPLETED, changed.get(id).getStatus());
+        }
+        assertTrue(changes.getRemovedIds().containsAll(deleted));
+        assertTrue(deleted.stream().noneMatch(changed::containsKey));
+        assertTrue(changes.getWatermark().compareTo(watermark) >= 0);
+        taskDAO.deleteTasks(updated);
+    }
+
+    @Test
+    void testFindSummariesUpdatedSince_ReassignedTaskIsRemovedForPreviousAssignee() throws SQLException {
+        int previousAssignee = createUser("feed-from");
+        int newAssignee = createUser("feed-to");
+        int taskId = createTodoTasks(1).get(0);
+        taskDAO.assignTasks(List.of(taskId), previousAssignee);
+        String watermark = taskDAO.currentWatermark();
+
+        taskDAO.assignTasks(List.of(taskId), newAssignee);
+
+        TaskChangeSet<TaskSummary> previous = taskDAO.findSummariesUpdatedSince(watermark, previousAssignee);
+        assertTrue(previous.getRemovedIds().contains(taskId));
+        assertTrue(previous.getChanged().stream().noneMatch(summary -> summary.getId() == taskId));
+        TaskChangeSet<TaskSummary> next = taskDAO.findSummariesUpdatedSince(watermark, newAssignee);
+        assertTrue(next.getChanged().stream().anyMatch(summary -> summary.getId() == taskId));
+        assertFalse(next.getRemovedIds().contains(taskId));
+        taskDAO.deleteTask(taskId);
+    }
+
+    @Test
+    void testPruneTombstones_DropsExpiredOnesAndOlderFeedsMustReload() throws SQLException {
+        // Negative ids never collide with real tasks
+        int expiredId = -(int) (System.nanoTime() % 1_000_000) - 1;
+        int recentId = expiredId - 1_000_000;
+        DatabaseConnection.executeWrite(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("INSERT INTO task_tombstones (task_id, deleted_at) " +
+                                  "VALUES (" + expiredId + ", '2001-01-01 00:00:00')");
+                statement.execute("INSERT INTO task_tombstones (task_id) VALUES (" + recentId + ")");
+            }
+            return null;
+        });
+        assertEquals(1, countTombstones("task_id = " + expiredId));
+
+        assertTrue(taskDAO.pruneTombstones() >= 1);
+
+        assertEquals(0, countTombstones("task_id = " + expiredId));
+        assertEquals(1, countTombstones("task_id = " + recentId));
+        String oldWatermark = "2000-06-01 00:00:00";
+        assertTrue(taskDAO.findUpdatedSince(oldWatermark, null).isReloadRequired());
+        assertTrue(taskDAO.findSummariesUpdatedSince(oldWatermark, null).isReloadRequired());
+        TaskChangeSet<Task> current = taskDAO.findUpdatedSince(taskDAO.currentWatermark(), null);
+        assertFalse(current.isReloadRequired());
+        assertFalse(taskDAO.findUpdatedSince(null, null).isReloadRequired());
+    }
+
+    @Test
+    void testFindById_StaleCategorySnapshotIsNotInvalidatedByRowMapping() throws SQLException {
+        int taskId = insertTasksCreatedAt(1, "2024-04-01 08:00:00", 1).get(0);
+        String renamed = "Renamed " + System.nanoTime();
+        CategorySnapshot before = CategoryRegistry.current();
+        String originalName = before.get(1).getName();
+        // Rename behind the registry's back, as another process would
+        setCategoryName(1, renamed);
+        try {
+            DatabaseConnection.executeWrite(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("UPDATE tasks SET category_id = 1 WHERE id = " + taskId);
+                }
+                return null;
+            });
+
+            Task task = taskDAO.findById(taskId).orElseThrow();
+
+            assertEquals(renamed, task.getCategory().getName());
+            assertSame(before, CategoryRegistry.current());
+        } finally {
+            setCategoryName(1, originalName);
+            CategoryRegistry.invalidate();
+        }
+    }
+
+    @Test
+    void testToFullTextQuery_QuotesEveryWordAsPrefixTerm() throws SQLException {
+        assertEquals("\"code\"* \"review\"*", TaskDAO.toFullTextQuery("  code   review "));
+        assertEquals("\"say\"* \"\"\"hi\"\"\"*", TaskDAO.toFullTextQuery("say \"hi\""));
+        // Operators are searched for as words, never parsed
+        assertEquals("\"a\"* \"AND\"* \"NEAR(b\"* \"OR\"*", TaskDAO.toFullTextQuery("a AND NEAR(b OR"));
+        assertEquals("\"co-op\"*", TaskDAO.toFullTextQuery("co-op ! ..."));
+        assertNull(TaskDAO.toFullTextQuery(null));
+        assertNull(TaskDAO.toFullTextQuery("   "));
+        assertNull(TaskDAO.toFullTextQuery("!! -- \"\" * ( )"));
+
+        assertTrue(taskDAO.searchTasks("-- * ( )").isEmpty());
+        assertDoesNotThrow(() -> taskDAO.searchTasks("\"unbalanced AND NEAR( OR * col:umn ^"));
+    }
+
+    @Test
+    void testSearchTasks_IndexFollowsTagsCategoryRenameAndDelete() throws SQLException {
+        String word = "fts" + System.nanoTime();
+        int taskId = insertTasksCreatedAt(1, "2024-05-01 08:00:00", 1).get(0);
+        DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE tasks SET title = ?, category_id = 1 WHERE id = ?")) {
+                statement.setString(1, "Indexed " + word + "title");
+                statement.setInt(2, taskId);
+                statement.executeUpdate();
+            }
+            return null;
+        });
+        assertTrue(searchIds(word + "title").contains(taskId));
+
+        taskDAO.updateTaskTags(taskId, List.of(word + "tag"));
+        assertTrue(searchIds(word + "tag").contains(taskId));
+        taskDAO.updateTaskTags(taskId, List.of());
+        assertFalse(searchIds(word + "tag").contains(taskId));
+
+        String originalName = CategoryRegistry.current().get(1).getName();
+        setCategoryName(1, word + "category");
+        try {
+            assertTrue(searchIds(word + "category").contains(taskId));
+        } finally {
+            setCategoryName(1, originalName);
+            CategoryRegistry.invalidate();
+        }
+        assertFalse(searchIds(word + "category").contains(taskId));
+
+        assertTrue(taskDAO.deleteTask(taskId));
+        assertFalse(searchIds(word + "title").contains(taskId));
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM task_search WHERE rowid = " + taskId)) {
+            assertTrue(resultSet.next());
+            assertEquals(0, resultSet.getInt(1));
+        }
+    }
+
+    private static int createUser(String prefix) throws SQLException {
+        String username = prefix + "-" + System.nanoTime();
+        return DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO users (username, email, full_name) VALUES (?, ?, ?)")) {
+                statement.setString(1, username);
+                statement.setString(2, username + "@example.com");
+                statement.setString(3, "Test " + prefix);
+                statement.executeUpdate();
+            }
+            return lastInsertId(connection);
+        });
+    }
+
+    private static List<Integer> insertTasksCreatedAt(int userId, String createdAt, int count) throws SQLException {
+        return DatabaseConnection.executeWrite(connection -> {
+            List<Integer> ids = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO tasks (title, created_by, created_at) VALUES (?, ?, ?)")) {
+                for (int i = 0; i < count; i++) {
+                    statement.setString(1, "Paged task " + createdAt + " #" + i);
+                    statement.setInt(2, userId);
+                    statement.setString(3, createdAt);
+                    statement.executeUpdate();
+                    ids.add(lastInsertId(connection));
+                }
+            }
+            return ids;
+        });
+    }
+
+    private static List<Integer> createTodoTasks(int count) throws SQLException {
+        String run = "Bulk update " + System.nanoTime();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(new Task(run + " #" + i, "", Priority.LOW, TaskStatus.TODO, null, null, 1));
+        }
+        return taskDAO.createTasks(tasks);
+    }
+
+    private static TaskWriteListener recordingListener(List<Collection<Integer>> written) {
+        return new TaskWriteListener() {
+            @Override
+            public void tasksWritten(Collection<Integer> taskIds) {
+                written.add(new ArrayList<>(taskIds));
+            }
+
+            @Override
+            public void allTasksWritten() {
+                written.add(null);
+            }
+        };
+    }
+
+    private static void executeStatement(String sql) throws SQLException {
+        DatabaseConnection.executeWrite(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+            return null;
+        });
+    }
+
+    private static void setCategoryName(int categoryId, String name) throws SQLException {
+        DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("UPDATE categories SET name = ? WHERE id = ?")) {
+                statement.setString(1, name);
+                statement.setInt(2, categoryId);
+                statement.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    private static int lastInsertId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT last_insert_rowid()")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static String describe(Task task) {
+        List<String> tags = new ArrayList<>(task.getTags());
+        Collections.sort(tags);
+        return task.getTitle() + " " + task.getStatus() + " " + task.getDueDate() + " " + tags + " " +
+            (task.getCategory() != null ? task.getCategory().getName() : null);
+    }
+
+    private static List<Integer> searchIds(String query) throws SQLException {
+        return taskDAO.searchTasks(query).stream().map(Task::getId).collect(Collectors.toList());
+    }
+
+    private static int countTombstones(String condition) throws SQLException {
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM task_tombstones WHERE " + condition)) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        }
+    }
+
+    private static boolean hasDueDateStoredAs(String type) throws SQLException {
+        try (Connection connection = DatabaseConnection.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "SELECT COUNT(*) FROM tasks WHERE typeof(due_date) = ?")) {
+            statement.setString(1, type);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) > 0;
+            }
+        }
+    }
+
+    /**
+     * The filtering SearchService did in memory before the criteria moved to SQL
+     */
+    private static boolean matchesInMemory(Task task, TaskFilterCriteria criteria) {
+        if (criteria.getStatuses() != null && !criteria.getStatuses().isEmpty() &&
+            !criteria.getStatuses().contains(task.getStatus())) {
+            return false;
+        }
+        if (criteria.getPriorities() != null && !criteria.getPriorities().isEmpty() &&
+            !criteria.getPriorities().contains(task.getPriority())) {
+            return false;
+        }
+        if (criteria.getCategoryIds() != null && !criteria.getCategoryIds().isEmpty() &&
+            !criteria.getCategoryIds().contains(task.getCategoryId())) {
+            return false;
+        }
+        if (criteria.getAssigneeIds() != null && !criteria.getAssigneeIds().isEmpty() &&
+            (task.getAssignedTo() == null || !criteria.getAssigneeIds().contains(task.getAssignedTo()))) {
+            return false;
+        }
+        if (criteria.getStartDate() != null && task.getDueDate() != null &&
+            task.getDueDate().isBefore(criteria.getStartDate())) {
+            return false;
+        }
+        if (criteria.getEndDate() != null && task.getDueDate() != null &&
+            task.getDueDate().isAfter(criteria.getEndDate())) {
+            return false;
+        }
+        if (criteria.isOverdueOnly() && !task.isOverdue()) {
+            return false;
+        }
+        if (criteria.getSearchText() != null) {
+            String term = criteria.getSearchText().toLowerCase();
+            return (task.getTitle() != null && task.getTitle().toLowerCase().contains(term)) ||
+                (task.getDescription() != null && task.getDescription().toLowerCase().contains(term)) ||
+                task.getTags().stream().anyMatch(tag -> tag.toLowerCase().contains(term)) ||
+                (task.getCategory() != null && task.getCategory().getName() != null &&
+                 task.getCategory().getName().toLowerCase().contains(term));
+        }
+        return true;
+    }
+}
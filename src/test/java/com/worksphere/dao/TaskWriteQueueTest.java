@@ -0,0 +1,138 @@
+package com.worksphere.dao;
+
+import com.worksphere.model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TaskWriteQueue
+ */
+public class TaskWriteQueueTest {
+
+    // Long enough that only explicit flushes and full batches commit
+    private static final long NO_TIMED_FLUSH = 60_000;
+
+    @Mock
+    private TaskDAO taskDAO;
+
+    private final List<List<TaskWriteQueue.PendingUpdate>> batches = new CopyOnWriteArrayList<>();
+    private TaskWriteQueue queue;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(taskDAO.applyGroupedUpdates(any())).thenAnswer(invocation -> {
+            List<TaskWriteQueue.PendingUpdate> updates = new ArrayList<>(invocation.getArgument(0));
+            batches.add(updates);
+            return updates.size();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    @Test
+    void testFlush_CoalescesUpdatesPerTask() throws Exception {
+        queue = new TaskWriteQueue(taskDAO, NO_TIMED_FLUSH, 100);
+        CompletableFuture<Void> first = queue.updateTaskTime(1, 10);
+        CompletableFuture<Void> second = queue.updateTaskTime(1, 25);
+        CompletableFuture<Void> status = queue.updateTaskStatus(1, TaskStatus.IN_PROGRESS);
+        CompletableFuture<Void> other = queue.updateTaskTime(2, 5);
+
+        queue.flush().get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, batches.size());
+        List<TaskWriteQueue.PendingUpdate> batch = batches.get(0);
+        assertEquals(2, batch.size());
+        assertEquals(1, batch.get(0).taskId);
+        assertEquals(25, batch.get(0).actualMinutes);
+        assertEquals(TaskStatus.IN_PROGRESS, batch.get(0).status);
+        assertEquals(2, batch.get(1).taskId);
+        assertEquals(5, batch.get(1).actualMinutes);
+        for (CompletableFuture<Void> future : List.of(first, second, status, other)) {
+            assertTrue(future.isDone() && !future.isCompletedExceptionally());
+        }
+        assertEquals(4, queue.getSubmittedOperations());
+        assertEquals(1, queue.getCommittedBatches());
+    }
+
+    @Test
+    void testEnqueue_FlushesAtMaxBatchSize() throws Exception {
+        queue = new TaskWriteQueue(taskDAO, NO_TIMED_FLUSH, 3);
+        CompletableFuture<Void> first = queue.updateTaskTime(1, 10);
+        CompletableFuture<Void> second = queue.updateTaskTime(2, 20);
+        assertFalse(first.isDone());
+
+        CompletableFuture<Void> third = queue.markTaskCompleted(3);
+
+        CompletableFuture.allOf(first, second, third).get(5, TimeUnit.SECONDS);
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+        assertTrue(batches.get(0).get(2).completed);
+    }
+
+    @Test
+    void testFlush_FailedCommitFailsEveryFuture() throws Exception {
+        SQLException failure = new SQLException("database is locked");
+        doThrow(failure).when(taskDAO).applyGroupedUpdates(any());
+        queue = new TaskWriteQueue(taskDAO, NO_TIMED_FLUSH, 100);
+        CompletableFuture<Void> first = queue.updateTaskTime(1, 10);
+        CompletableFuture<Void> second = queue.updateTaskStatus(2, TaskStatus.COMPLETED);
+
+        queue.flush().get(5, TimeUnit.SECONDS);
+
+        for (CompletableFuture<Void> future : List.of(first, second)) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertSame(failure, thrown.getCause());
+        }
+        assertEquals(0, queue.getCommittedBatches());
+    }
+
+    @Test
+    void testFlush_RuntimeFailureFailsFuturesAndKeepsQueueRunning() throws Exception {
+        doThrow(new IllegalStateException("listener failed"))
+            .doReturn(1)
+            .when(taskDAO).applyGroupedUpdates(any());
+        queue = new TaskWriteQueue(taskDAO, NO_TIMED_FLUSH, 100);
+        CompletableFuture<Void> failed = queue.updateTaskTime(1, 10);
+        queue.flush().get(5, TimeUnit.SECONDS);
+        assertTrue(failed.isCompletedExceptionally());
+
+        CompletableFuture<Void> retried = queue.updateTaskTime(1, 10);
+        queue.flush().get(5, TimeUnit.SECONDS);
+
+        assertTrue(retried.isDone() && !retried.isCompletedExceptionally());
+    }
+
+    @Test
+    void testClose_FlushesPendingUpdates() throws Exception {
+        queue = new TaskWriteQueue(taskDAO, NO_TIMED_FLUSH, 100);
+        CompletableFuture<Void> pending = queue.updateTaskTime(7, 45);
+
+        queue.close();
+
+        assertTrue(pending.isDone() && !pending.isCompletedExceptionally());
+        assertEquals(1, batches.size());
+        assertEquals(45, batches.get(0).get(0).actualMinutes);
+        assertThrows(IllegalStateException.class, () -> queue.updateTaskTime(7, 50));
+    }
+}
@@ -0,0 +1,64 @@
+package com.worksphere.gui;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BackgroundLoader
+ */
+public class BackgroundLoaderTest {
+
+    @Test
+    void testSubmit_DeliversResultOnEventDispatchThread() throws Exception {
+        BackgroundLoader loader = new BackgroundLoader(new JPanel());
+        CountDownLatch done = new CountDownLatch(1);
+        List<Object> results = new CopyOnWriteArrayList<>();
+
+        SwingUtilities.invokeAndWait(() -> loader.submit("load", "Loading...",
+            progress -> SwingUtilities.isEventDispatchThread() ? "edt" : "worker",
+            result -> {
+                results.add(result);
+                results.add(SwingUtilities.isEventDispatchThread());
+                done.countDown();
+            },
+            e -> fail(e)));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("worker", true), results);
+    }
+
+    @Test
+    void testSubmit_DropsSupersededResult() throws Exception {
+        BackgroundLoader loader = new BackgroundLoader(new JPanel());
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+        List<String> results = new CopyOnWriteArrayList<>();
+
+        SwingUtilities.invokeAndWait(() -> loader.submit("load", "Loading...", progress -> {
+            firstStarted.countDown();
+            releaseFirst.await();
+            return "first";
+        }, results::add, e -> fail(e)));
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+        SwingUtilities.invokeAndWait(() -> loader.submit("load", "Loading...", progress -> "second", result -> {
+            results.add(result);
+            secondDone.countDown();
+        }, e -> fail(e)));
+        assertTrue(secondDone.await(5, TimeUnit.SECONDS));
+        releaseFirst.countDown();
+
+        // Let the first load finish and its completion reach the event queue
+        Thread.sleep(200);
+        SwingUtilities.invokeAndWait(() -> assertFalse(loader.isLoading()));
+        assertEquals(List.of("second"), results);
+    }
+}
@@ -0,0 +1,70 @@
+package com.worksphere.gui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ListDiff
+ */
+public class ListDiffTest {
+
+    @Test
+    void testApply_InsertAndDeleteOnlyTouchChangedEntries() {
+        ListDiff diff = ListDiff.of(new int[] {5, 4, 3, 2, 1}, new int[] {6, 5, 4, 2, 1});
+
+        assertEquals(2, diff.getEditCount());
+        assertEquals(List.of(6, 5, 4, 2, 1), replay(new int[] {5, 4, 3, 2, 1}, new int[] {6, 5, 4, 2, 1}));
+    }
+
+    @Test
+    void testApply_MovedEntryIsOneRemovalAndOneInsertion() {
+        ListDiff diff = ListDiff.of(new int[] {1, 2, 3, 4, 5}, new int[] {1, 5, 2, 3, 4});
+
+        assertEquals(2, diff.getEditCount());
+    }
+
+    @Test
+    void testApply_ReproducesShuffledList() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            int[] oldIds = random.ints(random.nextInt(40), 0, 60).distinct().toArray();
+            int[] newIds = random.ints(random.nextInt(40), 0, 60).distinct().toArray();
+
+            List<Integer> expected = new ArrayList<>();
+            for (int id : newIds) {
+                expected.add(id);
+            }
+            assertEquals(expected, replay(oldIds, newIds));
+        }
+    }
+
+    private static List<Integer> replay(int[] oldIds, int[] newIds) {
+        List<Integer> list = new ArrayList<>();
+        for (int id : oldIds) {
+            list.add(id);
+        }
+        ListDiff.of(oldIds, newIds).apply(new ListDiff.Edits() {
+            @Override
+            public void remove(int index) {
+                list.remove(index);
+            }
+
+            @Override
+            public void insert(int index) {
+                list.add(index, newIds[index]);
+            }
+
+            @Override
+            public void keep(int index, int oldIndex) {
+                assertEquals(oldIds[oldIndex], (int) list.get(index));
+                assertEquals(newIds[index], (int) list.get(index));
+            }
+        });
+        return list;
+    }
+}
@@ -0,0 +1,122 @@
+package com.worksphere.gui;
+
+import com.worksphere.model.Task;
+import com.worksphere.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.swing.*;
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TaskTableModel
+ */
+public class TaskTableModelTest {
+
+    private static final String[] COLUMNS = {"ID", "Title"};
+
+    @Mock
+    private TaskService taskService;
+
+    private final List<String> titles = new CopyOnWriteArrayList<>();
+    private TaskTableModel model;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(taskService.getTasksByIds(any())).thenAnswer(invocation -> {
+            List<Task> tasks = new ArrayList<>();
+            for (Integer id : invocation.<Collection<Integer>>getArgument(0)) {
+                Task task = new Task();
+                task.setId(id);
+                task.setTitle("Task " + id + titles.stream().reduce("", String::concat));
+                tasks.add(task);
+            }
+            return tasks;
+        });
+        model = new TaskTableModel(taskService, COLUMNS, task -> new Object[] {task.getId(), task.getTitle()}, -1);
+    }
+
+    @Test
+    void testGetValueAt_LoadsOnlyPagesNearTheRow() throws Exception {
+        int[] ids = new int[10 * TaskTableModel.PAGE_SIZE];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i + 1;
+        }
+        SwingUtilities.invokeAndWait(() -> model.setTaskIds(ids));
+
+        int row = 5 * TaskTableModel.PAGE_SIZE;
+        assertEquals(TaskTableModel.LOADING, valueAt(row, 1));
+        assertEquals(row + 1, valueAt(row, 0));
+
+        assertEquals("Task " + (row + 1), awaitLoaded(row));
+        // The page and one page of read-ahead on each side, nothing else
+        verify(taskService, times(3)).getTasksByIds(any());
+        assertNotNull(loadedRow(row - TaskTableModel.PAGE_SIZE));
+        assertNotNull(loadedRow(row + 2 * TaskTableModel.PAGE_SIZE - 1));
+        assertNull(loadedRow(0));
+    }
+
+    @Test
+    void testInvalidate_KeepsStaleRowUntilReloaded() throws Exception {
+        SwingUtilities.invokeAndWait(() -> model.setTaskIds(new int[] {7}));
+        valueAt(0, 1);
+        assertEquals("Task 7", awaitLoaded(0));
+
+        titles.add(" (edited)");
+        SwingUtilities.invokeAndWait(() -> model.invalidate(List.of(7)));
+
+        assertEquals("Task 7", valueAt(0, 1));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"Task 7 (edited)".equals(valueAt(0, 1)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals("Task 7 (edited)", valueAt(0, 1));
+    }
+
+    @Test
+    void testSetTaskIds_FiresInsertedAndDeletedRowsOnly() throws Exception {
+        List<String> events = new CopyOnWriteArrayList<>();
+        model.addTableModelListener(e -> events.add(e.getType() + ":" + e.getFirstRow() + "-" + e.getLastRow()));
+        SwingUtilities.invokeAndWait(() -> model.setTaskIds(new int[] {5, 4, 3, 2, 1}));
+        events.clear();
+
+        SwingUtilities.invokeAndWait(() -> model.setTaskIds(new int[] {7, 6, 5, 4, 2, 1}));
+
+        assertEquals(List.of(TableModelEvent.DELETE + ":2-2", TableModelEvent.INSERT + ":0-1"), events);
+        assertEquals(6, model.getRowCount());
+    }
+
+    private Object valueAt(int row, int column) throws Exception {
+        AtomicReference<Object> value = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> value.set(model.getValueAt(row, column)));
+        return value.get();
+    }
+
+    private Object[] loadedRow(int row) throws Exception {
+        AtomicReference<Object[]> values = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> values.set(model.getLoadedRow(row)));
+        return values.get();
+    }
+
+    private Object awaitLoaded(int row) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (loadedRow(row) == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Object[] values = loadedRow(row);
+        assertNotNull(values, "row " + row + " was not loaded");
+        return values[1];
+    }
+}
@@ -0,0 +1,266 @@
+package com.worksphere.service;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.model.Priority;
+import com.worksphere.model.Task;
+import com.worksphere.model.TaskStatus;
+import com.worksphere.model.TrendGranularity;
+import com.worksphere.service.AnalyticsService.AnalyticsSnapshot;
+import com.worksphere.service.AnalyticsService.CompletionTrendData;
+import com.worksphere.service.AnalyticsService.OverdueAnalysis;
+import com.worksphere.service.AnalyticsService.ProductivityMetrics;
+import com.worksphere.service.AnalyticsService.UserPerformance;
+import com.worksphere.util.DatabaseConnection;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AnalyticsService, checking the single-pass AnalyticsEngine
+ * against the per-statistic stream code it replaced. Runs against the
+ * scratch database configured for the test JVM; rows left by other tests
+ * are part of both sides of every comparison.
+ */
+public class AnalyticsServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate START = TODAY.minusDays(30);
+
+    private final AnalyticsService analyticsService = new AnalyticsService();
+    private final TaskDAO taskDAO = new TaskDAO();
+
+    @BeforeAll
+    static void addTasksAcrossTheRange() throws SQLException {
+        DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO tasks (title, priority, status, due_date, assigned_to, created_by, created_at, " +
+                     "completed_at, estimated_minutes, actual_minutes) VALUES (?, ?, ?, ?, ?, 1, ?, ?, ?, ?)")) {
+                bind(statement, Priority.HIGH, TaskStatus.COMPLETED, TODAY.minusDays(2), 2,
+                     TODAY.minusDays(10).atTime(9, 0), TODAY.minusDays(3).atTime(14, 30), 60, 90);
+                // Created before the range, completed inside it
+                bind(statement, Priority.LOW, TaskStatus.COMPLETED, null, 1,
+                     TODAY.minusDays(40).atTime(8, 0), TODAY.minusDays(1).atTime(10, 15), 30, 20);
+                bind(statement, Priority.URGENT, TaskStatus.IN_PROGRESS, TODAY.minusDays(5), 2,
+                     TODAY.minusDays(5).atTime(11, 0), null, 30, 10);
+                bind(statement, Priority.MEDIUM, TaskStatus.TODO, TODAY, null,
+                     TODAY.minusDays(2).atTime(16, 45), null, 15, 0);
+                bind(statement, Priority.MEDIUM, TaskStatus.TODO, TODAY.plusDays(3), 1,
+                     TODAY.atStartOfDay(), null, 45, 0);
+                bind(statement, Priority.HIGH, TaskStatus.TODO, TODAY.plusDays(10), 2, null, null, 0, 0);
+                statement.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    private static void bind(PreparedStatement statement, Priority priority, TaskStatus status, LocalDate dueDate,
+                             Integer assignee, LocalDateTime createdAt, LocalDateTime completedAt,
+                             int estimatedMinutes, int actualMinutes) throws SQLException {
+        statement.setString(1, "Analytics " + priority + " " + status);
+        statement.setString(2, priority.name());
+        statement.setString(3, status.name());
+        statement.setObject(4, dueDate != null ? dueDate.toString() : null);
+        statement.setObject(5, assignee);
+        statement.setObject(6, createdAt != null ? createdAt.toString().replace('T', ' ') : null);
+        statement.setObject(7, completedAt != null ? completedAt.toString().replace('T', ' ') : null);
+        statement.setInt(8, estimatedMinutes);
+        statement.setInt(9, actualMinutes);
+        statement.addBatch();
+    }
+
+    @Test
+    void testGetAnalyticsSnapshot_MatchesPerMethodResults() throws SQLException {
+        List<Task> tasks = taskDAO.findAll();
+
+        AnalyticsSnapshot snapshot = analyticsService.getAnalyticsSnapshot(START, TODAY);
+
+        assertTrue(snapshot.productivityMetrics.totalTasks > 0);
+        assertMetricsEqual(legacyProductivity(tasks, START, TODAY), snapshot.productivityMetrics);
+        assertMetricsEqual(legacyProductivity(tasks, START, TODAY), analyticsService.getProductivityMetrics(START, TODAY));
+        assertMetricsEqual(legacyProductivity(tasks, null, null), analyticsService.getProductivityMetrics(null, null));
+        assertEquals(legacyPriorities(tasks), analyticsService.getPriorityDistribution());
+        assertEquals(legacyHours(tasks), snapshot.productiveHours);
+        assertEquals(legacyHours(tasks), analyticsService.getProductiveHours());
+
+        OverdueAnalysis expected = legacyOverdue(tasks);
+        OverdueAnalysis actual = analyticsService.getOverdueAnalysis();
+        assertTrue(actual.overdueTasks > 0 && actual.dueTodayTasks > 0 && actual.dueThisWeekTasks > 0);
+        assertEquals(expected.overdueTasks, actual.overdueTasks);
+        assertEquals(expected.dueTodayTasks, actual.dueTodayTasks);
+        assertEquals(expected.dueThisWeekTasks, actual.dueThisWeekTasks);
+        assertEquals(expected.averageOverdueDays, actual.averageOverdueDays, 1e-9);
+
+        assertEquals(describe(legacyUsers(tasks)), describe(analyticsService.getUserPerformance()));
+        assertEquals(describe(legacyUsers(tasks)), describe(snapshot.userPerformance));
+    }
+
+    @Test
+    void testGetCompletionTrend_BucketsMatchPerDayCounts() throws SQLException {
+        // 2019-06-30 is a Sunday; the next day starts both a week and a month
+        String[] timestamps = {"2019-06-26 12:00:00", "2019-06-29 23:59:59", "2019-06-30 00:00:00",
+                               "2019-06-30 23:59:59", "2019-07-01 00:00:00", "2019-07-02 08:30:00",
+                               "2019-07-31 23:59:59", "2019-08-01 00:00:00", "2019-08-02 09:00:00"};
+        DatabaseConnection.executeWrite(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO tasks (title, status, created_by, created_at, completed_at) VALUES (?, ?, 1, ?, ?)")) {
+                for (int i = 0; i < timestamps.length; i++) {
+                    statement.setString(1, "Trend task " + timestamps[i]);
+                    statement.setString(2, TaskStatus.COMPLETED.name());
+                    statement.setString(3, timestamps[i]);
+                    // Completed at the next timestamp, so created and completed buckets differ at the edges
+                    statement.setString(4, timestamps[(i + 1) % timestamps.length]);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            return null;
+        });
+        LocalDate startDate = LocalDate.of(2019, 6, 27);
+        LocalDate endDate = LocalDate.of(2019, 8, 1);
+        List<Task> tasks = taskDAO.findAll();
+
+        for (TrendGranularity granularity : TrendGranularity.values()) {
+            Map<LocalDate, int[]> expected = new TreeMap<>();
+            for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+                int[] counts = expected.computeIfAbsent(granularity.bucketStart(day), bucket -> new int[2]);
+                LocalDate current = day;
+                counts[0] += (int) tasks.stream()
+                    .filter(t -> t.getCreatedAt() != null && t.getCreatedAt().toLocalDate().equals(current)).count();
+                counts[1] += (int) tasks.stream()
+                    .filter(t -> t.getCompletedAt() != null && t.getCompletedAt().toLocalDate().equals(current)).count();
+            }
+
+            List<CompletionTrendData> trend = analyticsService.getCompletionTrend(startDate, endDate, granularity);
+
+            assertEquals(List.copyOf(expected.keySet()),
+                trend.stream().map(data -> data.date).collect(Collectors.toList()), granularity.name());
+            for (CompletionTrendData data : trend) {
+                int[] counts = expected.get(data.date);
+                assertEquals(counts[0], data.tasksCreated, granularity + " created " + data.date);
+                assertEquals(counts[1], data.tasksCompleted, granularity + " completed " + data.date);
+            }
+        }
+        List<LocalDate> weeks = analyticsService.getCompletionTrend(startDate, endDate, TrendGranularity.WEEKLY)
+            .stream().map(data -> data.date).collect(Collectors.toList());
+        assertEquals(LocalDate.of(2019, 6, 24), weeks.get(0));
+        assertEquals(LocalDate.of(2019, 7, 1), weeks.get(1));
+        assertEquals(List.of(LocalDate.of(2019, 6, 1), LocalDate.of(2019, 7, 1), LocalDate.of(2019, 8, 1)),
+            analyticsService.getCompletionTrend(startDate, endDate, TrendGranularity.MONTHLY)
+                .stream().map(data -> data.date).collect(Collectors.toList()));
+    }
+
+    private static void assertMetricsEqual(ProductivityMetrics expected, ProductivityMetrics actual) {
+        assertEquals(expected.totalTasks, actual.totalTasks);
+        assertEquals(expected.completedTasks, actual.completedTasks);
+        assertEquals(expected.inProgressTasks, actual.inProgressTasks);
+        assertEquals(expected.todoTasks, actual.todoTasks);
+        assertEquals(expected.completionRate, actual.completionRate, 1e-9);
+        assertEquals(expected.averageCompletionDays, actual.averageCompletionDays, 1e-9);
+        assertEquals(expected.totalTimeSpent, actual.totalTimeSpent);
+        assertEquals(expected.totalEstimatedTime, actual.totalEstimatedTime);
+        assertEquals(expected.timeEfficiency, actual.timeEfficiency, 1e-9);
+    }
+
+    private static Map<Integer, String> describe(List<UserPerformance> users) {
+        return users.stream().collect(Collectors.toMap(perf -> perf.userId, perf ->
+            perf.username + " " + perf.assignedTasks + "/" + perf.completedTasks + " " +
+            perf.totalTimeSpent + "min " + perf.completionRate));
+    }
+
+    // The per-statistic implementations AnalyticsService used before the single pass
+
+    private static ProductivityMetrics legacyProductivity(List<Task> allTasks, LocalDate startDate, LocalDate endDate) {
+        List<Task> tasks = allTasks.stream()
+            .filter(task -> {
+                LocalDate taskDate = task.getCreatedAt() != null ? task.getCreatedAt().toLocalDate() : null;
+                return taskDate != null &&
+                    (startDate == null || !taskDate.isBefore(startDate)) &&
+                    (endDate == null || !taskDate.isAfter(endDate));
+            })
+            .collect(Collectors.toList());
+        ProductivityMetrics metrics = new ProductivityMetrics();
+        metrics.totalTasks = tasks.size();
+        metrics.completedTasks = (int) tasks.stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).count();
+        metrics.inProgressTasks = (int) tasks.stream().filter(t -> t.getStatus() == TaskStatus.IN_PROGRESS).count();
+        metrics.todoTasks = (int) tasks.stream().filter(t -> t.getStatus() == TaskStatus.TODO).count();
+        metrics.completionRate = metrics.totalTasks > 0 ? (double) metrics.completedTasks / metrics.totalTasks : 0.0;
+        metrics.averageCompletionDays = tasks.stream()
+            .filter(t -> t.getStatus() == TaskStatus.COMPLETED && t.getCreatedAt() != null && t.getCompletedAt() != null)
+            .mapToLong(t -> ChronoUnit.DAYS.between(t.getCreatedAt(), t.getCompletedAt()))
+            .average().orElse(0.0);
+        metrics.totalTimeSpent = tasks.stream().mapToInt(Task::getActualMinutes).sum();
+        metrics.totalEstimatedTime = tasks.stream().mapToInt(Task::getEstimatedMinutes).sum();
+        if (metrics.totalEstimatedTime > 0) {
+            metrics.timeEfficiency = (double) metrics.totalEstimatedTime / metrics.totalTimeSpent;
+        }
+        return metrics;
+    }
+
+    private static Map<Priority, Integer> legacyPriorities(List<Task> tasks) {
+        Map<Priority, Integer> distribution = new HashMap<>();
+        for (Priority priority : Priority.values()) {
+            distribution.put(priority, (int) tasks.stream().filter(t -> t.getPriority() == priority).count());
+        }
+        return distribution;
+    }
+
+    private static Map<Integer, Integer> legacyHours(List<Task> tasks) {
+        Map<Integer, Integer> hours = new HashMap<>();
+        for (int hour = 0; hour < 24; hour++) {
+            hours.put(hour, 0);
+        }
+        tasks.stream().filter(t -> t.getCompletedAt() != null)
+            .forEach(t -> hours.merge(t.getCompletedAt().getHour(), 1, Integer::sum));
+        return hours;
+    }
+
+    private static OverdueAnalysis legacyOverdue(List<Task> tasks) {
+        OverdueAnalysis analysis = new OverdueAnalysis();
+        analysis.overdueTasks = (int) tasks.stream().filter(Task::isOverdue).count();
+        analysis.dueTodayTasks = (int) tasks.stream()
+            .filter(t -> t.getDueDate() != null && t.getDueDate().equals(TODAY) && t.getStatus() != TaskStatus.COMPLETED)
+            .count();
+        analysis.dueThisWeekTasks = (int) tasks.stream()
+            .filter(t -> t.getDueDate() != null && t.getDueDate().isAfter(TODAY) &&
+                t.getDueDate().isBefore(TODAY.plusWeeks(1)) && t.getStatus() != TaskStatus.COMPLETED)
+            .count();
+        analysis.averageOverdueDays = tasks.stream().filter(Task::isOverdue)
+            .mapToLong(t -> ChronoUnit.DAYS.between(t.getDueDate(), TODAY))
+            .average().orElse(0.0);
+        return analysis;
+    }
+
+    private static List<UserPerformance> legacyUsers(List<Task> tasks) {
+        Map<Integer, UserPerformance> users = new HashMap<>();
+        for (Task task : tasks) {
+            if (task.getAssignedTo() == null) continue;
+            UserPerformance perf = users.computeIfAbsent(task.getAssignedTo(), id -> {
+                UserPerformance p = new UserPerformance();
+                p.userId = id;
+                p.username = task.getAssignedToUsername();
+                return p;
+            });
+            perf.assignedTasks++;
+            if (task.getStatus() == TaskStatus.COMPLETED) {
+                perf.completedTasks++;
+            }
+            perf.totalTimeSpent += task.getActualMinutes();
+        }
+        for (UserPerformance perf : users.values()) {
+            perf.completionRate = perf.assignedTasks > 0 ? (double) perf.completedTasks / perf.assignedTasks : 0.0;
+        }
+        return List.copyOf(users.values());
+    }
+}
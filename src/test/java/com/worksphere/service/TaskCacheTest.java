@@ -0,0 +1,80 @@
+package com.worksphere.service;
+
+import com.worksphere.model.Priority;
+import com.worksphere.model.Task;
+import com.worksphere.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TaskCache
+ */
+public class TaskCacheTest {
+
+    private static Task task(int id) {
+        Task task = new Task("Task " + id, "Description", Priority.MEDIUM, TaskStatus.TODO, null, null, 1);
+        task.setId(id);
+        return task;
+    }
+
+    @Test
+    void testLeastRecentlyUsedTaskIsEvicted() {
+        TaskCache cache = new TaskCache(2);
+        cache.put(task(1), cache.generation());
+        cache.put(task(2), cache.generation());
+        assertNotNull(cache.get(1));
+
+        cache.put(task(3), cache.generation());
+
+        assertNull(cache.get(2));
+        assertNotNull(cache.get(1));
+        assertNotNull(cache.get(3));
+        TaskCache.Stats stats = cache.getStats();
+        assertEquals(3, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getEvictions());
+        assertEquals(2, stats.getSize());
+    }
+
+    @Test
+    void testLoadRacingWithWriteIsNotCached() {
+        TaskCache cache = new TaskCache(10);
+        long generation = cache.generation();
+        cache.tasksWritten(List.of(1));
+
+        cache.put(task(1), generation);
+
+        assertNull(cache.get(1));
+    }
+
+    @Test
+    void testWritesInvalidateEntries() {
+        TaskCache cache = new TaskCache(10);
+        cache.put(task(1), cache.generation());
+        cache.put(task(2), cache.generation());
+
+        cache.tasksWritten(List.of(1));
+        assertNull(cache.get(1));
+        assertNotNull(cache.get(2));
+
+        cache.allTasksWritten();
+        assertNull(cache.get(2));
+    }
+
+    @Test
+    void testCallersGetIndependentCopies() {
+        TaskCache cache = new TaskCache(10);
+        cache.put(task(1), cache.generation());
+
+        Task copy = cache.get(1);
+        copy.setTitle("Changed");
+        copy.getTags().add("changed");
+
+        Task cached = cache.get(1);
+        assertEquals("Task 1", cached.getTitle());
+        assertTrue(cached.getTags().isEmpty());
+    }
+}
@@ -0,0 +1,141 @@
+package com.worksphere.service;
+
+import com.worksphere.model.Priority;
+import com.worksphere.model.TaskChangeSet;
+import com.worksphere.model.TaskSnapshot;
+import com.worksphere.model.TaskStatus;
+import com.worksphere.model.TaskSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TaskStore
+ */
+public class TaskStoreTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Mock
+    private TaskService taskService;
+
+    private TaskStore store;
+    private final List<TaskChangeSet<TaskSummary>> published = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(taskService.getChangeWatermark()).thenReturn("w0");
+        when(taskService.getAllTaskSummaries()).thenReturn(List.of(task(2, "Second", TaskStatus.TODO), task(1, "First", TaskStatus.TODO)));
+        store = new TaskStore(taskService);
+        store.addListener((snapshot, changes) -> published.add(changes));
+    }
+
+    @Test
+    void testRefresh_RedeliveredChangesKeepEpoch() throws SQLException {
+        TaskSnapshot first = store.refresh();
+        when(taskService.getTaskSummaryChangesSince("w0", null))
+            .thenReturn(new TaskChangeSet<>(List.of(task(1, "First", TaskStatus.TODO)), Set.of(), "w1"));
+
+        TaskSnapshot second = store.refresh();
+
+        assertSame(first, second);
+        assertEquals(1, first.getEpoch());
+        assertEquals(1, published.size());
+        assertNull(published.get(0), "First load is published as a full reload");
+    }
+
+    @Test
+    void testRefresh_PublishesChangesWithNextEpoch() throws SQLException {
+        store.refresh();
+        when(taskService.getTaskSummaryChangesSince("w0", null))
+            .thenReturn(new TaskChangeSet<>(
+                List.of(task(1, "First", TaskStatus.COMPLETED), task(3, "Third", TaskStatus.TODO)),
+                Set.of(2), "w1"));
+
+        TaskSnapshot snapshot = store.refresh();
+
+        assertEquals(2, snapshot.getEpoch());
+        assertEquals("w1", snapshot.getWatermark());
+        assertEquals(List.of(3, 1), snapshot.getSummaries().stream().map(TaskSummary::getId).collect(Collectors.toList()));
+        assertEquals(TaskStatus.COMPLETED, snapshot.getSummary(1).getStatus());
+        assertNull(snapshot.getSummary(2));
+        TaskChangeSet<TaskSummary> changes = published.get(1);
+        assertEquals(2, changes.getChanged().size());
+        assertEquals(Set.of(2), changes.getRemovedIds());
+    }
+
+    @Test
+    void testAllTasksWritten_ReloadsOnNextRefresh() throws SQLException {
+        store.refresh();
+        store.allTasksWritten();
+
+        TaskSnapshot snapshot = store.refresh();
+
+        assertEquals(2, snapshot.getEpoch());
+        assertNull(published.get(1));
+        verify(taskService, times(2)).getAllTaskSummaries();
+        verify(taskService, never()).getTaskSummaryChangesSince(anyString(), any());
+    }
+
+    @Test
+    void testRefresh_PrunedFeedReloads() throws SQLException {
+        store.refresh();
+        when(taskService.getTaskSummaryChangesSince("w0", null)).thenReturn(TaskChangeSet.reloadRequired("w0"));
+
+        TaskSnapshot snapshot = store.refresh();
+
+        assertEquals(2, snapshot.getEpoch());
+        assertNull(published.get(1));
+        verify(taskService, times(2)).getAllTaskSummaries();
+    }
+
+    @Test
+    void testRefresh_NewTaskSortedByCreatedAt() throws SQLException {
+        store.refresh();
+        TaskSummary undated = new TaskSummary(9, "Undated", TaskStatus.TODO, Priority.MEDIUM, null,
+                                              null, null, 1, null, CREATED);
+        when(taskService.getTaskSummaryChangesSince("w0", null))
+            .thenReturn(new TaskChangeSet<>(List.of(undated, task(3, "Third", TaskStatus.TODO)), Set.of(), "w1"));
+
+        TaskSnapshot snapshot = store.refresh();
+
+        assertEquals(List.of(3, 2, 1, 9), snapshot.getSummaries().stream().map(TaskSummary::getId).collect(Collectors.toList()));
+        verify(taskService, never()).getAllTasks();
+        verify(taskService, never()).getTaskChangesSince(anyString(), any());
+    }
+
+    @Test
+    void testRefresh_PicksUpEditMadeThroughTaskService() throws SQLException {
+        TaskService realService = new TaskService();
+        int taskId = realService.createTask("Store edit " + System.nanoTime(), "", Priority.LOW, null, null, 1).getId();
+        TaskStore realStore = new TaskStore(realService);
+        assertEquals(TaskStatus.TODO, realStore.refresh().getSummary(taskId).getStatus());
+
+        realService.updateTaskStatus(taskId, TaskStatus.COMPLETED);
+        TaskSnapshot snapshot = realStore.refresh();
+
+        assertEquals(TaskStatus.COMPLETED, snapshot.getSummary(taskId).getStatus());
+        assertEquals(2, snapshot.getEpoch());
+        realService.deleteTask(taskId);
+        assertNull(realStore.refresh().getSummary(taskId));
+    }
+
+    private static TaskSummary task(int id, String title, TaskStatus status) {
+        return new TaskSummary(id, title, status, Priority.MEDIUM, null, 2, "Assignee", 1,
+                               CREATED.plusMinutes(id), CREATED);
+    }
+}
@@ -0,0 +1,87 @@
+package com.worksphere.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConnectionPool
+ */
+public class ConnectionPoolTest {
+
+    private File databaseFile;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        databaseFile = File.createTempFile("worksphere-pool", ".db");
+        pool = new ConnectionPool("jdbc:sqlite:" + databaseFile.getAbsolutePath(), null, null, 2, 200, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+        databaseFile.delete();
+    }
+
+    @Test
+    void testClosedConnectionIsReused() throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            assertFalse(connection.isClosed());
+        }
+        try (Connection connection = pool.getConnection()) {
+            assertFalse(connection.isClosed());
+        }
+
+        ConnectionPool.PoolStats stats = pool.getStats();
+        assertEquals(1, stats.getTotalConnections());
+        assertEquals(1, stats.getIdleConnections());
+        assertEquals(0, stats.getActiveConnections());
+        assertEquals(2, stats.getTotalAcquisitions());
+    }
+
+    @Test
+    void testExhaustedPoolTimesOut() throws SQLException {
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+
+        SQLException exception = assertThrows(SQLException.class, () -> pool.getConnection());
+        assertTrue(exception.getMessage().contains("Timed out"));
+        assertEquals(1, pool.getStats().getTotalTimeouts());
+
+        first.close();
+        second.close();
+        assertEquals(2, pool.getStats().getIdleConnections());
+    }
+
+    @Test
+    void testOpenTransactionIsRolledBackOnReturn() throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            connection.createStatement().execute("CREATE TABLE items (id INTEGER PRIMARY KEY)");
+        }
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.createStatement().execute("INSERT INTO items (id) VALUES (1)");
+        }
+        try (Connection connection = pool.getConnection()) {
+            assertTrue(connection.getAutoCommit());
+            assertFalse(connection.createStatement().executeQuery("SELECT id FROM items").next());
+        }
+    }
+
+    @Test
+    void testUseAfterCloseFails() throws SQLException {
+        Connection connection = pool.getConnection();
+        connection.close();
+
+        assertTrue(connection.isClosed());
+        assertThrows(SQLException.class, connection::createStatement);
+    }
+}
@@ -0,0 +1,119 @@
+package com.worksphere.util;
+
+import com.worksphere.dao.TaskDAO;
+import com.worksphere.model.Priority;
+import com.worksphere.model.Task;
+import com.worksphere.model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DataVersionWatcher
+ */
+public class DataVersionWatcherTest {
+
+    private File databaseFile;
+    private Connection watched;
+    private Connection other;
+    private DataVersionWatcher watcher;
+    private final AtomicInteger notifications = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException, SQLException {
+        databaseFile = File.createTempFile("worksphere-data-version", ".db");
+        watched = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+        other = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+        execute(watched, "CREATE TABLE notes (id INTEGER PRIMARY KEY, text TEXT)");
+
+        // Polled by hand; the scheduled poll is an hour away
+        watcher = new DataVersionWatcher(() -> {
+            try (Statement stmt = watched.createStatement();
+                 ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+                return rs.getLong(1);
+            }
+        }, TimeUnit.HOURS.toMillis(1));
+        watcher.addListener(notifications::incrementAndGet);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        watcher.close();
+        watched.close();
+        other.close();
+        databaseFile.delete();
+    }
+
+    @Test
+    void testPoll_NotifiesOnlyForOtherConnectionsCommits() throws SQLException {
+        assertFalse(watcher.poll(), "first poll only records the starting version");
+
+        execute(watched, "INSERT INTO notes (text) VALUES ('own write')");
+        assertFalse(watcher.poll());
+
+        execute(other, "INSERT INTO notes (text) VALUES ('other instance')");
+        assertTrue(watcher.poll());
+        assertFalse(watcher.poll());
+
+        assertEquals(1, notifications.get());
+    }
+
+    @Test
+    void testReadDataVersion_LocalWritesDoNotNotify() throws SQLException {
+        TaskDAO taskDAO = new TaskDAO();
+        int taskId = taskDAO.createTasks(List.of(new Task("Watched " + System.nanoTime(), "", Priority.LOW,
+                                                          TaskStatus.TODO, null, null, 1))).get(0);
+        DataVersionWatcher application = new DataVersionWatcher(DatabaseConnection::readDataVersion,
+                                                                 TimeUnit.HOURS.toMillis(1));
+        try (Connection otherProcess = DriverManager.getConnection(DatabaseConnection.resolveDatabaseUrl())) {
+            application.addListener(notifications::incrementAndGet);
+            assertFalse(application.poll(), "first poll only records the starting version");
+
+            taskDAO.updateTaskStatus(taskId, TaskStatus.IN_PROGRESS);
+            assertFalse(application.poll());
+
+            execute(otherProcess, "UPDATE tasks SET status = 'COMPLETED' WHERE id = " + taskId);
+            taskDAO.updateTaskStatus(taskId, TaskStatus.TODO);
+            assertTrue(application.poll(), "a local write does not hide an earlier external one");
+            assertFalse(application.poll());
+            assertEquals(1, notifications.get());
+        } finally {
+            application.close();
+            taskDAO.deleteTask(taskId);
+        }
+    }
+
+    @Test
+    void testPoll_ReadFailureIsNotAChange() {
+        DataVersionWatcher failing = new DataVersionWatcher(() -> {
+            throw new SQLException("database is locked");
+        }, TimeUnit.HOURS.toMillis(1));
+        try {
+            failing.addListener(notifications::incrementAndGet);
+            assertFalse(failing.poll());
+            assertFalse(failing.poll());
+            assertEquals(0, notifications.get());
+        } finally {
+            failing.close();
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+}
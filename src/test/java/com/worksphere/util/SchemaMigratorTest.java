@@ -0,0 +1,97 @@
+package com.worksphere.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SchemaMigrator
+ */
+public class SchemaMigratorTest {
+
+    private File databaseFile;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws IOException, SQLException {
+        databaseFile = File.createTempFile("worksphere-migrations", ".db");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+        databaseFile.delete();
+    }
+
+    @Test
+    void testFreshDatabaseMigratesToLatestOnce() throws SQLException {
+        assertEquals(0, SchemaMigrator.getCurrentVersion(connection));
+
+        int applied = SchemaMigrator.migrate(connection);
+
+        assertEquals(SchemaMigrator.getLatestVersion(), applied);
+        assertEquals(SchemaMigrator.getLatestVersion(), SchemaMigrator.getCurrentVersion(connection));
+        assertTrue(connection.getAutoCommit());
+        assertEquals(0, SchemaMigrator.migrate(connection));
+    }
+
+    @Test
+    void testLegacyDatabaseGainsMissingColumns() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE users (id INTEGER PRIMARY KEY AUTOINCREMENT, username TEXT UNIQUE NOT NULL, " +
+                         "email TEXT UNIQUE NOT NULL, full_name TEXT NOT NULL)");
+            stmt.execute("CREATE TABLE tasks (id INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, " +
+                         "description TEXT, priority TEXT, status TEXT, due_date DATE, assigned_to INTEGER, " +
+                         "created_by INTEGER NOT NULL, created_at DATETIME, updated_at DATETIME)");
+            stmt.execute("INSERT INTO users (username, email, full_name) VALUES ('owner', 'owner@example.com', 'Owner')");
+        }
+
+        SchemaMigrator.migrate(connection);
+
+        assertTrue(SchemaMigrator.columnExists(connection, "users", "is_admin"));
+        assertTrue(SchemaMigrator.columnExists(connection, "tasks", "actual_minutes"));
+        assertTrue(SchemaMigrator.columnExists(connection, "tasks", "category_id"));
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT is_admin FROM users WHERE id = 1")) {
+            assertTrue(rs.next());
+            assertTrue(rs.getBoolean(1));
+        }
+    }
+
+    @Test
+    void testSearchIndexFollowsTaskAndTagChanges() throws SQLException {
+        SchemaMigrator.migrate(connection);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("INSERT INTO tasks (id, title, description, created_by) " +
+                         "VALUES (9001, 'Quixotic budget', 'Prepare figures', 1)");
+            stmt.execute("INSERT INTO task_tags (task_id, tag_name) VALUES (9001, 'zettelkasten')");
+
+            assertEquals(1, queryInt(stmt, "SELECT COUNT(*) FROM task_search WHERE task_search MATCH '\"zettel\"*'"));
+
+            stmt.execute("UPDATE tasks SET title = 'Xylophone budget' WHERE id = 9001");
+            assertEquals(0, queryInt(stmt, "SELECT COUNT(*) FROM task_search WHERE task_search MATCH '\"quixo\"*'"));
+            assertEquals(1, queryInt(stmt, "SELECT COUNT(*) FROM task_search WHERE task_search MATCH '\"xylo\"*'"));
+
+            stmt.execute("DELETE FROM task_tags WHERE task_id = 9001");
+            stmt.execute("DELETE FROM tasks WHERE id = 9001");
+            assertEquals(0, queryInt(stmt, "SELECT COUNT(*) FROM task_search WHERE rowid = 9001"));
+        }
+    }
+
+    private static int queryInt(Statement stmt, String sql) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.worksphere.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SqliteTimestamps
+ */
+public class SqliteTimestampsTest {
+
+    @Test
+    void testParsesSqliteLayouts() {
+        assertEquals(LocalDateTime.of(2024, 3, 5, 10, 11, 12), SqliteTimestamps.parse("2024-03-05 10:11:12"));
+        assertEquals(LocalDateTime.of(2024, 3, 5, 10, 11, 12, 345_000_000),
+                     SqliteTimestamps.parse("2024-03-05 10:11:12.345"));
+        assertEquals(LocalDateTime.of(2024, 3, 5, 10, 11, 12, 123_456_789),
+                     SqliteTimestamps.parse("2024-03-05T10:11:12.123456789"));
+        assertEquals(LocalDateTime.of(2024, 3, 5, 0, 0), SqliteTimestamps.parse(" 2024-03-05 "));
+    }
+
+    @Test
+    void testRejectsMalformedText() {
+        assertNull(SqliteTimestamps.parse(null));
+        assertNull(SqliteTimestamps.parse(""));
+        assertNull(SqliteTimestamps.parse("garbage"));
+        assertNull(SqliteTimestamps.parse("2024-02-30 10:11:12"));
+        assertNull(SqliteTimestamps.parse("2024-03-05 24:00:00"));
+        assertNull(SqliteTimestamps.parse("2024-03-05 10:11"));
+        assertNull(SqliteTimestamps.parse("2024-03-05 10:11:12."));
+        assertNull(SqliteTimestamps.parse("2024-03-05 10:11:1x"));
+    }
+
+    @Test
+    void testReadMatchesGetTimestamp() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                 "SELECT CURRENT_TIMESTAMP AS text_value, 1709633472123 AS millis_value, NULL AS null_value")) {
+            assertTrue(resultSet.next());
+            assertEquals(resultSet.getTimestamp("text_value").toLocalDateTime(),
+                         SqliteTimestamps.read(resultSet, "text_value"));
+            assertEquals(resultSet.getTimestamp("millis_value").toLocalDateTime(),
+                         SqliteTimestamps.read(resultSet, "millis_value"));
+            assertNull(SqliteTimestamps.read(resultSet, "null_value"));
+        }
+    }
+}